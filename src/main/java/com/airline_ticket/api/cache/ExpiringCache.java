@@ -0,0 +1,142 @@
+package com.airline_ticket.api.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of at most {@code maxSize} entries that each expire {@code ttl} after they were
+ * loaded. When full, the least recently read entry is evicted.
+ * <p>
+ * Values are loaded outside the lock, so a slow load does not block readers of other keys.
+ * A value whose load started before an invalidation of its key, or of the whole cache, is
+ * returned to its caller but not stored, so an invalidation is never undone by a load that
+ * read the old state. Loads of other keys are stored as usual. The time of the last
+ * invalidation is only kept for keys with loads in flight.
+ * <p>
+ * Reports {@code cache.gets} tagged {@code result=hit|miss}, {@code cache.evictions} and
+ * {@code cache.size}, tagged with the name of the cache.
+ */
+public class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Map<K, Integer> loading = new HashMap<>();
+    private final Map<K, Long> invalidatedAt = new HashMap<>();
+    private long clock;
+    private long allInvalidatedAt;
+
+    public ExpiringCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(name, maxSize, ttl, meterRegistry, System::nanoTime);
+    }
+
+    ExpiringCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry, LongSupplier ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.hits = meterRegistry.counter("cache.gets", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", name, "result", "miss");
+        this.evictions = meterRegistry.counter("cache.evictions", "cache", name);
+        meterRegistry.gauge("cache.size", Tags.of("cache", name), this, ExpiringCache::size);
+    }
+
+    /**
+     * Returns the cached value of the key, or loads and caches it. Exceptions of the loader
+     * are thrown to the caller and nothing is cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadStartedAt;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - ticker.getAsLong() > 0) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            misses.increment();
+            loading.merge(key, 1, Integer::sum);
+            loadStartedAt = clock;
+        }
+
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            finishLoad(key, loadStartedAt, null);
+            throw e;
+        }
+        finishLoad(key, loadStartedAt, value);
+        return value;
+    }
+
+    /**
+     * Returns the cached value of the key without loading it, or {@code null} when it is not
+     * cached or has expired. Lookups made this way are not counted as hits or misses.
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.expiresAt() - ticker.getAsLong() > 0 ? entry.value() : null;
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        if (loading.containsKey(key)) {
+            invalidatedAt.put(key, ++clock);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        allInvalidatedAt = ++clock;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stores the loaded value unless the key or the whole cache was invalidated after the load
+     * started, and forgets the invalidation of the key once its last load finished.
+     */
+    private synchronized void finishLoad(K key, long loadStartedAt, V value) {
+        boolean invalidated = allInvalidatedAt > loadStartedAt || invalidatedAt.getOrDefault(key, 0L) > loadStartedAt;
+        if (loading.compute(key, (k, loads) -> loads == 1 ? null : loads - 1) == null) {
+            invalidatedAt.remove(key);
+        }
+        if (value != null && !invalidated) {
+            entries.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.airline_ticket.api.cache;
+
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.transaction.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches of flight lookups: flights by id, flight numbers to ids, and the route searches that
+ * go to the database because the route index cannot answer them. Lookups by flight number
+ * resolve the id first, so a flight only has one cached copy to invalidate.
+ * <p>
+ * Writers invalidate the entries they change right away and again once their transaction
+ * commits, so a read that reloads the old row in between does not stay cached. Route searches
+ * are cleared by every flight change but not by seat counter changes, so they may report
+ * {@code seatsAvailable} up to their short TTL late.
+ * <p>
+ * Every cached flight carries a version taken from a sequence of this instance when it was
+ * loaded, from which {@link #eTag(UUID)} derives the tag of the flight and seat responses. Any
+ * change to the flight or its seats drops the cached copy, so the tag only names a copy that
+ * was read after the last change this instance knows of. Writes from other instances are
+ * picked up when the copy expires or the seats are reloaded, and the reload always comes with
+ * a new tag. A flight that is not cached has no tag, so its next response is read in full.
+ * The sequence starts over on restart, so the tags carry an id of the instance and a tag
+ * issued by another instance or before a restart never matches.
+ */
+@Component
+public class FlightCache {
+
+    /**
+     * A route search as passed to {@code FlightService.getFlightsByLocation}.
+     */
+    public record RouteSearch(String origin, String destination, ZonedDateTime start, ZonedDateTime end, int minSeats,
+                              Pageable pageable) {
+    }
+
+    private record CachedFlight(FlightDTO flight, long version) {
+    }
+
+    private final ExpiringCache<UUID, CachedFlight> flights;
+    private final ExpiringCache<String, UUID> flightIds;
+    private final ExpiringCache<RouteSearch, Page<FlightDTO>> routeSearches;
+    private final AtomicLong versions = new AtomicLong();
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+
+    public FlightCache(MeterRegistry meterRegistry,
+                       @Value("${flights.cache.max-size:10000}") int maxSize,
+                       @Value("${flights.cache.ttl-seconds:300}") long ttlSeconds,
+                       @Value("${flights.cache.search-max-size:1000}") int searchMaxSize,
+                       @Value("${flights.cache.search-ttl-seconds:15}") long searchTtlSeconds) {
+        this.flights = new ExpiringCache<>("flights", maxSize, Duration.ofSeconds(ttlSeconds), meterRegistry);
+        this.flightIds = new ExpiringCache<>("flight-numbers", maxSize, Duration.ofSeconds(ttlSeconds), meterRegistry);
+        this.routeSearches = new ExpiringCache<>("flight-route-searches", searchMaxSize, Duration.ofSeconds(searchTtlSeconds), meterRegistry);
+    }
+
+    public FlightDTO getFlight(UUID id, Function<UUID, FlightDTO> loader) {
+        CachedFlight cached = flights.get(id, key -> {
+            FlightDTO flight = loader.apply(key);
+            return flight != null ? new CachedFlight(flight, versions.incrementAndGet()) : null;
+        });
+        return cached != null ? cached.flight() : null;
+    }
+
+    public UUID getFlightId(String flightNumber, Function<String, UUID> loader) {
+        return flightIds.get(flightNumber, loader);
+    }
+
+    public Page<FlightDTO> getRouteSearch(RouteSearch search, Function<RouteSearch, Page<FlightDTO>> loader) {
+        return routeSearches.get(search, loader);
+    }
+
+    /**
+     * Invalidates a created, updated or deleted flight under its id and flight numbers, and
+     * every route search.
+     */
+    public void invalidateFlight(UUID id, String... flightNumbers) {
+        AfterCommit.runNowAndAfterCommit(() -> {
+            flights.invalidate(id);
+            for (String flightNumber : flightNumbers) {
+                flightIds.invalidate(flightNumber);
+            }
+            routeSearches.invalidateAll();
+        });
+    }
+
+    /**
+     * Invalidates a flight whose {@code seats_available} counter changed.
+     */
+    public void invalidateSeatsAvailable(UUID id) {
+        AfterCommit.runNowAndAfterCommit(() -> flights.invalidate(id));
+    }
+
+    /**
+     * Drops the cached copy of a flight whose seats were claimed, released or reloaded in
+     * memory, so its tag changes. Writers record a change after the new state is visible to
+     * readers, and readers take the tag before they read, so a tag is never newer than the
+     * response it is sent with.
+     */
+    public void recordChange(UUID flightId) {
+        flights.invalidate(flightId);
+    }
+
+    /**
+     * Returns a strong ETag of the cached copy of the flight, or {@code null} when the flight
+     * is not cached and its current version is not known without reading it.
+     */
+    public String eTag(UUID flightId) {
+        CachedFlight cached = flights.peek(flightId);
+        return cached != null ? "\"" + instanceId + "-" + cached.version() + "\"" : null;
+    }
+}
@@ -4,11 +4,13 @@ import com.airline_ticket.api.controller.swagger.EmployeeControllerInterface;
 import com.airline_ticket.api.model.dtos.employee.EmployeeDTO;
 import com.airline_ticket.api.model.dtos.employee.EmployeeRequestDTO;
 import com.airline_ticket.api.model.dtos.employee.EmployeeUpdateDTO;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
 import com.airline_ticket.api.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,9 +26,10 @@ public class EmployeeController implements EmployeeControllerInterface {
     private EmployeeService employeeService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<EmployeeDTO> findAllEmployees(@PageableDefault(size = 10) Pageable pageable) {
-        return employeeService.getAllEmployees(pageable).getContent();
+    public ResponseEntity<List<EmployeeDTO>> findAllEmployees(@PageableDefault(size = 10) Pageable pageable,
+                                                              @RequestParam(defaultValue = "false") boolean includeTotal) {
+        HttpHeaders headers = includeTotal ? PageHeaders.estimatedTotalCount(employeeService.estimateEmployeeCount()) : new HttpHeaders();
+        return ResponseEntity.ok().headers(headers).body(employeeService.getAllEmployees(pageable).getContent());
     }
 
     @GetMapping("/{id}")
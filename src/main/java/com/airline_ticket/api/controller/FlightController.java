@@ -3,15 +3,25 @@ package com.airline_ticket.api.controller;
 import com.airline_ticket.api.controller.swagger.FlightControllerInterface;
 import com.airline_ticket.api.model.dtos.flight.FlightDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightRequestDTO;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightUpdateDTO;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapRequestDTO;
+import com.airline_ticket.api.service.FlashSaleService;
 import com.airline_ticket.api.service.FlightService;
+import com.airline_ticket.api.service.SeatService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -23,17 +33,37 @@ public class FlightController implements FlightControllerInterface {
 
     @Autowired
     private FlightService flightService;
+    @Autowired
+    private SeatService seatService;
+    @Autowired
+    private FlashSaleService flashSaleService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<FlightDTO> findAllFlights(@PageableDefault(size = 10) Pageable pageable) {
-        return flightService.getAllFlights(pageable).getContent();
+    public ResponseEntity<List<FlightDTO>> findAllFlights(@PageableDefault(size = 10) Pageable pageable,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(defaultValue = "false") boolean includeTotal) {
+        HttpHeaders headers = includeTotal ? PageHeaders.estimatedTotalCount(flightService.estimateFlightCount()) : new HttpHeaders();
+        if (after == null) {
+            return ResponseEntity.ok().headers(headers).body(flightService.getAllFlights(pageable).getContent());
+        }
+        KeysetPage<FlightDTO> page = flightService.getFlightsAfter(after, pageable.getPageSize());
+        headers.addAll(page.headers());
+        return ResponseEntity.ok().headers(headers).body(page.content());
     }
 
     @GetMapping("/{id}")
+    public ResponseEntity<FlightDTO> findFlightById(@PathVariable UUID id, ServletWebRequest webRequest) {
+        String eTag = flightService.getFlightETag(id);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().body(flightService.getFlightById(id));
+    }
+
+    @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public FlightDTO findFlightById(@PathVariable UUID id) {
-        return flightService.getFlightById(id);
+    public List<FlightDTO> searchFlights(@Valid FlightSearchDTO criteria, @PageableDefault(size = 10) Pageable pageable) {
+        return flightService.searchFlights(criteria, pageable).getContent();
     }
 
     @GetMapping("/searchByAirline")
@@ -53,8 +83,11 @@ public class FlightController implements FlightControllerInterface {
     public List<FlightDTO> findFlightsByLocation(
             @RequestParam(required = false) String origin,
             @RequestParam(required = false) String destination,
+            @RequestParam(required = false) ZonedDateTime start,
+            @RequestParam(required = false) ZonedDateTime end,
+            @RequestParam(required = false) Integer minSeats,
             @PageableDefault(size = 10) Pageable pageable) {
-        return flightService.getFlightsByLocation(origin, destination, pageable).getContent();
+        return flightService.getFlightsByLocation(origin, destination, start, end, minSeats, pageable).getContent();
     }
 
     @GetMapping("/searchByPrice")
@@ -67,8 +100,9 @@ public class FlightController implements FlightControllerInterface {
     @ResponseStatus(HttpStatus.OK)
     public List<FlightDTO> findFlightsByDepartureTime(@RequestParam ZonedDateTime start,
                                                       @RequestParam ZonedDateTime end,
+                                                      @RequestParam(required = false) Integer minSeats,
                                                       @PageableDefault(size = 10) Pageable pageable) {
-        return flightService.getFlightsByDepartureTime(start, end, pageable).getContent();
+        return flightService.getFlightsByDepartureTime(start, end, minSeats, pageable).getContent();
     }
 
     @GetMapping("/searchByArrivalTime")
@@ -85,6 +119,33 @@ public class FlightController implements FlightControllerInterface {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdFlight);
     }
 
+    @GetMapping("/{id}/seatmap")
+    public ResponseEntity<SeatMapDTO> findSeatMap(@PathVariable UUID id, ServletWebRequest webRequest) {
+        SeatMapDTO seatMap = seatService.getSeatMap(id);
+        if (webRequest.checkNotModified(seatMap.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok().body(seatMap);
+    }
+
+    @PostMapping("/{id}/seatmap")
+    public ResponseEntity<List<SeatAvailabilityDTO>> createSeatMap(@PathVariable UUID id, @Valid @RequestBody SeatMapRequestDTO seatMapRequestDTO) {
+        List<SeatAvailabilityDTO> createdSeats = seatService.createSeatMap(id, seatMapRequestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdSeats);
+    }
+
+    @PutMapping("/{id}/flash-sale")
+    public ResponseEntity<Void> enableFlashSale(@PathVariable UUID id) {
+        flashSaleService.enable(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/flash-sale")
+    public ResponseEntity<Void> disableFlashSale(@PathVariable UUID id) {
+        flashSaleService.disable(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping
     public ResponseEntity<FlightDTO> updateFlight(@Valid @RequestBody FlightUpdateDTO flightUpdateDTO) {
         FlightDTO updatedFlight = flightService.updateFlight(flightUpdateDTO);
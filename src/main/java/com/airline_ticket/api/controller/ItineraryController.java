@@ -0,0 +1,26 @@
+package com.airline_ticket.api.controller;
+
+import com.airline_ticket.api.controller.swagger.ItineraryControllerInterface;
+import com.airline_ticket.api.model.dtos.itinerary.ItineraryDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySearchDTO;
+import com.airline_ticket.api.service.ItineraryService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/itineraries")
+public class ItineraryController implements ItineraryControllerInterface {
+
+    @Autowired
+    private ItineraryService itineraryService;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public List<ItineraryDTO> searchItineraries(@Valid ItinerarySearchDTO criteria) {
+        return itineraryService.searchItineraries(criteria);
+    }
+}
@@ -0,0 +1,24 @@
+package com.airline_ticket.api.controller;
+
+import com.airline_ticket.api.controller.swagger.LocationControllerInterface;
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import com.airline_ticket.api.service.LocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/locations")
+public class LocationController implements LocationControllerInterface {
+
+    @Autowired
+    private LocationService locationService;
+
+    @GetMapping("/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<LocationSuggestionDTO> suggestLocations(@RequestParam String q) {
+        return locationService.suggestLocations(q);
+    }
+}
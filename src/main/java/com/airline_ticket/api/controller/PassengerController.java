@@ -1,6 +1,8 @@
 package com.airline_ticket.api.controller;
 
 import com.airline_ticket.api.controller.swagger.PassengerControllerInterface;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
 import com.airline_ticket.api.model.dtos.passenger.PassengerDTO;
 import com.airline_ticket.api.model.dtos.passenger.PassengerRequestDTO;
 import com.airline_ticket.api.model.dtos.passenger.PassengerUpdateDTO;
@@ -9,6 +11,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,9 +27,16 @@ public class PassengerController implements PassengerControllerInterface {
     private PassengerService passengerService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<PassengerDTO> findAllPassengers(@PageableDefault(page = 0, size = 10) Pageable pageable) {
-        return passengerService.getAllPassengers(pageable).getContent();
+    public ResponseEntity<List<PassengerDTO>> findAllPassengers(@PageableDefault(page = 0, size = 10) Pageable pageable,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(defaultValue = "false") boolean includeTotal) {
+        HttpHeaders headers = includeTotal ? PageHeaders.estimatedTotalCount(passengerService.estimatePassengerCount()) : new HttpHeaders();
+        if (after == null) {
+            return ResponseEntity.ok().headers(headers).body(passengerService.getAllPassengers(pageable).getContent());
+        }
+        KeysetPage<PassengerDTO> page = passengerService.getPassengersAfter(after, pageable.getPageSize());
+        headers.addAll(page.headers());
+        return ResponseEntity.ok().headers(headers).body(page.content());
     }
 
     @GetMapping("/{id}")
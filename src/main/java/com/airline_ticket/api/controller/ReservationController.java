@@ -1,31 +1,56 @@
 package com.airline_ticket.api.controller;
 
 import com.airline_ticket.api.controller.swagger.ReservationControllerInterface;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
+import com.airline_ticket.api.model.dtos.reservation.ReservationBatchRequestDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationUpdateDTO;
+import com.airline_ticket.api.service.FlashSaleService;
+import com.airline_ticket.api.service.IdempotencyService;
 import com.airline_ticket.api.service.ReservationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/reservations")
 public class ReservationController implements ReservationControllerInterface {
     @Autowired
     private ReservationService reservationService;
+    @Autowired
+    private FlashSaleService flashSaleService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Value("${inventory.flash-sale.timeout-ms:10000}")
+    private long flashSaleTimeoutMs;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<ReservationDTO> findAllReservations(@PageableDefault(size = 10) Pageable pageable) {
-        return reservationService.getAllReservations(pageable).getContent();
+    public ResponseEntity<List<ReservationDTO>> findAllReservations(@PageableDefault(size = 10) Pageable pageable,
+                                                                    @RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "false") boolean includeTotal) {
+        HttpHeaders headers = includeTotal ? PageHeaders.estimatedTotalCount(reservationService.estimateReservationCount()) : new HttpHeaders();
+        if (after == null) {
+            return ResponseEntity.ok().headers(headers).body(reservationService.getAllReservations(pageable).getContent());
+        }
+        KeysetPage<ReservationDTO> page = reservationService.getReservationsAfter(after, pageable.getPageSize());
+        headers.addAll(page.headers());
+        return ResponseEntity.ok().headers(headers).body(page.content());
     }
 
     @GetMapping("/{id}")
@@ -51,9 +76,33 @@ public class ReservationController implements ReservationControllerInterface {
     }
 
     @PostMapping
-    public ResponseEntity<ReservationDTO> createReservation(@Valid @RequestBody ReservationRequestDTO requestDTO) {
-        ReservationDTO reservationDTO = reservationService.createReservation(requestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(reservationDTO);
+    public DeferredResult<ResponseEntity<ReservationDTO>> createReservation(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                            @Valid @RequestBody ReservationRequestDTO requestDTO) {
+        DeferredResult<ResponseEntity<ReservationDTO>> result = new DeferredResult<>(flashSaleTimeoutMs);
+        CompletableFuture<ReservationDTO> booking = idempotencyService.executeAsync("POST /api/reservations", idempotencyKey, requestDTO, ReservationDTO.class, () -> {
+            Optional<CompletableFuture<ReservationDTO>> queued = flashSaleService.submit(requestDTO);
+            if (queued.isEmpty()) {
+                return CompletableFuture.completedFuture(reservationService.createReservation(requestDTO));
+            }
+            // only a booking the writer has not claimed yet is cancelled; a claimed one completes
+            result.onTimeout(() -> queued.get().cancel(false));
+            return queued.get();
+        });
+
+        booking.whenComplete((reservationDTO, ex) -> {
+            if (ex == null) {
+                result.setResult(ResponseEntity.status(HttpStatus.CREATED).body(reservationDTO));
+            } else if (!(ex instanceof CancellationException)) {
+                result.setErrorResult(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }
+        });
+        return result;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<ReservationDTO>> createReservations(@Valid @RequestBody ReservationBatchRequestDTO requestDTO) {
+        List<ReservationDTO> reservations = reservationService.createReservations(requestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservations);
     }
 
     @PutMapping
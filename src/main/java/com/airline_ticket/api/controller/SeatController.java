@@ -1,17 +1,25 @@
 package com.airline_ticket.api.controller;
 
 import com.airline_ticket.api.controller.swagger.SeatControllerInterface;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldConfirmDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatRequestDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatUpdateDTO;
+import com.airline_ticket.api.service.SeatHoldService;
 import com.airline_ticket.api.service.SeatService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,11 +30,20 @@ public class SeatController implements SeatControllerInterface {
 
     @Autowired
     private SeatService seatService;
+    @Autowired
+    private SeatHoldService seatHoldService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<SeatDTO> findAllSeats(@PageableDefault(size = 10) Pageable pageable) {
-        return seatService.getAllSeats(pageable).getContent();
+    public ResponseEntity<List<SeatDTO>> findAllSeats(@PageableDefault(size = 10) Pageable pageable,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "false") boolean includeTotal) {
+        HttpHeaders headers = includeTotal ? PageHeaders.estimatedTotalCount(seatService.estimateSeatCount()) : new HttpHeaders();
+        if (after == null) {
+            return ResponseEntity.ok().headers(headers).body(seatService.getAllSeats(pageable).getContent());
+        }
+        KeysetPage<SeatDTO> page = seatService.getSeatsAfter(after, pageable.getPageSize());
+        headers.addAll(page.headers());
+        return ResponseEntity.ok().headers(headers).body(page.content());
     }
 
     @GetMapping("/{id}")
@@ -36,12 +53,16 @@ public class SeatController implements SeatControllerInterface {
     }
 
     @GetMapping("/searchAvailableSeats")
-    @ResponseStatus(HttpStatus.OK)
-    public List<SeatDTO> findAvailableSeats(
+    public ResponseEntity<List<SeatDTO>> findAvailableSeats(
             @RequestParam UUID flightId,
-            @PageableDefault(size = 10) Pageable pageable) {
+            @PageableDefault(size = 10) Pageable pageable,
+            ServletWebRequest webRequest) {
+        String eTag = seatService.getSeatsETag(flightId);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         Boolean isAvailable = true;
-        return seatService.getAvailableSeatsByFlight(flightId, isAvailable, pageable).getContent();
+        return ResponseEntity.ok().body(seatService.getAvailableSeatsByFlight(flightId, isAvailable, pageable).getContent());
     }
 
     @GetMapping("/search")
@@ -59,6 +80,24 @@ public class SeatController implements SeatControllerInterface {
         return new ResponseEntity<>(createdSeat, HttpStatus.CREATED);
     }
 
+    @PostMapping("/{id}/hold")
+    public ResponseEntity<SeatHoldDTO> holdSeat(@PathVariable UUID id, @RequestParam(required = false) Integer minutes) {
+        SeatHoldDTO hold = seatHoldService.holdSeat(id, minutes);
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/hold/confirm")
+    public ResponseEntity<ReservationDTO> confirmHold(@PathVariable UUID id, @Valid @RequestBody SeatHoldConfirmDTO confirmDTO) {
+        ReservationDTO reservation = seatHoldService.confirmHold(id, confirmDTO);
+        return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/hold/release")
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID id, @RequestParam UUID holdId) {
+        seatHoldService.releaseHold(id, holdId);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping
     public ResponseEntity<SeatDTO> updateSeat(@Valid @RequestBody SeatUpdateDTO updateDTO) {
         SeatDTO updatedSeat = seatService.updateSeat(updateDTO);
@@ -1,14 +1,18 @@
 package com.airline_ticket.api.controller;
 
 import com.airline_ticket.api.controller.swagger.TicketControllerInterface;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
 import com.airline_ticket.api.model.dtos.ticket.TicketDTO;
 import com.airline_ticket.api.model.dtos.ticket.TicketRequestDTO;
 import com.airline_ticket.api.model.dtos.ticket.TicketUpdateDTO;
+import com.airline_ticket.api.service.IdempotencyService;
 import com.airline_ticket.api.service.TicketService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,11 +25,20 @@ import java.util.UUID;
 public class TicketController implements TicketControllerInterface {
     @Autowired
     private TicketService ticketService;
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<TicketDTO> findAllTickets(@PageableDefault(size = 10) Pageable pageable) {
-        return ticketService.getAllTickets(pageable).getContent();
+    public ResponseEntity<List<TicketDTO>> findAllTickets(@PageableDefault(size = 10) Pageable pageable,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(defaultValue = "false") boolean includeTotal) {
+        HttpHeaders headers = includeTotal ? PageHeaders.estimatedTotalCount(ticketService.estimateTicketCount()) : new HttpHeaders();
+        if (after == null) {
+            return ResponseEntity.ok().headers(headers).body(ticketService.getAllTickets(pageable).getContent());
+        }
+        KeysetPage<TicketDTO> page = ticketService.getTicketsAfter(after, pageable.getPageSize());
+        headers.addAll(page.headers());
+        return ResponseEntity.ok().headers(headers).body(page.content());
     }
 
     @GetMapping("/search")
@@ -43,8 +56,10 @@ public class TicketController implements TicketControllerInterface {
     }
 
     @PostMapping
-    public ResponseEntity<TicketDTO> createTicket(@Valid  @RequestBody TicketRequestDTO requestDTO) {
-        TicketDTO createdTicket = ticketService.createTicket(requestDTO);
+    public ResponseEntity<TicketDTO> createTicket(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                  @Valid @RequestBody TicketRequestDTO requestDTO) {
+        TicketDTO createdTicket = idempotencyService.execute("POST /api/tickets", idempotencyKey, requestDTO, TicketDTO.class,
+                () -> ticketService.createTicket(requestDTO));
         return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
     }
 
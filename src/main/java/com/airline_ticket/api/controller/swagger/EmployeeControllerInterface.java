@@ -23,8 +23,9 @@ public interface EmployeeControllerInterface {
             @ApiResponse(responseCode = "200", description = "List of all employees retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<EmployeeDTO> findAllEmployees(
-            @Parameter(description = "Pagination details", required = true) Pageable pageable);
+    ResponseEntity<List<EmployeeDTO>> findAllEmployees(
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(description = "Whether to send the Estimated-Total-Count header, an approximate count taken from the table statistics", required = false) boolean includeTotal);
 
     @Operation(summary = "Find employee by ID", description = "Retrieve a specific employee by their ID.")
     @ApiResponses(value = {
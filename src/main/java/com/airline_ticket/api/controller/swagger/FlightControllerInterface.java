@@ -2,15 +2,23 @@ package com.airline_ticket.api.controller.swagger;
 
 import com.airline_ticket.api.model.dtos.flight.FlightDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightRequestDTO;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightUpdateDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapRequestDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -24,15 +32,32 @@ public interface FlightControllerInterface {
             @ApiResponse(responseCode = "200", description = "List of all flights retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<FlightDTO> findAllFlights(@Parameter(description = "Pagination details", required = true) Pageable pageable);
+    ResponseEntity<List<FlightDTO>> findAllFlights(
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(description = "Cursor from the Next-Cursor header of the previous page; send it empty for the first page", required = false) String after,
+            @Parameter(description = "Whether to send the Estimated-Total-Count header, an approximate count taken from the table statistics", required = false) boolean includeTotal);
 
     @Operation(summary = "Find flight by ID", description = "Retrieve a flight by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Flight retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Flight not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    FlightDTO findFlightById(@Parameter(description = "ID of the flight to retrieve", required = true) UUID id);
+    ResponseEntity<FlightDTO> findFlightById(
+            @Parameter(description = "ID of the flight to retrieve", required = true) UUID id,
+            @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a previously retrieved flight", required = false) ServletWebRequest webRequest);
+
+    @Operation(summary = "Search flights", description = "Search flights by any combination of route, departure and arrival windows, " +
+            "price range, airline and minimum available seats, ordered by departure time unless another sort is given.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of matching flights retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search criteria"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    List<FlightDTO> searchFlights(
+            @ParameterObject @Valid FlightSearchDTO criteria,
+            @Parameter(description = "Pagination details", required = true) Pageable pageable);
 
     @Operation(summary = "Find flights by airline", description = "Retrieve flights by airline name.")
     @ApiResponses(value = {
@@ -60,6 +85,9 @@ public interface FlightControllerInterface {
     List<FlightDTO> findFlightsByLocation(
             @Parameter(description = "Origin location to search for", required = false) String origin,
             @Parameter(description = "Destination location to search for", required = false) String destination,
+            @Parameter(description = "Start of departure time range, requires origin and destination", required = false) ZonedDateTime start,
+            @Parameter(description = "End of departure time range, requires origin and destination", required = false) ZonedDateTime end,
+            @Parameter(description = "Minimum number of available seats", required = false) Integer minSeats,
             @Parameter(description = "Pagination details", required = true) Pageable pageable);
 
     @Operation(summary = "Find flights by price", description = "Retrieve flights by price.")
@@ -79,6 +107,7 @@ public interface FlightControllerInterface {
     List<FlightDTO> findFlightsByDepartureTime(
             @Parameter(description = "Start of departure time range", required = true) ZonedDateTime start,
             @Parameter(description = "End of departure time range", required = true) ZonedDateTime end,
+            @Parameter(description = "Minimum number of available seats", required = false) Integer minSeats,
             @Parameter(description = "Pagination details", required = true) Pageable pageable);
 
     @Operation(summary = "Find flights by arrival time", description = "Retrieve flights by arrival time range.")
@@ -99,10 +128,52 @@ public interface FlightControllerInterface {
     ResponseEntity<FlightDTO> createFlight(
             @Valid @Parameter(description = "Details of the flight to create", required = true) FlightRequestDTO flightRequestDTO);
 
+    @Operation(summary = "Find the seat map of a flight", description = "Retrieve every seat of a flight as a compact grid with availability bitmaps.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Seat map retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Seat map not modified since the given ETag"),
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<SeatMapDTO> findSeatMap(
+            @Parameter(description = "ID of the flight", required = true) UUID id,
+            @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a previously retrieved seat map", required = false) ServletWebRequest webRequest);
+
+    @Operation(summary = "Create the seat map of a flight", description = "Create every seat of a flight from an aircraft layout in a single statement.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Seat map created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid layout"),
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "409", description = "Seat already exists for the flight"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<List<SeatAvailabilityDTO>> createSeatMap(
+            @Parameter(description = "ID of the flight", required = true) UUID id,
+            @Valid @Parameter(description = "Aircraft layout of the seat map", required = true) SeatMapRequestDTO seatMapRequestDTO);
+
+    @Operation(summary = "Start a flash sale", description = "Queue the bookings of a flight and book them in batches by a single writer.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Flash-sale mode enabled"),
+            @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<Void> enableFlashSale(
+            @Parameter(description = "ID of the flight", required = true) UUID id);
+
+    @Operation(summary = "End a flash sale", description = "Book the queued bookings of a flight and return to direct booking.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Flash-sale mode disabled"),
+            @ApiResponse(responseCode = "404", description = "Flight is not in flash-sale mode"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<Void> disableFlashSale(
+            @Parameter(description = "ID of the flight", required = true) UUID id);
+
     @Operation(summary = "Update an existing flight", description = "Update an existing flight.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Flight updated successfully"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
+            @ApiResponse(responseCode = "409", description = "Flight was modified since the given version"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     ResponseEntity<FlightDTO> updateFlight(
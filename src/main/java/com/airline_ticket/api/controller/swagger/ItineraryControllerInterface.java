@@ -0,0 +1,25 @@
+package com.airline_ticket.api.controller.swagger;
+
+import com.airline_ticket.api.model.dtos.itinerary.ItineraryDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySearchDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+
+import java.util.List;
+
+@Tag(name = "Itineraries Controller")
+public interface ItineraryControllerInterface {
+
+    @Operation(summary = "Search itineraries", description = "Search direct flights and itineraries of up to two connections " +
+            "from the origin to the destination whose first flight departs within the window, ranked by total duration or total price.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of matching itineraries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid search criteria"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    List<ItineraryDTO> searchItineraries(@ParameterObject @Valid ItinerarySearchDTO criteria);
+}
@@ -0,0 +1,24 @@
+package com.airline_ticket.api.controller.swagger;
+
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Locations Controller")
+public interface LocationControllerInterface {
+
+    @Operation(summary = "Suggest locations", description = "Suggest up to 10 origins and destinations whose name starts with the query, " +
+            "ignoring case and accents, the ones with most flights first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of suggested locations retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing query"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    List<LocationSuggestionDTO> suggestLocations(
+            @Parameter(description = "Beginning of the name of a city or airport", required = true) String q);
+}
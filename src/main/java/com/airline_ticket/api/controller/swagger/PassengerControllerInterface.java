@@ -23,8 +23,10 @@ public interface PassengerControllerInterface {
             @ApiResponse(responseCode = "200", description = "List of all passengers retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<PassengerDTO> findAllPassengers(
-            @Parameter(description = "Pagination details", required = true) Pageable pageable);
+    ResponseEntity<List<PassengerDTO>> findAllPassengers(
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(description = "Cursor from the Next-Cursor header of the previous page; send it empty for the first page", required = false) String after,
+            @Parameter(description = "Whether to send the Estimated-Total-Count header, an approximate count taken from the table statistics", required = false) boolean includeTotal);
 
     @Operation(summary = "Find passenger by ID", description = "Retrieve a passenger by their ID.")
     @ApiResponses(value = {
@@ -1,5 +1,6 @@
 package com.airline_ticket.api.controller.swagger;
 
+import com.airline_ticket.api.model.dtos.reservation.ReservationBatchRequestDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationUpdateDTO;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,8 +25,10 @@ public interface ReservationControllerInterface {
             @ApiResponse(responseCode = "200", description = "List of all reservations retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<ReservationDTO> findAllReservations(
-            @Parameter(description = "Pagination details", required = true) Pageable pageable);
+    ResponseEntity<List<ReservationDTO>> findAllReservations(
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(description = "Cursor from the Next-Cursor header of the previous page; send it empty for the first page", required = false) String after,
+            @Parameter(description = "Whether to send the Estimated-Total-Count header, an approximate count taken from the table statistics", required = false) boolean includeTotal);
 
     @Operation(summary = "Find reservation by ID", description = "Retrieve a reservation by its ID.")
     @ApiResponses(value = {
@@ -56,21 +60,37 @@ public interface ReservationControllerInterface {
             @Parameter(description = "Passenger ID to filter reservations", required = false) UUID passengerId,
             @Parameter(description = "Pagination details", required = true) Pageable pageable);
 
-    @Operation(summary = "Create a new reservation", description = "Create a new reservation record.")
+    @Operation(summary = "Create a new reservation", description = "Create a new reservation record. Bookings for a flight in flash-sale mode are queued and answered once booked.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Reservation created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "404", description = "Seat or passenger not found"),
-            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+            @ApiResponse(responseCode = "409", description = "Seat is not available or a request with the same idempotency key is in progress"),
+            @ApiResponse(responseCode = "429", description = "Flash-sale queue of the flight is full"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error"),
+            @ApiResponse(responseCode = "503", description = "Flash-sale booking timed out")
     })
-    ResponseEntity<ReservationDTO> createReservation(
+    DeferredResult<ResponseEntity<ReservationDTO>> createReservation(
+            @Parameter(description = "Key that makes retries of the request return the original reservation", required = false) String idempotencyKey,
             @Valid @Parameter(description = "Details of the reservation to create", required = true) ReservationRequestDTO reservationRequestDTO);
 
+    @Operation(summary = "Create reservations for a group", description = "Reserve several seats in one transaction. Either all seats are reserved or none.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reservations created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Seat or passenger not found"),
+            @ApiResponse(responseCode = "409", description = "One or more seats are not available"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<List<ReservationDTO>> createReservations(
+            @Valid @Parameter(description = "Seat and passenger pairs to reserve", required = true) ReservationBatchRequestDTO requestDTO);
+
     @Operation(summary = "Update an existing reservation", description = "Update an existing reservation record.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reservation updated successfully"),
             @ApiResponse(responseCode = "404", description = "Reservation not found"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "409", description = "Reservation was modified since the given version, or the new seat is not available"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     ResponseEntity<ReservationDTO> updateReservation(
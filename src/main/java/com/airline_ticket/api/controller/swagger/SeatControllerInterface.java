@@ -1,16 +1,22 @@
 package com.airline_ticket.api.controller.swagger;
 
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldConfirmDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatRequestDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatUpdateDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,8 +29,10 @@ public interface SeatControllerInterface {
             @ApiResponse(responseCode = "200", description = "List of all seats retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<SeatDTO> findAllSeats(
-            @Parameter(description = "Pagination details", required = true) Pageable pageable);
+    ResponseEntity<List<SeatDTO>> findAllSeats(
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(description = "Cursor from the Next-Cursor header of the previous page; send it empty for the first page", required = false) String after,
+            @Parameter(description = "Whether to send the Estimated-Total-Count header, an approximate count taken from the table statistics", required = false) boolean includeTotal);
 
     @Operation(summary = "Find seat by ID", description = "Retrieve a seat by its ID.")
     @ApiResponses(value = {
@@ -38,12 +46,14 @@ public interface SeatControllerInterface {
     @Operation(summary = "Find available seats by flight", description = "Retrieve a list of available seats for a specific flight.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of available seats retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Seats not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Flight not found"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<SeatDTO> findAvailableSeats(
+    ResponseEntity<List<SeatDTO>> findAvailableSeats(
             @Parameter(description = "ID of the flight to retrieve available seats for", required = true) UUID flightId,
-            @Parameter(description = "Pagination details", required = true) Pageable pageable);
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(name = HttpHeaders.IF_NONE_MATCH, in = ParameterIn.HEADER, description = "ETag of a previously retrieved page of seats", required = false) ServletWebRequest webRequest);
 
     @Operation(summary = "Find seats by number or flight", description = "Retrieve a list of seats filtered by seat number or flight ID.")
     @ApiResponses(value = {
@@ -66,11 +76,45 @@ public interface SeatControllerInterface {
     ResponseEntity<SeatDTO> createSeat(
             @Valid @Parameter(description = "Details of the seat to create", required = true) SeatRequestDTO requestDTO);
 
+    @Operation(summary = "Hold a seat", description = "Temporarily hold an available seat during checkout. The hold is released automatically when it expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Seat held successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid hold duration"),
+            @ApiResponse(responseCode = "404", description = "Seat not found"),
+            @ApiResponse(responseCode = "409", description = "Seat is not available"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<SeatHoldDTO> holdSeat(
+            @Parameter(description = "ID of the seat to hold", required = true) UUID id,
+            @Parameter(description = "Hold duration in minutes", required = false) Integer minutes);
+
+    @Operation(summary = "Confirm a seat hold", description = "Turn an active hold into a reservation for a passenger.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reservation created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Hold or passenger not found"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<ReservationDTO> confirmHold(
+            @Parameter(description = "ID of the held seat", required = true) UUID id,
+            @Valid @Parameter(description = "Hold and passenger to confirm", required = true) SeatHoldConfirmDTO confirmDTO);
+
+    @Operation(summary = "Release a seat hold", description = "Release an active hold and make the seat available again.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Hold released successfully"),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    ResponseEntity<Void> releaseHold(
+            @Parameter(description = "ID of the held seat", required = true) UUID id,
+            @Parameter(description = "ID of the hold to release", required = true) UUID holdId);
+
     @Operation(summary = "Update an existing seat", description = "Update an existing seat record.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Seat updated successfully"),
             @ApiResponse(responseCode = "404", description = "Seat not found"),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "409", description = "Seat was modified since the given version"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     ResponseEntity<SeatDTO> updateSeat(
@@ -23,14 +23,16 @@ public interface TicketControllerInterface {
             @ApiResponse(responseCode = "200", description = "List of all tickets retrieved successfully"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    List<TicketDTO> findAllTickets(
-            @Parameter(description = "Pagination details", required = true) Pageable pageable);
+    ResponseEntity<List<TicketDTO>> findAllTickets(
+            @Parameter(description = "Pagination details", required = true) Pageable pageable,
+            @Parameter(description = "Cursor from the Next-Cursor header of the previous page; send it empty for the first page", required = false) String after,
+            @Parameter(description = "Whether to send the Estimated-Total-Count header, an approximate count taken from the table statistics", required = false) boolean includeTotal);
 
-    @Operation(summary = "Find ticket by number or reservation", description = "Retrieve a ticket by its ticket number or reservation ID.")
+    @Operation(summary = "Find ticket by number or reservation", description = "Retrieve a ticket by its ticket number or reservation ID. Tickets are issued shortly after the reservation is made.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "At least one parameter (ticketNumber or reservationId) must be provided"),
-            @ApiResponse(responseCode = "404", description = "Ticket not found"),
+            @ApiResponse(responseCode = "404", description = "Ticket not found or not issued yet"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     TicketDTO findTicket(
@@ -49,19 +51,21 @@ public interface TicketControllerInterface {
     @Operation(summary = "Create a new ticket", description = "Create a new ticket record.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Ticket created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data, ticket number reserved for generated numbers or idempotency key already used for a different request"),
             @ApiResponse(responseCode = "404", description = "Reservation or flight not found"),
-            @ApiResponse(responseCode = "409", description = "Ticket number already exists"),
+            @ApiResponse(responseCode = "409", description = "Ticket number already exists or a request with the same idempotency key is in progress"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     ResponseEntity<TicketDTO> createTicket(
+            @Parameter(description = "Key that makes retries of the request return the original ticket", required = false) String idempotencyKey,
             @Valid @Parameter(description = "Details of the ticket to create", required = true) TicketRequestDTO requestDTO);
 
     @Operation(summary = "Update an existing ticket", description = "Update an existing ticket record.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket updated successfully"),
             @ApiResponse(responseCode = "404", description = "Ticket not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data or ticket number reserved for generated numbers"),
+            @ApiResponse(responseCode = "409", description = "Ticket number already exists"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     ResponseEntity<TicketDTO> updateTicket(
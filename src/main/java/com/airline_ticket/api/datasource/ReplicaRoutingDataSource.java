@@ -0,0 +1,212 @@
+package com.airline_ticket.api.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sends the connections of read-only transactions to a replica and every other connection to
+ * the primary. Replicas are taken in turn among those whose replication lag, measured by
+ * {@link #checkReplicas()}, is within {@code maxLag}; when none is, reads fall back to the
+ * primary. A replica is not used until its first check succeeds.
+ * <p>
+ * After an authenticated caller commits a read-write transaction, its reads go to the primary
+ * for {@code readYourWrites}, so it sees its own changes even on a lagging replica. A zero
+ * window turns this off.
+ * <p>
+ * The routing key is read when a connection is taken, so the data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} to see the
+ * read-only flag of the transaction that takes it. Reports {@code datasource.reads} tagged
+ * {@code target=replica|primary} for read-only transactions and {@code datasource.replica.lag}
+ * in milliseconds per replica, not a number while the replica cannot be reached.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final long UNCHECKED = -2;
+    private static final long UNREACHABLE = -1;
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT), 0)
+                   END
+            """;
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis = UNCHECKED;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        double lag() {
+            return lagMillis < 0 ? Double.NaN : lagMillis;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long readYourWritesNanos;
+    private final ToLongFunction<DataSource> lagProbe;
+    private final LongSupplier ticker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag, Duration readYourWrites,
+                                    MeterRegistry meterRegistry) {
+        this(primary, replicas, maxLag, readYourWrites, meterRegistry, ReplicaRoutingDataSource::queryLag, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag, Duration readYourWrites,
+                             MeterRegistry meterRegistry, ToLongFunction<DataSource> lagProbe, LongSupplier ticker) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica must be given.");
+        }
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = new Replica("replica-" + (i + 1), replicas.get(i));
+            this.replicas.add(replica);
+            targets.put(replica.name, replica.dataSource);
+            meterRegistry.gauge("datasource.replica.lag", Tags.of("replica", replica.name), replica, Replica::lag);
+        }
+        this.maxLagMillis = maxLag.toMillis();
+        this.readYourWritesNanos = readYourWrites.toNanos();
+        this.lagProbe = lagProbe;
+        this.ticker = ticker;
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", "replica");
+        this.primaryReads = meterRegistry.counter("datasource.reads", "target", PRIMARY);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinCallerAfterCommit();
+            return PRIMARY;
+        }
+        Replica replica = isCallerPinned() ? null : nextCurrentReplica();
+        if (replica == null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replica.name;
+    }
+
+    /**
+     * Measures the replication lag of every replica and forgets expired read-your-writes pins.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-interval-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lagMillis;
+            try {
+                lagMillis = Math.max(0, lagProbe.applyAsLong(replica.dataSource));
+            } catch (RuntimeException e) {
+                if (replica.lagMillis != UNREACHABLE) {
+                    log.warn("Replica {} cannot be reached, reading from other replicas until it can", replica.name, e);
+                }
+                lagMillis = UNREACHABLE;
+            }
+            if (lagMillis > maxLagMillis && replica.lagMillis <= maxLagMillis) {
+                log.warn("Replica {} is {} ms behind the primary, reading from other replicas until it catches up", replica.name, lagMillis);
+            }
+            replica.lagMillis = lagMillis;
+        }
+        long now = ticker.getAsLong();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Replica nextCurrentReplica() {
+        int start = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.lagMillis >= 0 && replica.lagMillis <= maxLagMillis) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void pinCallerAfterCommit() {
+        if (readYourWritesNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String caller = currentCaller();
+        if (caller == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedUntil.put(caller, ticker.getAsLong() + readYourWritesNanos);
+            }
+        });
+    }
+
+    private boolean isCallerPinned() {
+        String caller = readYourWritesNanos > 0 ? currentCaller() : null;
+        Long until = caller != null ? pinnedUntil.get(caller) : null;
+        return until != null && until - ticker.getAsLong() > 0;
+    }
+
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static long queryLag(DataSource replica) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.setQueryTimeout(5);
+        Long lagMillis = jdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+        return lagMillis != null ? lagMillis : 0;
+    }
+}
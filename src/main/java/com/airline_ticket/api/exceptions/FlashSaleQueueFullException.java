@@ -0,0 +1,11 @@
+package com.airline_ticket.api.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class FlashSaleQueueFullException extends RuntimeException {
+    public FlashSaleQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.airline_ticket.api.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SeatNotAvailableException extends RuntimeException {
+    public SeatNotAvailableException(String message) {
+        super(message);
+    }
+}
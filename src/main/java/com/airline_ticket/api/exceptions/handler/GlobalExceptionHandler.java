@@ -1,9 +1,17 @@
 package com.airline_ticket.api.exceptions.handler;
 
+import com.airline_ticket.api.exceptions.FlashSaleQueueFullException;
+import com.airline_ticket.api.exceptions.RequestInProgressException;
+import com.airline_ticket.api.exceptions.ResourceAlreadyExistsException;
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -22,6 +30,8 @@ import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final String RESERVATION_SEAT_CONSTRAINT = "uk_reservations_seat_id";
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ExceptionResponse> handleMissingServletRequestParameterException(MissingServletRequestParameterException ex) {
         List<String> missingParams = new ArrayList<>();
@@ -115,6 +125,99 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ResourceAlreadyExistsException.class)
+    public ResponseEntity<ExceptionResponse> handleResourceAlreadyExistsException(ResourceAlreadyExistsException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Resource Already Exists",
+                HttpStatus.CONFLICT.value(),
+                ex.getClass().getName(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(SeatNotAvailableException.class)
+    public ResponseEntity<ExceptionResponse> handleSeatNotAvailableException(SeatNotAvailableException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Seat Not Available",
+                HttpStatus.CONFLICT.value(),
+                ex.getClass().getName(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<ExceptionResponse> handleRequestInProgressException(RequestInProgressException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Request In Progress",
+                HttpStatus.CONFLICT.value(),
+                ex.getClass().getName(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(FlashSaleQueueFullException.class)
+    public ResponseEntity<ExceptionResponse> handleFlashSaleQueueFullException(FlashSaleQueueFullException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Too Many Requests",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getClass().getName(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(CannotAcquireLockException.class)
+    public ResponseEntity<ExceptionResponse> handleCannotAcquireLockException(CannotAcquireLockException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Lock Not Acquired",
+                HttpStatus.CONFLICT.value(),
+                ex.getClass().getName(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ExceptionResponse> handleVersionConflictException(VersionConflictException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Version Conflict",
+                HttpStatus.CONFLICT.value(),
+                ex.getClass().getName(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ExceptionResponse response = new ExceptionResponse(
+                "Concurrent Update",
+                HttpStatus.CONFLICT.value(),
+                ex.getClass().getName(),
+                "The resource was modified by another request, please try again.",
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<ExceptionResponse> handleNoResourceFoundException(NoResourceFoundException ex) {
         ExceptionResponse response = new ExceptionResponse(
@@ -143,6 +246,19 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ExceptionResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (ex.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                && RESERVATION_SEAT_CONSTRAINT.equals(violation.getConstraintName())) {
+            ExceptionResponse response = new ExceptionResponse(
+                    "Seat Not Available",
+                    HttpStatus.CONFLICT.value(),
+                    ex.getClass().getName(),
+                    "The seat is already reserved.",
+                    LocalDateTime.now()
+            );
+
+            return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+        }
+
         ExceptionResponse response = new ExceptionResponse(
                 "Data Integrity Violation",
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
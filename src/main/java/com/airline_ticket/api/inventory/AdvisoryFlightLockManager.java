@@ -0,0 +1,45 @@
+package com.airline_ticket.api.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Flight locks shared by every node through PostgreSQL transaction-level advisory locks. The
+ * lock key is a 64-bit hash of the flight id; the database releases the locks when the
+ * transaction ends. Waiting is bounded by the server's {@code lock_timeout}. Each node still
+ * keeps its own seat maps, so seats booked on another node are turned away by the guarded
+ * update of {@link SeatInventory#take}, not by the lock.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.locks.backend", havingValue = "advisory")
+public class AdvisoryFlightLockManager implements FlightLockManager {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdvisoryFlightLockManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void lock(Collection<UUID> flightIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Flight locks can only be taken inside a transaction.");
+        }
+
+        TreeSet<Long> keys = new TreeSet<>();
+        flightIds.forEach(flightId -> keys.add(keyOf(flightId)));
+        for (long key : keys) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", key);
+        }
+    }
+
+    static long keyOf(UUID flightId) {
+        return flightId.getMostSignificantBits() ^ flightId.getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,22 @@
+package com.airline_ticket.api.inventory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serializes writes that touch the seats of a flight. Locks are taken inside the current
+ * transaction and held until it completes, so callers never release them explicitly.
+ */
+public interface FlightLockManager {
+
+    default void lock(UUID flightId) {
+        lock(List.of(flightId));
+    }
+
+    /**
+     * Locks every flight in a fixed order, so two transactions locking overlapping sets of
+     * flights cannot deadlock.
+     */
+    void lock(Collection<UUID> flightIds);
+}
@@ -0,0 +1,184 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Availability of every seat of one flight, one bit per seat. Seat indexes follow the
+ * seat number order (row, then letter), so iterating the bitmap yields a seat map. Releases
+ * are marked as changed until they are drained for writing; claims are written by their
+ * booking transaction and are not.
+ */
+final class FlightSeatMap {
+
+    static final Comparator<String> SEAT_NUMBER_ORDER = Comparator
+            .comparingInt(FlightSeatMap::rowOf)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final UUID[] seatIds;
+    private final String[] seatNumbers;
+    private final Map<UUID, Integer> indexes;
+    private final AtomicLongArray available;
+    private final AtomicLongArray dirty;
+
+    FlightSeatMap(Collection<SeatAvailabilityDTO> seats) {
+        List<SeatAvailabilityDTO> ordered = new ArrayList<>(seats);
+        ordered.sort(Comparator.comparing(SeatAvailabilityDTO::seatNumber, SEAT_NUMBER_ORDER));
+
+        int size = ordered.size();
+        int words = (size + 63) >>> 6;
+        this.seatIds = new UUID[size];
+        this.seatNumbers = new String[size];
+        this.indexes = new HashMap<>(size * 2);
+        this.available = new AtomicLongArray(words);
+        this.dirty = new AtomicLongArray(words);
+
+        for (int i = 0; i < size; i++) {
+            SeatAvailabilityDTO seat = ordered.get(i);
+            seatIds[i] = seat.id();
+            seatNumbers[i] = seat.seatNumber();
+            indexes.put(seat.id(), i);
+            if (Boolean.TRUE.equals(seat.isAvailable())) {
+                setBits(available, i >>> 6, 1L << i);
+            }
+        }
+    }
+
+    Integer indexOf(UUID seatId) {
+        return indexes.get(seatId);
+    }
+
+    Collection<UUID> seatIds() {
+        return indexes.keySet();
+    }
+
+    int size() {
+        return seatIds.length;
+    }
+
+    boolean claim(int index) {
+        long mask = 1L << index;
+        long previous = clearBits(available, index >>> 6, mask);
+        return (previous & mask) != 0;
+    }
+
+    boolean release(int index) {
+        long mask = 1L << index;
+        long previous = setBits(available, index >>> 6, mask);
+        if ((previous & mask) != 0) {
+            return false;
+        }
+        markDirty(index);
+        return true;
+    }
+
+    /**
+     * Makes the seat available again without marking it changed, for a claim whose write was
+     * rolled back.
+     */
+    void restore(int index) {
+        setBits(available, index >>> 6, 1L << index);
+    }
+
+    boolean isDirty(int index) {
+        return (dirty.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    boolean isAvailable(int index) {
+        return (available.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    int count(boolean isAvailable) {
+        int availableSeats = 0;
+        for (int word = 0; word < available.length(); word++) {
+            availableSeats += Long.bitCount(available.get(word));
+        }
+        return isAvailable ? availableSeats : seatIds.length - availableSeats;
+    }
+
+    List<SeatAvailabilityDTO> seats() {
+        List<SeatAvailabilityDTO> seats = new ArrayList<>(seatIds.length);
+        for (int i = 0; i < seatIds.length; i++) {
+            seats.add(new SeatAvailabilityDTO(seatIds[i], seatNumbers[i], isAvailable(i)));
+        }
+        return seats;
+    }
+
+    List<SeatAvailabilityDTO> seats(boolean isAvailable, long offset, int limit) {
+        List<SeatAvailabilityDTO> seats = new ArrayList<>(Math.min(limit, seatIds.length));
+        long skipped = 0;
+        for (int i = 0; i < seatIds.length && seats.size() < limit; i++) {
+            if (isAvailable(i) != isAvailable) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            seats.add(new SeatAvailabilityDTO(seatIds[i], seatNumbers[i], isAvailable));
+        }
+        return seats;
+    }
+
+    /**
+     * Collects the seats changed since the last drain, split by their current availability.
+     */
+    void drainDirty(List<UUID> taken, List<UUID> released) {
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.getAndSet(word, 0L);
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (isAvailable(index)) {
+                    released.add(seatIds[index]);
+                } else {
+                    taken.add(seatIds[index]);
+                }
+            }
+        }
+    }
+
+    void markDirty(Collection<UUID> seatIds) {
+        for (UUID seatId : seatIds) {
+            Integer index = indexes.get(seatId);
+            if (index != null) {
+                markDirty(index);
+            }
+        }
+    }
+
+    private void markDirty(int index) {
+        setBits(dirty, index >>> 6, 1L << index);
+    }
+
+    private static long setBits(AtomicLongArray words, int word, long mask) {
+        long current;
+        do {
+            current = words.get(word);
+        } while ((current & mask) != mask && !words.compareAndSet(word, current, current | mask));
+        return current;
+    }
+
+    private static long clearBits(AtomicLongArray words, int word, long mask) {
+        long current;
+        do {
+            current = words.get(word);
+        } while ((current & mask) != 0 && !words.compareAndSet(word, current, current & ~mask));
+        return current;
+    }
+
+    private static int rowOf(String seatNumber) {
+        int digits = 0;
+        while (digits < seatNumber.length() && digits < 9 && Character.isDigit(seatNumber.charAt(digits))) {
+            digits++;
+        }
+        return digits == 0 ? Integer.MAX_VALUE : Integer.parseInt(seatNumber.substring(0, digits));
+    }
+}
@@ -0,0 +1,126 @@
+package com.airline_ticket.api.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed hierarchical timing wheel. Scheduling and cancelling are O(1); each tick only
+ * touches the entries of one slot. Entries scheduled beyond the lowest level are cascaded
+ * down as the wheel turns, so no periodic scan over all pending timeouts is needed.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timeout<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public synchronized Timeout<T> schedule(T value, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(value, deadlineTick);
+        place(timeout);
+        return timeout;
+    }
+
+    public synchronized void cancel(Timeout<T> timeout) {
+        timeout.cancelled = true;
+    }
+
+    /**
+     * Turns the wheel up to the given time and returns the values whose deadline has passed.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, expired);
+                }
+            }
+            drain(slot(0, currentTick), expired);
+        }
+        return expired;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1)) || level == LEVELS - 1) {
+                long tick = Math.min(timeout.deadlineTick, currentTick + (1L << (SLOT_BITS * (level + 1))) - 1);
+                slot(level, tick >>> (SLOT_BITS * level)).add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void cascade(int level, List<T> expired) {
+        List<Timeout<T>> slot = slot(level, currentTick >>> (SLOT_BITS * level));
+        List<Timeout<T>> timeouts = new ArrayList<>(slot);
+        slot.clear();
+        for (Timeout<T> timeout : timeouts) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.deadlineTick <= currentTick) {
+                expired.add(timeout.value);
+            } else {
+                place(timeout);
+            }
+        }
+    }
+
+    private void drain(List<Timeout<T>> slot, List<T> expired) {
+        List<Timeout<T>> timeouts = new ArrayList<>(slot);
+        slot.clear();
+        for (Timeout<T> timeout : timeouts) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.deadlineTick <= currentTick) {
+                expired.add(timeout.value);
+            } else {
+                place(timeout);
+            }
+        }
+    }
+
+    private List<Timeout<T>> slot(int level, long index) {
+        return slots.get(level * SLOTS + (int) (index & SLOT_MASK));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+}
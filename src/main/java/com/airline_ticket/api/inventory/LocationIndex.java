@@ -0,0 +1,250 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.location.FlightLocationsDTO;
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix trie of the origins and destinations of all flights, for the suggestions
+ * of a location search box. Names are folded to lowercase without accents and with single
+ * spaces, so {@code "sao p"} finds {@code "São Paulo"}. Each location counts the flights
+ * departing from or arriving at it, and suggestions are ranked by that count.
+ * <p>
+ * Each trie node keeps the best suggestions below it once they are asked for, until a flight
+ * change under the node drops them, so a suggestion is a walk down the prefix and usually
+ * returns a ready list. Suggestions share a read lock and only flight changes take the write
+ * lock, and nodes left without a location below them are pruned.
+ * <p>
+ * Like the {@link RouteIndex}, the trie is loaded by {@link #rebuild()} at startup and then on a
+ * fixed delay, and the flight service keeps it current once its transactions commit. Until
+ * the first load completes {@link #isReady()} is false and callers query the database instead.
+ */
+@Component
+public class LocationIndex extends ReplayingIndex<LocationIndex.Trie> {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(LocationIndex.class);
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Comparator<LocationSuggestionDTO> BY_FLIGHTS = Comparator
+            .comparingLong(LocationSuggestionDTO::flights).reversed()
+            .thenComparing(LocationSuggestionDTO::name);
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Location location;
+        private volatile List<LocationSuggestionDTO> suggestions;
+    }
+
+    /**
+     * A folded name with the number of flights under each of its spellings. It is suggested
+     * under its most common spelling.
+     */
+    private static final class Location {
+        private final Map<String, Integer> spellings = new HashMap<>();
+        private long flights;
+
+        LocationSuggestionDTO toSuggestion() {
+            String name = null;
+            int count = 0;
+            for (Map.Entry<String, Integer> spelling : spellings.entrySet()) {
+                if (spelling.getValue() > count || spelling.getValue() == count && spelling.getKey().compareTo(name) < 0) {
+                    name = spelling.getKey();
+                    count = spelling.getValue();
+                }
+            }
+            return new LocationSuggestionDTO(name, flights);
+        }
+    }
+
+    /**
+     * The trie of one load. Changes hold the write lock; suggestions hold the read lock and may
+     * fill the ready list of a node concurrently, which is harmless as they compute the same
+     * list.
+     */
+    static final class Trie {
+        private final Node root = new Node();
+        private final Map<UUID, FlightLocationsDTO> flights = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private int locations;
+
+        void put(FlightLocationsDTO flight) {
+            lock.writeLock().lock();
+            try {
+                removeFlight(flight.id());
+                flights.put(flight.id(), flight);
+                add(flight.origin(), 1);
+                add(flight.destination(), 1);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID flightId) {
+            lock.writeLock().lock();
+            try {
+                removeFlight(flightId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<LocationSuggestionDTO> suggest(String prefix) {
+            lock.readLock().lock();
+            try {
+                Node node = root;
+                for (int i = 0; i < prefix.length() && node != null; i++) {
+                    node = node.children.get(prefix.charAt(i));
+                }
+                if (node == null) {
+                    return List.of();
+                }
+                List<LocationSuggestionDTO> suggestions = node.suggestions;
+                if (suggestions == null) {
+                    suggestions = collect(node);
+                    node.suggestions = suggestions;
+                }
+                return suggestions;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeFlight(UUID flightId) {
+            FlightLocationsDTO flight = flights.remove(flightId);
+            if (flight != null) {
+                add(flight.origin(), -1);
+                add(flight.destination(), -1);
+            }
+        }
+
+        private void add(String name, int delta) {
+            String key = fold(name);
+            if (key.isEmpty()) {
+                return;
+            }
+            Node[] path = new Node[key.length() + 1];
+            Node node = root;
+            node.suggestions = null;
+            path[0] = node;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                node.suggestions = null;
+                path[i + 1] = node;
+            }
+            if (node.location == null) {
+                node.location = new Location();
+                locations++;
+            }
+            Location location = node.location;
+            location.flights += delta;
+            String spelling = name.trim();
+            location.spellings.merge(spelling, delta, Integer::sum);
+            location.spellings.remove(spelling, 0);
+            if (location.flights <= 0) {
+                node.location = null;
+                locations--;
+                prune(path, key);
+            }
+        }
+
+        /**
+         * Drops the nodes at the end of the path that no longer lead to a location.
+         */
+        private static void prune(Node[] path, String key) {
+            for (int i = key.length(); i > 0 && path[i].location == null && path[i].children.isEmpty(); i--) {
+                path[i - 1].children.remove(key.charAt(i - 1));
+            }
+        }
+
+        private static List<LocationSuggestionDTO> collect(Node from) {
+            List<LocationSuggestionDTO> found = new ArrayList<>();
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(from);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                if (node.location != null) {
+                    found.add(node.location.toSuggestion());
+                }
+                node.children.values().forEach(pending::push);
+            }
+            found.sort(BY_FLIGHTS);
+            return found.size() > MAX_SUGGESTIONS ? List.copyOf(found.subList(0, MAX_SUGGESTIONS)) : List.copyOf(found);
+        }
+    }
+
+    private final FlightRepository flightRepository;
+
+    public LocationIndex(FlightRepository flightRepository) {
+        super("location index");
+        this.flightRepository = flightRepository;
+    }
+
+    /**
+     * Returns up to {@link #MAX_SUGGESTIONS} locations whose folded name starts with the
+     * folded query, the ones with most flights first.
+     */
+    public List<LocationSuggestionDTO> suggest(String query) {
+        Trie current = readySnapshot();
+        String prefix = fold(query);
+        return prefix.isEmpty() ? List.of() : current.suggest(prefix);
+    }
+
+    /**
+     * Adds or replaces the locations of the flight once the current transaction commits.
+     */
+    public void putAfterCommit(FlightDTO flight) {
+        FlightLocationsDTO locations = new FlightLocationsDTO(flight.id(), flight.origin(), flight.destination());
+        applyAfterCommit(trie -> trie.put(locations));
+    }
+
+    public void removeAfterCommit(UUID flightId) {
+        applyAfterCommit(trie -> trie.remove(flightId));
+    }
+
+    /**
+     * Reloads the locations of every flight. Flights added, changed or removed while the load
+     * runs are applied again on top of it before it replaces the current trie.
+     */
+    @Scheduled(fixedDelayString = "${inventory.locations.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        Trie rebuilt = reload(() -> {
+            Trie loaded = new Trie();
+            flightRepository.findAllLocations().forEach(loaded::put);
+            return loaded;
+        });
+        if (rebuilt != null) {
+            log.debug("Location index rebuilt with {} locations of {} flights", rebuilt.locations, rebuilt.flights.size());
+        }
+    }
+
+    /**
+     * Folds a location name for lookups: accents removed, lowercase, trimmed and with runs of
+     * whitespace collapsed to one space.
+     */
+    public static String fold(String location) {
+        String decomposed = Normalizer.normalize(location.trim(), Normalizer.Form.NFD);
+        String unaccented = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+}
@@ -0,0 +1,85 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory snapshot of the database that is loaded in full by {@link #reload(Supplier)} and
+ * kept current in between by changes applied once their transactions commit. Changes applied
+ * while a load runs are replayed on top of it before it replaces the current snapshot, so a
+ * load that read the database before they committed does not lose them. Until the first load
+ * completes {@link #isReady()} is false.
+ *
+ * @param <S> the snapshot, which changes mutate in place
+ */
+abstract class ReplayingIndex<S> {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private final String name;
+    private volatile S snapshot;
+    private List<Consumer<S>> changedDuringRebuild;
+
+    protected ReplayingIndex(String name) {
+        this.name = name;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    protected S readySnapshot() {
+        S current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("The " + name + " is not loaded yet.");
+        }
+        return current;
+    }
+
+    /**
+     * Applies the change to the current snapshot once the current transaction commits.
+     */
+    protected void applyAfterCommit(Consumer<S> change) {
+        AfterCommit.run(() -> apply(change));
+    }
+
+    /**
+     * Loads a new snapshot and replaces the current one with it, after replaying the changes
+     * applied while it loaded. Returns the new snapshot, or {@code null} when the load failed
+     * and the current one was kept.
+     */
+    protected S reload(Supplier<S> loader) {
+        synchronized (this) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            S rebuilt = loader.get();
+            synchronized (this) {
+                changedDuringRebuild.forEach(change -> change.accept(rebuilt));
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the {}", name, e);
+            return null;
+        } finally {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<S> change) {
+        if (snapshot != null) {
+            change.accept(snapshot);
+        }
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory index of flights by route. Each case-folded (origin, destination) pair maps to
+ * its flights sorted by departure time, so a route and departure window lookup is a range
+ * scan of a skip list instead of a {@code LIKE} scan of {@code flights}. The flights leaving
+ * each origin are kept in departure order as well, for the connections of itinerary searches.
+ * <p>
+ * The index is loaded from the database by {@link #rebuild()} at startup and then on a fixed
+ * delay, which also picks up changes made by other nodes. In between, the flight services
+ * keep it current once their transactions commit. Until the first load completes
+ * {@link #isReady()} is false and callers query the database instead.
+ */
+@Component
+public class RouteIndex extends ReplayingIndex<RouteIndex.Snapshot> {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteIndex.class);
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final Comparator<Entry> BY_DEPARTURE = Comparator
+            .comparing(Entry::departure)
+            .thenComparing(Entry::id);
+
+    private record Route(String origin, String destination) {
+        static Route of(String origin, String destination) {
+            return new Route(normalize(origin), normalize(destination));
+        }
+    }
+
+    private record Entry(FlightDTO flight, Instant departure, AtomicInteger seatsAvailable) {
+        Entry(FlightDTO flight) {
+            this(flight, new AtomicInteger(seatsOf(flight)));
+        }
+
+        Entry(FlightDTO flight, AtomicInteger seatsAvailable) {
+            this(flight, flight.departureTime().toInstant(), seatsAvailable);
+        }
+
+        UUID id() {
+            return flight.id();
+        }
+
+        FlightDTO toDTO() {
+            return new FlightDTO(flight.id(), flight.airline(), flight.flightNumber(), flight.origin(), flight.destination(),
+                    flight.departureTime(), flight.arrivalTime(), flight.price(), seatsAvailable.get(), flight.version());
+        }
+
+        static Entry probe(Instant departure, UUID id) {
+            return new Entry(new FlightDTO(id, null, null, null, null, null, null, null, 0, null), departure, null);
+        }
+    }
+
+    static final class Snapshot {
+        private final Map<Route, NavigableSet<Entry>> routes = new ConcurrentHashMap<>();
+        private final Map<String, NavigableSet<Entry>> origins = new ConcurrentHashMap<>();
+        private final Map<UUID, Entry> flights = new ConcurrentHashMap<>();
+
+        /**
+         * Adds the flight, or replaces the route, times and other fields of an indexed one. The
+         * seat counter of an indexed flight is kept, since it follows changes the copy being
+         * put may not have seen.
+         */
+        void put(FlightDTO flight) {
+            Entry previous = flights.get(flight.id());
+            remove(flight.id());
+            Entry entry = previous != null ? new Entry(flight, previous.seatsAvailable()) : new Entry(flight);
+            flights.put(flight.id(), entry);
+            routes.computeIfAbsent(Route.of(flight.origin(), flight.destination()), route -> new ConcurrentSkipListSet<>(BY_DEPARTURE))
+                    .add(entry);
+            origins.computeIfAbsent(normalize(flight.origin()), origin -> new ConcurrentSkipListSet<>(BY_DEPARTURE)).add(entry);
+        }
+
+        void addSeatsAvailable(UUID flightId, int delta) {
+            Entry entry = flights.get(flightId);
+            if (entry != null) {
+                entry.seatsAvailable().addAndGet(delta);
+            }
+        }
+
+        void remove(UUID flightId) {
+            Entry entry = flights.remove(flightId);
+            if (entry != null) {
+                Route route = Route.of(entry.flight().origin(), entry.flight().destination());
+                NavigableSet<Entry> entries = routes.get(route);
+                if (entries != null) {
+                    entries.remove(entry);
+                }
+                NavigableSet<Entry> departures = origins.get(normalize(entry.flight().origin()));
+                if (departures != null) {
+                    departures.remove(entry);
+                }
+            }
+        }
+    }
+
+    private final FlightRepository flightRepository;
+
+    public RouteIndex(FlightRepository flightRepository) {
+        super("route index");
+        this.flightRepository = flightRepository;
+    }
+
+    /**
+     * Returns the flights of the route departing within the window, in departure order. A
+     * missing bound leaves that side of the window open.
+     */
+    public List<FlightDTO> find(String origin, String destination, ZonedDateTime start, ZonedDateTime end, int minSeats) {
+        return collect(window(readySnapshot().routes.get(Route.of(origin, destination)), start, end), minSeats);
+    }
+
+    /**
+     * Returns the flights leaving the origin within the window, in departure order. A missing
+     * bound leaves that side of the window open.
+     */
+    public List<FlightDTO> departingFrom(String origin, ZonedDateTime start, ZonedDateTime end, int minSeats) {
+        return collect(window(readySnapshot().origins.get(normalize(origin)), start, end), minSeats);
+    }
+
+    /**
+     * Returns the flights whose origin and destination contain the given text, ignoring case,
+     * in departure order. A {@code null} origin or destination matches every route.
+     */
+    public List<FlightDTO> findContaining(String origin, String destination, int minSeats) {
+        String originPart = origin != null ? normalize(origin) : "";
+        String destinationPart = destination != null ? normalize(destination) : "";
+        List<Entry> matches = new ArrayList<>();
+        readySnapshot().routes.forEach((route, entries) -> {
+            if (route.origin().contains(originPart) && route.destination().contains(destinationPart)) {
+                matches.addAll(entries);
+            }
+        });
+        matches.sort(BY_DEPARTURE);
+        return collect(matches, minSeats);
+    }
+
+    /**
+     * Adds or replaces the flight once the current transaction commits, keeping the seat
+     * counter of a flight already indexed.
+     */
+    public void putAfterCommit(FlightDTO flight) {
+        applyAfterCommit(current -> current.put(flight));
+    }
+
+    public void removeAfterCommit(UUID flightId) {
+        applyAfterCommit(current -> current.remove(flightId));
+    }
+
+    /**
+     * Mirrors a change of the {@code flights.seats_available} counter once the current
+     * transaction commits.
+     */
+    public void addSeatsAvailableAfterCommit(UUID flightId, int delta) {
+        applyAfterCommit(current -> current.addSeatsAvailable(flightId, delta));
+    }
+
+    /**
+     * Reloads every flight. Flights added, changed or removed and seat counters moved while the
+     * load runs are applied again on top of it before it replaces the current index. A counter
+     * change committed just before the load started may then be counted twice, until the next
+     * rebuild.
+     */
+    @Scheduled(fixedDelayString = "${inventory.routes.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        Snapshot rebuilt = reload(() -> {
+            Snapshot loaded = new Snapshot();
+            flightRepository.findAll().forEach(flight -> loaded.put(FlightDTO.flightToDTO(flight)));
+            return loaded;
+        });
+        if (rebuilt != null) {
+            log.debug("Route index rebuilt with {} flights on {} routes", rebuilt.flights.size(), rebuilt.routes.size());
+        }
+    }
+
+    private static Iterable<Entry> window(NavigableSet<Entry> entries, ZonedDateTime start, ZonedDateTime end) {
+        if (entries == null) {
+            return List.of();
+        }
+        if (start == null && end == null) {
+            return entries;
+        }
+        Entry from = Entry.probe(start != null ? start.toInstant() : Instant.MIN, MIN_ID);
+        Entry to = Entry.probe(end != null ? end.toInstant() : Instant.MAX, MAX_ID);
+        if (BY_DEPARTURE.compare(from, to) > 0) {
+            return List.of();
+        }
+        return entries.subSet(from, true, to, true);
+    }
+
+    private static List<FlightDTO> collect(Iterable<Entry> entries, int minSeats) {
+        List<FlightDTO> flights = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.seatsAvailable().get() >= minSeats) {
+                flights.add(entry.toDTO());
+            }
+        }
+        return flights;
+    }
+
+    private static int seatsOf(FlightDTO flight) {
+        return flight.seatsAvailable() != null ? flight.seatsAvailable() : 0;
+    }
+
+    private static String normalize(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+}
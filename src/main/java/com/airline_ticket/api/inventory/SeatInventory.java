@@ -0,0 +1,363 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.cache.FlightCache;
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.SeatRepository;
+import com.airline_ticket.api.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory seat availability per flight. Claims and releases are decided by atomic bit
+ * operations, so taken seats are turned away without touching the database. A booking's claims
+ * are written by its own transaction through {@link #take(Collection)}; releases are written
+ * behind by {@link #flush()} in set-based updates, together with the {@code flights.seats_available}
+ * counter, which is adjusted by the number of rows whose flag actually changed. Each of those
+ * writes runs in a transaction of its own, so a caller rolling back never undoes changes made
+ * by others.
+ */
+@Component
+public class SeatInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatInventory.class);
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final SeatRepository seatRepository;
+    private final FlightRepository flightRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate flushTemplate;
+    private final RouteIndex routeIndex;
+    private final FlightCache flightCache;
+    private final Map<UUID, FlightSeatMap> flights = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> seatFlights = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<UUID, Boolean>> unwritten = new ConcurrentHashMap<>();
+
+    public SeatInventory(SeatRepository seatRepository, FlightRepository flightRepository, TransactionTemplate transactionTemplate,
+                         RouteIndex routeIndex, FlightCache flightCache) {
+        this.seatRepository = seatRepository;
+        this.flightRepository = flightRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.flushTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.routeIndex = routeIndex;
+        this.flightCache = flightCache;
+    }
+
+    public boolean claim(UUID seatId) {
+        UUID flightId = getFlightId(seatId);
+        FlightSeatMap seatMap = seatMapOfSeat(flightId, seatId);
+        boolean claimed = seatMap.claim(seatMap.indexOf(seatId));
+        if (claimed) {
+            flightCache.recordChange(flightId);
+        }
+        return claimed;
+    }
+
+    public boolean release(UUID seatId) {
+        UUID flightId = getFlightId(seatId);
+        FlightSeatMap seatMap = seatMapOfSeat(flightId, seatId);
+        boolean released = seatMap.release(seatMap.indexOf(seatId));
+        if (released) {
+            flightCache.recordChange(flightId);
+        }
+        return released;
+    }
+
+    /**
+     * Takes the seats for a booking in the current transaction. Each seat is claimed in memory
+     * first and then marked as taken in the database by an update guarded by its flag, which
+     * stays the authority for seats this map still shows as available, such as seats booked on
+     * another node. A seat the database refuses stays taken here, and its flight's seat map is
+     * reloaded once the transaction completes. A seat whose own release is not written yet is
+     * taken as is. Returns the seats that could not be taken; the others are given back if the
+     * transaction does not commit.
+     */
+    public List<UUID> take(Collection<UUID> seatIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Seats can only be taken inside a transaction.");
+        }
+        List<UUID> claimed = new ArrayList<>(seatIds.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    claimed.forEach(SeatInventory.this::restore);
+                }
+            }
+        });
+
+        List<UUID> unavailable = new ArrayList<>();
+        List<UUID> toWrite = new ArrayList<>(seatIds.size());
+        for (UUID seatId : seatIds) {
+            if (!claim(seatId)) {
+                unavailable.add(seatId);
+                continue;
+            }
+            claimed.add(seatId);
+            if (!isReleasePending(seatId)) {
+                toWrite.add(seatId);
+            }
+        }
+        if (toWrite.isEmpty()) {
+            return unavailable;
+        }
+
+        Set<UUID> written = new HashSet<>(seatRepository.claimSeats(toWrite));
+        Set<UUID> staleFlights = new HashSet<>();
+        for (UUID seatId : toWrite) {
+            if (!written.contains(seatId)) {
+                claimed.remove(seatId);
+                unavailable.add(seatId);
+                staleFlights.add(getFlightId(seatId));
+            }
+        }
+        staleFlights.forEach(this::evictAfterCompletion);
+        written.stream()
+                .collect(Collectors.groupingBy(this::getFlightId, Collectors.counting()))
+                .forEach((flightId, count) -> {
+                    flightRepository.addSeatsAvailable(flightId, -count.intValue());
+                    routeIndex.addSeatsAvailableAfterCommit(flightId, -count.intValue());
+                    flightCache.invalidateSeatsAvailable(flightId);
+                });
+        return unavailable;
+    }
+
+    /**
+     * Gives the seat back once the current transaction commits.
+     */
+    public void releaseAfterCommit(UUID seatId) {
+        AfterCommit.run(() -> release(seatId));
+    }
+
+    /**
+     * Drops the seat map of a deleted flight once the current transaction commits, along with
+     * the changes it has not written yet, since the seats were deleted with the flight.
+     */
+    public void removeAfterCommit(UUID flightId) {
+        AfterCommit.run(() -> {
+            FlightSeatMap seatMap = flights.remove(flightId);
+            if (seatMap != null) {
+                seatMap.seatIds().forEach(seatId -> seatFlights.remove(seatId, flightId));
+            }
+            unwritten.remove(flightId);
+            flightCache.recordChange(flightId);
+        });
+    }
+
+    /**
+     * Clears the holds of the seats and gives them back. The hold columns, the availability
+     * flag and the flight counters are written in one transaction before the seats are
+     * released in memory.
+     */
+    public void releaseHolds(Collection<UUID> seatIds) {
+        Map<UUID, List<UUID>> seatsByFlight = seatIds.stream()
+                .collect(Collectors.groupingBy(this::getFlightId));
+        transactionTemplate.executeWithoutResult(status -> {
+            seatRepository.clearHolds(seatIds);
+            seatsByFlight.forEach((flightId, flightSeatIds) -> writeAvailability(flightId, flightSeatIds, true));
+        });
+        seatIds.forEach(this::release);
+    }
+
+    public UUID getFlightId(UUID seatId) {
+        UUID flightId = seatFlights.get(seatId);
+        if (flightId != null) {
+            return flightId;
+        }
+        return seatRepository.findFlightIdById(seatId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat not found with id " + seatId));
+    }
+
+    /**
+     * Returns every seat of the flight in seat number order.
+     */
+    public List<SeatAvailabilityDTO> getSeats(UUID flightId) {
+        return seatMapOfFlight(flightId).seats();
+    }
+
+    public List<SeatAvailabilityDTO> getSeats(UUID flightId, boolean isAvailable, long offset, int limit) {
+        return seatMapOfFlight(flightId).seats(isAvailable, offset, limit);
+    }
+
+    public int countSeats(UUID flightId, boolean isAvailable) {
+        return seatMapOfFlight(flightId).count(isAvailable);
+    }
+
+    /**
+     * Writes pending changes of the flight and drops its seat map once the current transaction
+     * completes, so the next access reloads seats added, moved or removed. Call it before the
+     * current transaction writes seats of the flight: the changes are written in a transaction of
+     * their own, which would wait for those row locks.
+     */
+    public void refresh(UUID flightId) {
+        FlightSeatMap seatMap = flights.get(flightId);
+        if (seatMap != null) {
+            flush(flightId, seatMap);
+        }
+        evictAfterCompletion(flightId);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.seats.flush-interval-ms:200}")
+    public void flush() {
+        new ArrayList<>(unwritten.keySet()).forEach(this::reapplyUnwritten);
+        new ArrayList<>(flights.entrySet()).forEach(entry -> flush(entry.getKey(), entry.getValue()));
+    }
+
+    private void flush(UUID flightId, FlightSeatMap seatMap) {
+        List<UUID> taken = new ArrayList<>();
+        List<UUID> released = new ArrayList<>();
+        seatMap.drainDirty(taken, released);
+        write(flightId, seatMap, taken, false);
+        write(flightId, seatMap, released, true);
+    }
+
+    private void write(UUID flightId, FlightSeatMap seatMap, List<UUID> seatIds, boolean isAvailable) {
+        for (int from = 0; from < seatIds.size(); from += FLUSH_CHUNK_SIZE) {
+            List<UUID> chunk = seatIds.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, seatIds.size()));
+            try {
+                flushTemplate.executeWithoutResult(status -> writeAvailability(flightId, chunk, isAvailable));
+            } catch (RuntimeException e) {
+                log.warn("Failed to write availability of {} seats, retrying on next flush", chunk.size(), e);
+                keepUnwritten(flightId, seatMap, chunk, isAvailable);
+            }
+        }
+    }
+
+    private void writeAvailability(UUID flightId, Collection<UUID> seatIds, boolean isAvailable) {
+        int changed = seatRepository.updateAvailability(flightId, seatIds, isAvailable);
+        if (changed > 0) {
+            int delta = isAvailable ? changed : -changed;
+            flightRepository.addSeatsAvailable(flightId, delta);
+            routeIndex.addSeatsAvailableAfterCommit(flightId, delta);
+            flightCache.invalidateSeatsAvailable(flightId);
+        }
+    }
+
+    /**
+     * Marks seats whose write failed as changed again. When their seat map has been dropped in
+     * the meantime they are kept aside and applied to the map that replaces it.
+     */
+    private void keepUnwritten(UUID flightId, FlightSeatMap seatMap, List<UUID> seatIds, boolean isAvailable) {
+        seatMap.markDirty(seatIds);
+        if (flights.get(flightId) != seatMap) {
+            Map<UUID, Boolean> pending = unwritten.computeIfAbsent(flightId, id -> new ConcurrentHashMap<>());
+            seatIds.forEach(seatId -> pending.put(seatId, isAvailable));
+        }
+    }
+
+    private void reapplyUnwritten(UUID flightId) {
+        try {
+            applyUnwritten(flightId, seatMapOfFlight(flightId));
+        } catch (ResourceNotFoundException e) {
+            unwritten.remove(flightId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load the seats of flight {}, retrying on next flush", flightId, e);
+        }
+    }
+
+    private void applyUnwritten(UUID flightId, FlightSeatMap seatMap) {
+        Map<UUID, Boolean> pending = unwritten.remove(flightId);
+        if (pending == null) {
+            return;
+        }
+        pending.forEach((seatId, isAvailable) -> {
+            Integer index = seatMap.indexOf(seatId);
+            if (index != null) {
+                if (isAvailable) {
+                    seatMap.release(index);
+                } else {
+                    seatMap.claim(index);
+                }
+            }
+        });
+        seatMap.markDirty(pending.keySet());
+    }
+
+    private void evictAfterCompletion(UUID flightId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(flightId);
+                }
+            });
+        } else {
+            evict(flightId);
+        }
+    }
+
+    /**
+     * Drops the seat map of the flight and writes the changes it still holds. The map is removed
+     * first, so writes that fail are kept for the map that replaces it instead of being retried
+     * on one nobody flushes anymore.
+     */
+    private void evict(UUID flightId) {
+        FlightSeatMap seatMap = flights.remove(flightId);
+        if (seatMap != null) {
+            seatMap.seatIds().forEach(seatId -> seatFlights.remove(seatId, flightId));
+            flush(flightId, seatMap);
+        }
+        flightCache.recordChange(flightId);
+    }
+
+    private FlightSeatMap seatMapOfFlight(UUID flightId) {
+        return flights.computeIfAbsent(flightId, this::load);
+    }
+
+    private FlightSeatMap seatMapOfSeat(UUID flightId, UUID seatId) {
+        FlightSeatMap seatMap = seatMapOfFlight(flightId);
+        if (seatMap.indexOf(seatId) == null) {
+            evict(flightId);
+            seatMap = seatMapOfFlight(flightId);
+            if (seatMap.indexOf(seatId) == null) {
+                throw new ResourceNotFoundException("Seat not found with id " + seatId);
+            }
+        }
+        return seatMap;
+    }
+
+    private void restore(UUID seatId) {
+        UUID flightId = getFlightId(seatId);
+        FlightSeatMap seatMap = seatMapOfSeat(flightId, seatId);
+        seatMap.restore(seatMap.indexOf(seatId));
+        flightCache.recordChange(flightId);
+    }
+
+    private boolean isReleasePending(UUID seatId) {
+        FlightSeatMap seatMap = seatMapOfSeat(getFlightId(seatId), seatId);
+        return seatMap.isDirty(seatMap.indexOf(seatId));
+    }
+
+    /**
+     * Loads the seats of the flight and applies the changes kept aside for it. Throws for a
+     * flight that does not exist, so unknown ids are never kept as empty seat maps.
+     */
+    private FlightSeatMap load(UUID flightId) {
+        List<SeatAvailabilityDTO> seats = seatRepository.findAvailabilityByFlightId(flightId);
+        if (seats.isEmpty() && !flightRepository.existsById(flightId)) {
+            throw new ResourceNotFoundException("Flight not found with id " + flightId);
+        }
+        FlightSeatMap seatMap = new FlightSeatMap(seats);
+        seatMap.seatIds().forEach(seatId -> seatFlights.put(seatId, flightId));
+        applyUnwritten(flightId, seatMap);
+        return seatMap;
+    }
+}
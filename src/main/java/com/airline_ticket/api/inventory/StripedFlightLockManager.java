@@ -0,0 +1,91 @@
+package com.airline_ticket.api.inventory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flight locks of a single node: a fixed array of locks indexed by the hash of the flight id.
+ * Flights sharing a stripe also share the lock, which only costs some extra waiting.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.locks.backend", havingValue = "striped", matchIfMissing = true)
+public class StripedFlightLockManager implements FlightLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public StripedFlightLockManager(@Value("${inventory.locks.stripes:256}") int stripes,
+                                    @Value("${inventory.locks.timeout-ms:5000}") long timeoutMs) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("The number of lock stripes must be positive.");
+        }
+        // rounded up to a power of two so the stripe is a mask of the hash
+        this.stripes = new ReentrantLock[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void lock(Collection<UUID> flightIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Flight locks can only be taken inside a transaction.");
+        }
+
+        TreeSet<Integer> indexes = new TreeSet<>();
+        flightIds.forEach(flightId -> indexes.add(stripeOf(flightId)));
+
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new CannotAcquireLockException("Timed out waiting for the lock of flights " + flightIds + ".");
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(acquired);
+            throw new CannotAcquireLockException("Interrupted while waiting for the lock of flights " + flightIds + ".", e);
+        } catch (RuntimeException e) {
+            unlock(acquired);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(acquired);
+            }
+        });
+    }
+
+    int stripeOf(UUID flightId) {
+        int hash = flightId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private static void unlock(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+}
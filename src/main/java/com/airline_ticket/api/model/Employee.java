@@ -8,10 +8,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "employees")
-public class Employee implements Serializable {
+public class Employee extends PersistableEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
     @Column(nullable = false)
     private String name;
@@ -29,6 +29,7 @@ public class Employee implements Serializable {
         this.password = password;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -12,10 +12,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "flights")
-public class Flight implements Serializable {
+public class Flight extends PersistableEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
     @Column(nullable = false)
     private String airline;
@@ -31,6 +31,10 @@ public class Flight implements Serializable {
     private ZonedDateTime arrivalTime;
     @Column(nullable = false)
     private Double price;
+    @Column(name = "seats_available", nullable = false, insertable = false, updatable = false)
+    private Integer seatsAvailable = 0;
+    @Version
+    private Long version;
 
     @JsonIgnore
     @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -53,6 +57,7 @@ public class Flight implements Serializable {
         this.price = price;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -61,6 +66,10 @@ public class Flight implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getAirline() {
         return airline;
     }
@@ -117,6 +126,14 @@ public class Flight implements Serializable {
         this.price = price;
     }
 
+    public Integer getSeatsAvailable() {
+        return seatsAvailable;
+    }
+
+    public void setSeatsAvailable(Integer seatsAvailable) {
+        this.seatsAvailable = seatsAvailable;
+    }
+
     public Set<Seat> getSeats() {
         return seats;
     }
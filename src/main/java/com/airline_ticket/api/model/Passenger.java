@@ -8,10 +8,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "passengers")
-public class Passenger implements Serializable {
+public class Passenger extends PersistableEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
     @Column(nullable = false)
     private String name;
@@ -32,6 +32,7 @@ public class Passenger implements Serializable {
         this.phone = phone;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,35 @@
+package com.airline_ticket.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * Base class for entities whose UUID is assigned by the application. Tracking
+ * whether the instance has been persisted lets {@code save()} call
+ * {@code persist} directly instead of issuing a SELECT through {@code merge},
+ * which keeps inserts eligible for JDBC batching.
+ */
+@MappedSuperclass
+public abstract class PersistableEntity implements Persistable<UUID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -9,13 +9,15 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "reservations")
-public class Reservation implements Serializable {
+public class Reservation extends PersistableEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
     @Column(name = "reservation_date", nullable = false)
     private ZonedDateTime reservationDate;
+    @Version
+    private Long version;
 
     @OneToOne
     @JoinColumn(name = "seat_id", nullable = false)
@@ -35,6 +37,7 @@ public class Reservation implements Serializable {
         this.passenger = passenger;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -43,6 +46,10 @@ public class Reservation implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public ZonedDateTime getReservationDate() {
         return reservationDate;
     }
@@ -4,20 +4,27 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
 @Table(name = "seats")
-public class Seat implements Serializable {
+public class Seat extends PersistableEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
     @Column(name = "seat_number", nullable = false)
     private String seatNumber;
     @Column(name = "is_available", nullable = false)
     private Boolean isAvailable;
+    @Column(name = "hold_id")
+    private UUID holdId;
+    @Column(name = "held_until")
+    private ZonedDateTime heldUntil;
+    @Version
+    private Long version;
 
     @JsonIgnore
     @OneToOne(mappedBy = "seat")
@@ -29,11 +36,13 @@ public class Seat implements Serializable {
     public Seat() {}
 
     public Seat(String seatNumber, Boolean isAvailable, Flight flight) {
+        this.id = UuidV7.randomUUID();
         this.seatNumber = seatNumber;
         this.isAvailable = isAvailable;
         this.flight = flight;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -42,6 +51,10 @@ public class Seat implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getSeatNumber() {
         return seatNumber;
     }
@@ -58,6 +71,22 @@ public class Seat implements Serializable {
         isAvailable = available;
     }
 
+    public UUID getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(UUID holdId) {
+        this.holdId = holdId;
+    }
+
+    public ZonedDateTime getHeldUntil() {
+        return heldUntil;
+    }
+
+    public void setHeldUntil(ZonedDateTime heldUntil) {
+        this.heldUntil = heldUntil;
+    }
+
     public Flight getFlight() {
         return flight;
     }
@@ -8,10 +8,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "tickets")
-public class Ticket implements Serializable {
+public class Ticket extends PersistableEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7Id
     private UUID id;
     @Column(name = "ticket_number", nullable = false, unique = true)
     private String ticketNumber;
@@ -32,6 +32,7 @@ public class Ticket implements Serializable {
         this.flight = flight;
     }
 
+    @Override
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,28 @@
+package com.airline_ticket.api.model;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562, version 7): 48 bits of Unix milliseconds, a 12-bit counter
+ * that keeps ids generated within the same millisecond ascending, and 62 random bits. New ids
+ * land at the right edge of the primary key index instead of on random pages.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    private UuidV7() {}
+
+    public static UUID randomUUID() {
+        long now = System.currentTimeMillis() << 12;
+        // a counter overflow borrows the next millisecond, which keeps ids ascending
+        long stamp = LAST_STAMP.updateAndGet(last -> last >= now ? last + 1 : now);
+
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
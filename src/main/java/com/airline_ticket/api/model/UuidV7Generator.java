@@ -0,0 +1,25 @@
+package com.airline_ticket.api.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Assigns a {@link UuidV7} to entities persisted without an id. Ids assigned by the
+ * application are kept, so services can still hand out ids before the insert.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (object instanceof Persistable<?> entity && entity.getId() != null) {
+            return entity.getId();
+        }
+        return UuidV7.randomUUID();
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -30,7 +30,13 @@ public record FlightDTO(
         ZonedDateTime arrivalTime,
 
         @Schema(description = "The price of the flight in USD.", example = "299.99")
-        Double price
+        Double price,
+
+        @Schema(description = "Number of seats still available for reservation.", example = "42")
+        Integer seatsAvailable,
+
+        @Schema(description = "Version of the flight, to send back when updating it.", example = "3")
+        Long version
 ) {
 
     public static FlightDTO flightToDTO(Flight flight) {
@@ -42,7 +48,9 @@ public record FlightDTO(
                 flight.getDestination(),
                 flight.getDepartureTime(),
                 flight.getArrivalTime(),
-                flight.getPrice()
+                flight.getPrice(),
+                flight.getSeatsAvailable(),
+                flight.getVersion()
         );
     }
 }
\ No newline at end of file
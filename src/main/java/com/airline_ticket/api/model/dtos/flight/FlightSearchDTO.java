@@ -0,0 +1,44 @@
+package com.airline_ticket.api.model.dtos.flight;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.ZonedDateTime;
+
+@Schema(name = "Flight Search DTO", description = "Criteria for searching flights, every field is optional")
+public record FlightSearchDTO(
+
+        @Schema(description = "The origin city of the flight.", example = "London")
+        String origin,
+
+        @Schema(description = "The destination city of the flight.", example = "Tokyo")
+        String destination,
+
+        @Schema(description = "Earliest departure time.", example = "2024-12-01T00:00:00Z")
+        ZonedDateTime departureFrom,
+
+        @Schema(description = "Latest departure time.", example = "2024-12-08T00:00:00Z")
+        ZonedDateTime departureTo,
+
+        @Schema(description = "Earliest arrival time.", example = "2024-12-01T00:00:00Z")
+        ZonedDateTime arrivalFrom,
+
+        @Schema(description = "Latest arrival time.", example = "2024-12-08T23:59:59Z")
+        ZonedDateTime arrivalTo,
+
+        @Schema(description = "Minimum price of the flight in USD.", example = "100.00")
+        @PositiveOrZero(message = "Minimum price must be zero or a positive value")
+        Double minPrice,
+
+        @Schema(description = "Maximum price of the flight in USD.", example = "800.00")
+        @PositiveOrZero(message = "Maximum price must be zero or a positive value")
+        Double maxPrice,
+
+        @Schema(description = "Part of the name of the airline, ignoring case.", example = "delta")
+        String airline,
+
+        @Schema(description = "Minimum number of seats still available.", example = "2")
+        @PositiveOrZero(message = "Minimum seats must be zero or a positive value")
+        Integer minSeats
+) {
+}
@@ -42,6 +42,10 @@ public record FlightUpdateDTO(
         @Schema(description = "The price of the flight in USD.", example = "299.99")
         @NotNull(message = "Price cannot be null")
         @Positive(message = "Price must be a positive value")
-        Double price
+        Double price,
+
+        @Schema(description = "Version of the flight the changes are based on, as last read.", example = "3")
+        @NotNull(message = "Version cannot be null")
+        Long version
 ) {
 }
@@ -0,0 +1,38 @@
+package com.airline_ticket.api.model.dtos.itinerary;
+
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Schema(name = "ItineraryDTO", description = "A direct flight or a chain of connecting flights from the origin to the destination")
+public record ItineraryDTO(
+        @Schema(description = "The flights of the itinerary in travel order.")
+        List<FlightDTO> flights,
+
+        @Schema(description = "Number of connections between the flights.", example = "1")
+        int stops,
+
+        @Schema(description = "Departure time of the first flight.", example = "2024-12-01T15:30:00Z")
+        ZonedDateTime departureTime,
+
+        @Schema(description = "Arrival time of the last flight.", example = "2024-12-02T09:10:00Z")
+        ZonedDateTime arrivalTime,
+
+        @Schema(description = "Time from the first departure to the last arrival, in minutes.", example = "1060")
+        long durationMinutes,
+
+        @Schema(description = "Sum of the prices of the flights in USD.", example = "749.98")
+        double totalPrice
+) {
+
+    public static ItineraryDTO of(List<FlightDTO> flights) {
+        FlightDTO first = flights.get(0);
+        FlightDTO last = flights.get(flights.size() - 1);
+        double totalPrice = flights.stream().mapToDouble(flight -> flight.price() != null ? flight.price() : 0).sum();
+        return new ItineraryDTO(List.copyOf(flights), flights.size() - 1, first.departureTime(), last.arrivalTime(),
+                Duration.between(first.departureTime(), last.arrivalTime()).toMinutes(), totalPrice);
+    }
+}
@@ -0,0 +1,57 @@
+package com.airline_ticket.api.model.dtos.itinerary;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.ZonedDateTime;
+
+@Schema(name = "Itinerary Search DTO", description = "Criteria for searching direct and connecting itineraries")
+public record ItinerarySearchDTO(
+
+        @Schema(description = "The city the itinerary starts from.", example = "London")
+        @NotBlank(message = "Origin is mandatory")
+        String origin,
+
+        @Schema(description = "The city the itinerary ends in.", example = "Tokyo")
+        @NotBlank(message = "Destination is mandatory")
+        String destination,
+
+        @Schema(description = "Earliest departure time of the first flight.", example = "2024-12-01T00:00:00Z")
+        @NotNull(message = "Departure window start is mandatory")
+        ZonedDateTime departureFrom,
+
+        @Schema(description = "Latest departure time of the first flight.", example = "2024-12-03T00:00:00Z")
+        @NotNull(message = "Departure window end is mandatory")
+        ZonedDateTime departureTo,
+
+        @Schema(description = "Maximum number of stops, from 0 to 2. Defaults to 2.", example = "1")
+        @Min(value = 0, message = "Maximum stops must be between 0 and 2")
+        @Max(value = 2, message = "Maximum stops must be between 0 and 2")
+        Integer maxStops,
+
+        @Schema(description = "Minimum time between landing and the next departure, in minutes. Defaults to 45.", example = "60")
+        @PositiveOrZero(message = "Minimum connection time must be zero or a positive value")
+        Integer minConnectionMinutes,
+
+        @Schema(description = "Maximum time between landing and the next departure, in minutes. Defaults to 360.", example = "480")
+        @Positive(message = "Maximum connection time must be a positive value")
+        Integer maxConnectionMinutes,
+
+        @Schema(description = "Minimum number of seats available on every flight. Defaults to 1.", example = "2")
+        @PositiveOrZero(message = "Minimum seats must be zero or a positive value")
+        Integer minSeats,
+
+        @Schema(description = "Ranking of the results. Defaults to DURATION.", example = "PRICE")
+        ItinerarySort sortBy,
+
+        @Schema(description = "Maximum number of itineraries returned, from 1 to 100. Defaults to 20.", example = "10")
+        @Min(value = 1, message = "Limit must be between 1 and 100")
+        @Max(value = 100, message = "Limit must be between 1 and 100")
+        Integer limit
+) {
+}
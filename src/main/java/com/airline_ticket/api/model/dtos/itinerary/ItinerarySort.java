@@ -0,0 +1,9 @@
+package com.airline_ticket.api.model.dtos.itinerary;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Ranking of the itineraries found by a search.")
+public enum ItinerarySort {
+    DURATION,
+    PRICE
+}
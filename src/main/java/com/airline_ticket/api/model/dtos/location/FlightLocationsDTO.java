@@ -0,0 +1,18 @@
+package com.airline_ticket.api.model.dtos.location;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(name = "Flight Locations DTO", description = "DTO for representing the origin and destination of a flight")
+public record FlightLocationsDTO(
+        @Schema(description = "Unique identifier for the flight.", example = "d9b2d63d-a233-4123-847a-7a9a4f4a5c6e")
+        UUID id,
+
+        @Schema(description = "The origin location of the flight.", example = "New York")
+        String origin,
+
+        @Schema(description = "The destination location of the flight.", example = "London")
+        String destination
+) {
+}
@@ -0,0 +1,13 @@
+package com.airline_ticket.api.model.dtos.location;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Location Suggestion DTO", description = "DTO for representing an origin or destination matching a search prefix")
+public record LocationSuggestionDTO(
+        @Schema(description = "Name of the location as the flights spell it.", example = "São Paulo")
+        String name,
+
+        @Schema(description = "Number of flights departing from or arriving at the location.", example = "42")
+        long flights
+) {
+}
@@ -0,0 +1,59 @@
+package com.airline_ticket.api.model.dtos.page;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a keyset page: the sort key of that row, if the order has
+ * one besides the id, and its id. Clients only see the opaque encoded form.
+ */
+public record KeysetCursor(String key, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(ZonedDateTime key, UUID id) {
+        return new KeysetCursor(key.toInstant().toString(), id);
+    }
+
+    public static KeysetCursor of(UUID id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public String encode() {
+        String value = key != null ? key + SEPARATOR + id : id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a blank cursor, which asks for the first page.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return new KeysetCursor(null, UUID.fromString(value));
+            }
+            return new KeysetCursor(value.substring(0, separator), UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    public ZonedDateTime timeKey() {
+        if (key == null) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        try {
+            return ZonedDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.airline_ticket.api.model.dtos.page;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) pagination. {@code nextCursor} is {@code null} on the last page.
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
+
+    /**
+     * Builds the page from up to {@code size + 1} rows; the extra row only tells that another
+     * page follows.
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new KeysetPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.set(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return headers;
+    }
+}
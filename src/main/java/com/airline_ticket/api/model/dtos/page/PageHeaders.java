@@ -0,0 +1,23 @@
+package com.airline_ticket.api.model.dtos.page;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Headers that the list endpoints send next to their array body.
+ */
+public final class PageHeaders {
+
+    /**
+     * Approximate number of rows of the listed resource, sent when {@code includeTotal=true}.
+     */
+    public static final String ESTIMATED_TOTAL_COUNT = "Estimated-Total-Count";
+
+    private PageHeaders() {
+    }
+
+    public static HttpHeaders estimatedTotalCount(long count) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ESTIMATED_TOTAL_COUNT, Long.toString(count));
+        return headers;
+    }
+}
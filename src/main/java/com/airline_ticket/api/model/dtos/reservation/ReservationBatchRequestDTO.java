@@ -0,0 +1,17 @@
+package com.airline_ticket.api.model.dtos.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "Reservation Batch Request DTO", description = "DTO for reserving several seats at once")
+public record ReservationBatchRequestDTO(
+
+        @Schema(description = "Seat and passenger pairs to reserve. Either all of them are reserved or none.", required = true)
+        @NotEmpty(message = "Reservations cannot be empty")
+        @Size(max = 50, message = "A group booking cannot have more than 50 reservations")
+        List<@Valid ReservationRequestDTO> reservations
+) {}
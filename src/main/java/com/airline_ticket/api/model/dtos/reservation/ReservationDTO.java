@@ -3,6 +3,7 @@ package com.airline_ticket.api.model.dtos.reservation;
 import com.airline_ticket.api.model.Reservation;
 import com.airline_ticket.api.model.dtos.passenger.PassengerDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatDTO;
+import com.airline_ticket.api.model.dtos.ticket.TicketStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 
@@ -26,7 +27,13 @@ public record ReservationDTO(
 
         @Schema(description = "Details of the passenger who made the reservation.")
         @NotNull(message = "Passenger details cannot be null")
-        PassengerDTO passenger
+        PassengerDTO passenger,
+
+        @Schema(description = "Whether the ticket of the reservation has been issued. Poll /api/tickets/search?reservationId= while it is pending.", example = "PENDING")
+        TicketStatus ticketStatus,
+
+        @Schema(description = "Version of the reservation, to send back when updating it.", example = "3")
+        Long version
         ) {
 
     public static ReservationDTO toReservationDTO(Reservation reservation) {
@@ -34,7 +41,9 @@ public record ReservationDTO(
                 reservation.getId(),
                 reservation.getReservationDate(),
                 SeatDTO.seatToDTO(reservation.getSeat()),
-                PassengerDTO.passengerToDto(reservation.getPassenger())
+                PassengerDTO.passengerToDto(reservation.getPassenger()),
+                reservation.getTicket() == null ? TicketStatus.PENDING : TicketStatus.ISSUED,
+                reservation.getVersion()
         );
     }
 }
\ No newline at end of file
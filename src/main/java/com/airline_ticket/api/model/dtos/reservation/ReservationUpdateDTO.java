@@ -18,5 +18,9 @@ public record ReservationUpdateDTO(
 
         @Schema(description = "Unique identifier for the passenger making the reservation.", example = "a1b2c3d4-e5f6-7g8h-9i0j-k1l2m3n4o5p6", required = true)
         @NotNull(message = "Passenger ID cannot be null")
-        UUID passengerId
+        UUID passengerId,
+
+        @Schema(description = "Version of the reservation the changes are based on, as last read.", example = "3", required = true)
+        @NotNull(message = "Version cannot be null")
+        Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.airline_ticket.api.model.dtos.seat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(name = "Seat Availability DTO", description = "DTO for representing the availability of a seat")
+public record SeatAvailabilityDTO(
+        @Schema(description = "Unique identifier for the seat.", example = "f1d2d2d2-2b5f-4a3b-9c4d-e0e1f2g3h4i5")
+        UUID id,
+
+        @Schema(description = "Seat number or identifier.", example = "12A")
+        String seatNumber,
+
+        @Schema(description = "Indicates whether the seat is available for reservation.", example = "true")
+        Boolean isAvailable
+) {
+}
@@ -18,7 +18,10 @@ public record SeatDTO(
         Boolean isAvailable,
 
         @Schema(description = "Flight to which this seat belongs.")
-        FlightDTO flight
+        FlightDTO flight,
+
+        @Schema(description = "Version of the seat, to send back when updating it. Not given when seats are listed by availability.", example = "3")
+        Long version
         ) {
 
     public static SeatDTO seatToDTO(Seat seat) {
@@ -26,7 +29,8 @@ public record SeatDTO(
                 seat.getId(),
                 seat.getSeatNumber(),
                 seat.getAvailable(),
-                FlightDTO.flightToDTO(seat.getFlight())
+                FlightDTO.flightToDTO(seat.getFlight()),
+                seat.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.airline_ticket.api.model.dtos.seat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+@Schema(name = "Seat Hold Confirm DTO", description = "DTO for confirming a seat hold as a reservation")
+public record SeatHoldConfirmDTO(
+        @Schema(description = "Unique identifier for the hold.", example = "c4a1e2b3-7d8f-4e9a-b0c1-d2e3f4a5b6c7", required = true)
+        @NotNull(message = "Hold ID cannot be null")
+        UUID holdId,
+
+        @Schema(description = "Unique identifier for the passenger making the reservation.", example = "a1b2c3d4-e5f6-7g8h-9i0j-k1l2m3n4o5p6", required = true)
+        @NotNull(message = "Passenger ID cannot be null")
+        UUID passengerId
+) {
+}
@@ -0,0 +1,19 @@
+package com.airline_ticket.api.model.dtos.seat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Schema(name = "Seat Hold DTO", description = "DTO for representing a temporary hold on a seat")
+public record SeatHoldDTO(
+        @Schema(description = "Unique identifier for the hold, required to confirm or release it.", example = "c4a1e2b3-7d8f-4e9a-b0c1-d2e3f4a5b6c7")
+        UUID holdId,
+
+        @Schema(description = "Unique identifier for the held seat.", example = "f1d2d2d2-2b5f-4a3b-9c4d-e0e1f2g3h4i5")
+        UUID seatId,
+
+        @Schema(description = "Date and time when the hold expires and the seat is released.", example = "2024-08-30T14:40:00Z")
+        ZonedDateTime expiresAt
+) {
+}
@@ -0,0 +1,87 @@
+package com.airline_ticket.api.model.dtos.seat;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Schema(name = "Seat Map DTO", description = "Compact seat map of a flight: a row/column grid and availability bitmaps")
+public record SeatMapDTO(
+        @Schema(description = "Unique identifier for the flight.", example = "b2c3e7d5-6789-4abc-1234-56789abcdef0")
+        UUID flightId,
+
+        @Schema(description = "Row numbers of the grid, in order.", example = "[1, 2, 3]")
+        List<Integer> rows,
+
+        @Schema(description = "Column letters of the grid, in order.", example = "[\"A\", \"B\", \"C\", \"D\"]")
+        List<String> columns,
+
+        @Schema(description = "Base64 bitmap of the grid cells that hold a seat. Cell index is rowIndex * columns + columnIndex; " +
+                "bit i is bit (i % 8) of byte (i / 8), as in java.util.BitSet.", example = "/w8=")
+        String seats,
+
+        @Schema(description = "Base64 bitmap of the grid cells that hold an available seat, in the same layout as seats.", example = "/g4=")
+        String available,
+
+        @Schema(description = "Seats whose number does not follow the row and column letter pattern.")
+        List<SeatAvailabilityDTO> unmappedSeats
+) {
+
+    private static final Pattern SEAT_NUMBER = Pattern.compile("^(\\d{1,9})([A-Z]+)$");
+
+    public static SeatMapDTO fromSeats(UUID flightId, List<SeatAvailabilityDTO> seatList) {
+        TreeSet<Integer> rowSet = new TreeSet<>();
+        TreeSet<String> columnSet = new TreeSet<>();
+        List<SeatAvailabilityDTO> unmapped = new ArrayList<>();
+        for (SeatAvailabilityDTO seat : seatList) {
+            Matcher matcher = SEAT_NUMBER.matcher(seat.seatNumber());
+            if (matcher.matches()) {
+                rowSet.add(Integer.parseInt(matcher.group(1)));
+                columnSet.add(matcher.group(2));
+            } else {
+                unmapped.add(seat);
+            }
+        }
+
+        List<Integer> rows = new ArrayList<>(rowSet);
+        List<String> columns = new ArrayList<>(columnSet);
+        Map<Integer, Integer> rowIndexes = new HashMap<>();
+        rows.forEach(row -> rowIndexes.put(row, rowIndexes.size()));
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        columns.forEach(column -> columnIndexes.put(column, columnIndexes.size()));
+        BitSet seats = new BitSet(rows.size() * columns.size());
+        BitSet available = new BitSet(rows.size() * columns.size());
+        for (SeatAvailabilityDTO seat : seatList) {
+            Matcher matcher = SEAT_NUMBER.matcher(seat.seatNumber());
+            if (!matcher.matches()) {
+                continue;
+            }
+            int cell = rowIndexes.get(Integer.parseInt(matcher.group(1))) * columns.size() + columnIndexes.get(matcher.group(2));
+            seats.set(cell);
+            if (Boolean.TRUE.equals(seat.isAvailable())) {
+                available.set(cell);
+            }
+        }
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new SeatMapDTO(flightId, rows, columns, encoder.encodeToString(seats.toByteArray()),
+                encoder.encodeToString(available.toByteArray()), unmapped);
+    }
+
+    @JsonIgnore
+    public String eTag() {
+        String content = rows + "|" + columns + "|" + seats + "|" + available + "|" + unmappedSeats;
+        return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
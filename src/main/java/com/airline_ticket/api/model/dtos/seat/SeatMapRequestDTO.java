@@ -0,0 +1,31 @@
+package com.airline_ticket.api.model.dtos.seat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "Seat Map Request DTO", description = "DTO for generating every seat of a flight from an aircraft layout")
+public record SeatMapRequestDTO(
+        @Schema(description = "Number of seat rows, numbered from 1.", example = "30")
+        @NotNull(message = "Rows cannot be null")
+        @Min(value = 1, message = "Rows must be at least 1")
+        @Max(value = 99, message = "Rows cannot be more than 99")
+        Integer rows,
+
+        @Schema(description = "Column letters of each row, from left to right.", example = "[\"A\", \"B\", \"C\", \"D\", \"E\", \"F\"]")
+        @NotEmpty(message = "Columns cannot be empty")
+        @Size(max = 26, message = "Columns cannot have more than 26 letters")
+        List<@Pattern(regexp = "^[A-Z]$", message = "Each column must be a single uppercase letter") String> columns,
+
+        @Schema(description = "Seats of the layout that are created but not available for reservation.", example = "[\"1A\", \"1F\"]")
+        @Nullable
+        List<String> blockedSeats
+) {
+}
@@ -23,6 +23,10 @@ public record SeatUpdateDTO(
 
         @Schema(description = "Unique identifier for the flight to which this seat belongs.", example = "f1d2d2d2-2b5f-4a3b-9c4d-e0e1f2g3h4i5", required = true)
         @NotNull(message = "Flight ID cannot be null")
-        UUID flightId
+        UUID flightId,
+
+        @Schema(description = "Version of the seat the changes are based on, as last read.", example = "3", required = true)
+        @NotNull(message = "Version cannot be null")
+        Long version
 ) {
 }
\ No newline at end of file
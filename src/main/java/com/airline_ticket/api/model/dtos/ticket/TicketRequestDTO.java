@@ -1,7 +1,7 @@
 package com.airline_ticket.api.model.dtos.ticket;
 
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.UUID;
@@ -9,8 +9,8 @@ import java.util.UUID;
 @Schema(name = "Ticket Request DTO", description = "DTO for creating a new ticket")
 public record TicketRequestDTO(
 
-        @Schema(description = "Unique ticket number.", example = "TICK123456")
-        @NotBlank(message = "Ticket number cannot be blank")
+        @Schema(description = "Unique ticket number. A 13-digit number is allocated when omitted; numbers of that shape cannot be chosen.", example = "TICK123456")
+        @Nullable
         String ticketNumber,
 
         @Schema(description = "Unique identifier for the reservation associated with this ticket.", example = "b2c1a3d4-567e-890f-ab12-cd34ef567890")
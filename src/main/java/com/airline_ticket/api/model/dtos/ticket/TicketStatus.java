@@ -0,0 +1,9 @@
+package com.airline_ticket.api.model.dtos.ticket;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Issuance state of the ticket of a reservation.")
+public enum TicketStatus {
+    PENDING,
+    ISSUED
+}
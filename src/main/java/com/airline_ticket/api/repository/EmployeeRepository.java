@@ -4,6 +4,7 @@ import com.airline_ticket.api.model.Employee;
 import com.airline_ticket.api.model.Passenger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +13,7 @@ import java.util.UUID;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
+    Slice<Employee> findAllBy(Pageable pageable);
     Page<Employee> findAll(Pageable pageable);
     Optional<Employee> findByEmail(String email);
     Page<Employee> findByNameContaining(String name, Pageable pageable);
@@ -1,31 +1,71 @@
 package com.airline_ticket.api.repository;
 
 import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.dtos.location.FlightLocationsDTO;
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, UUID> {
+public interface FlightRepository extends JpaRepository<Flight, UUID>, JpaSpecificationExecutor<Flight> {
+    Slice<Flight> findAllBy(Pageable pageable);
 
     Optional<Flight> findByFlightNumber(String flightNumber);
 
+    Page<Flight> findBySeatsAvailableGreaterThanEqual(int minSeats, Pageable pageable);
+
     Page<Flight> findByAirlineContainingIgnoreCase(String airline, Pageable pageable);
 
-    Page<Flight> findByOriginAndDestination(String origin, String destination, Pageable pageable);
+    Page<Flight> findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual(String origin, String destination, int minSeats, Pageable pageable);
+
+    Page<Flight> findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(String origin, String destination, ZonedDateTime start, ZonedDateTime end, int minSeats, Pageable pageable);
 
-    Page<Flight> findByOriginContainingIgnoreCase(String origin, Pageable pageable);
+    List<Flight> findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc(String origin, ZonedDateTime start, ZonedDateTime end, int minSeats);
 
-    Page<Flight> findByDestinationContainingIgnoreCase(String destination, Pageable pageable);
+    Page<Flight> findByOriginContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual(String origin, int minSeats, Pageable pageable);
 
-    Page<Flight> findByDepartureTimeBetween(ZonedDateTime start, ZonedDateTime end, Pageable pageable);
+    Page<Flight> findByDestinationContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual(String destination, int minSeats, Pageable pageable);
+
+    Page<Flight> findByDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(ZonedDateTime start, ZonedDateTime end, int minSeats, Pageable pageable);
 
     Page<Flight> findByArrivalTimeBetween(ZonedDateTime start, ZonedDateTime end, Pageable pageable);
 
     Page<Flight> findByPrice(Double price, Pageable pageable);
+
+    @Query("SELECT new com.airline_ticket.api.model.dtos.location.FlightLocationsDTO(f.id, f.origin, f.destination) FROM Flight f")
+    List<FlightLocationsDTO> findAllLocations();
+
+    /**
+     * Counts the flights leaving each origin whose lowercase name matches the {@code LIKE}
+     * pattern, escaped with a backslash.
+     */
+    @Query("SELECT new com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO(f.origin, COUNT(f)) " +
+            "FROM Flight f WHERE LOWER(f.origin) LIKE :pattern ESCAPE '\\' GROUP BY f.origin")
+    List<LocationSuggestionDTO> countByOriginLike(@Param("pattern") String pattern);
+
+    /**
+     * Counts the flights arriving at each destination whose lowercase name matches the
+     * {@code LIKE} pattern, escaped with a backslash.
+     */
+    @Query("SELECT new com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO(f.destination, COUNT(f)) " +
+            "FROM Flight f WHERE LOWER(f.destination) LIKE :pattern ESCAPE '\\' GROUP BY f.destination")
+    List<LocationSuggestionDTO> countByDestinationLike(@Param("pattern") String pattern);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Flight f SET f.seatsAvailable = f.seatsAvailable + :delta WHERE f.id = :id")
+    int addSeatsAvailable(@Param("id") UUID id, @Param("delta") int delta);
 }
\ No newline at end of file
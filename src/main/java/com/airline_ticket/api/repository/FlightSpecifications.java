@@ -0,0 +1,63 @@
+package com.airline_ticket.api.repository;
+
+import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds the flight search query from the criteria actually supplied, so the statement only
+ * carries predicates the indexes of {@code V9__add_finder_indexes.sql} can serve: origin and
+ * destination ignoring case on the route index of {@code V11}, ranges on the time and price
+ * indexes, and {@code upper(airline) LIKE} on the trigram index.
+ */
+public final class FlightSpecifications {
+
+    private FlightSpecifications() {
+    }
+
+    public static Specification<Flight> matching(FlightSearchDTO criteria) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.origin() != null) {
+                predicates.add(builder.equal(builder.upper(root.get("origin")), criteria.origin().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (criteria.destination() != null) {
+                predicates.add(builder.equal(builder.upper(root.get("destination")), criteria.destination().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (criteria.departureFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("departureTime"), criteria.departureFrom()));
+            }
+            if (criteria.departureTo() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("departureTime"), criteria.departureTo()));
+            }
+            if (criteria.arrivalFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("arrivalTime"), criteria.arrivalFrom()));
+            }
+            if (criteria.arrivalTo() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("arrivalTime"), criteria.arrivalTo()));
+            }
+            if (criteria.minPrice() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("price"), criteria.minPrice()));
+            }
+            if (criteria.maxPrice() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("price"), criteria.maxPrice()));
+            }
+            if (criteria.airline() != null) {
+                predicates.add(builder.like(builder.upper(root.get("airline")), "%" + escape(criteria.airline().toUpperCase(Locale.ROOT)) + "%", '\\'));
+            }
+            if (criteria.minSeats() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("seatsAvailable"), criteria.minSeats()));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,39 @@
+package com.airline_ticket.api.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+/**
+ * Seek predicates for keyset pagination over {@code (key, id)}. The predicate is written as
+ * {@code key >= :key AND (key > :key OR id > :id)} so that its first half is a range on the
+ * leading column of a {@code (key, id)} index, and the page costs the same at any depth.
+ */
+public final class Keyset {
+
+    private Keyset() {
+    }
+
+    public static Sort sort(String property) {
+        return Sort.by(property).and(Sort.by("id"));
+    }
+
+    public static Sort sortById() {
+        return Sort.by("id");
+    }
+
+    public static <T> Specification<T> first() {
+        return (root, query, builder) -> builder.conjunction();
+    }
+
+    public static <T, K extends Comparable<? super K>> Specification<T> after(String property, K key, UUID id) {
+        return (root, query, builder) -> builder.and(
+                builder.greaterThanOrEqualTo(root.get(property), key),
+                builder.or(builder.greaterThan(root.get(property), key), builder.greaterThan(root.get("id"), id)));
+    }
+
+    public static <T> Specification<T> afterId(UUID id) {
+        return (root, query, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+}
@@ -0,0 +1,62 @@
+package com.airline_ticket.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Durable copy of the responses of idempotent requests. A row is inserted as pending before
+ * the request runs, which also keeps a duplicate on another node from running it, and is
+ * completed with the response body afterwards.
+ */
+@Repository
+public class RequestDedupeRepository {
+
+    public record RequestDedupe(String requestHash, String responseBody) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequestDedupeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns {@code false} when a row already exists for the key.
+     */
+    public boolean insertPending(String principal, String endpoint, String idempotencyKey, String requestHash) {
+        return jdbcTemplate.update("""
+                INSERT INTO request_dedupe (principal, endpoint, idempotency_key, request_hash)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT DO NOTHING
+                """, principal, endpoint, idempotencyKey, requestHash) == 1;
+    }
+
+    public Optional<RequestDedupe> find(String principal, String endpoint, String idempotencyKey) {
+        return jdbcTemplate.query("""
+                        SELECT request_hash, response_body FROM request_dedupe
+                        WHERE principal = ? AND endpoint = ? AND idempotency_key = ?
+                        """,
+                (rs, rowNum) -> new RequestDedupe(rs.getString("request_hash"), rs.getString("response_body")),
+                principal, endpoint, idempotencyKey).stream().findFirst();
+    }
+
+    public void complete(String principal, String endpoint, String idempotencyKey, String responseBody) {
+        jdbcTemplate.update("""
+                UPDATE request_dedupe SET response_body = ?
+                WHERE principal = ? AND endpoint = ? AND idempotency_key = ?
+                """, responseBody, principal, endpoint, idempotencyKey);
+    }
+
+    public void delete(String principal, String endpoint, String idempotencyKey) {
+        jdbcTemplate.update("DELETE FROM request_dedupe WHERE principal = ? AND endpoint = ? AND idempotency_key = ?",
+                principal, endpoint, idempotencyKey);
+    }
+
+    public int deleteCreatedBefore(Instant instant) {
+        return jdbcTemplate.update("DELETE FROM request_dedupe WHERE created_at < ?", Timestamp.from(instant));
+    }
+}
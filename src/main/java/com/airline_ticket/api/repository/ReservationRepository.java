@@ -3,16 +3,25 @@ package com.airline_ticket.api.repository;
 import com.airline_ticket.api.model.Reservation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+public interface ReservationRepository extends JpaRepository<Reservation, UUID>, JpaSpecificationExecutor<Reservation> {
+    Slice<Reservation> findAllBy(Pageable pageable);
     Page<Reservation> findByReservationDate(ZonedDateTime reservationDate, Pageable pageable);
     Page<Reservation> findBySeatIdAndPassengerId(UUID seatId, UUID passengerId, Pageable pageable);
     Page<Reservation> findBySeatId(UUID seatId, Pageable pageable);
     Page<Reservation> findByPassengerId(UUID passengerId, Pageable pageable);
+
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.seat s JOIN FETCH s.flight LEFT JOIN FETCH r.ticket WHERE r.id IN :ids")
+    List<Reservation> findForTicketIssuanceByIdIn(Collection<UUID> ids);
 }
\ No newline at end of file
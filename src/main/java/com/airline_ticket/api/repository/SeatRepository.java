@@ -1,16 +1,89 @@
 package com.airline_ticket.api.repository;
 
 import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
-public interface SeatRepository extends JpaRepository<Seat, UUID> {
+public interface SeatRepository extends JpaRepository<Seat, UUID>, JpaSpecificationExecutor<Seat>, SeatRepositoryCustom {
+    Slice<Seat> findAllBy(Pageable pageable);
     Page<Seat> findByIsAvailable(Boolean isAvailable, Pageable pageable);
     Page<Seat> findBySeatNumberAndFlightId(String seatNumber, UUID flightId, Pageable pageable);
     Page<Seat> findBySeatNumber(String seatNumber, Pageable pageable);
     Page<Seat> findByFlightId(UUID id, Pageable pageable);
     Page<Seat> findByFlightIdAndIsAvailable(UUID flightId, Boolean isAvailable, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT s.flight.id FROM Seat s WHERE s.id = :id")
+    Optional<UUID> findFlightIdById(@Param("id") UUID id);
+
+    @Query("SELECT s.seatNumber FROM Seat s WHERE s.flight.id = :flightId")
+    Set<String> findSeatNumbersByFlightId(@Param("flightId") UUID flightId);
+
+    /**
+     * Loads the seat and its flight as a read-only snapshot, so changes to the
+     * availability flag are never flushed by dirty checking. The reservation
+     * side of the one-to-one is joined to avoid a lookup per seat.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Seat s JOIN FETCH s.flight LEFT JOIN FETCH s.reservation WHERE s.id = :id")
+    Optional<Seat> findSnapshotById(@Param("id") UUID id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Seat s JOIN FETCH s.flight LEFT JOIN FETCH s.reservation WHERE s.id IN :ids")
+    List<Seat> findSnapshotsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * A seat counts as available only if no reservation points to it and its flag is set or
+     * its hold has expired, so availability is correct even when the flag has not been written yet.
+     */
+    @Query("SELECT new com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO(s.id, s.seatNumber, " +
+            "CASE WHEN r.id IS NULL AND (s.isAvailable = true OR s.heldUntil < CURRENT_TIMESTAMP) THEN true ELSE false END) " +
+            "FROM Seat s LEFT JOIN s.reservation r WHERE s.flight.id = :flightId")
+    List<SeatAvailabilityDTO> findAvailabilityByFlightId(@Param("flightId") UUID flightId);
+
+    List<Seat> findByHeldUntilAfter(ZonedDateTime heldUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Seat s SET s.holdId = :holdId, s.heldUntil = :heldUntil, s.version = s.version + 1 WHERE s.id = :id")
+    int holdSeat(@Param("id") UUID id, @Param("holdId") UUID holdId, @Param("heldUntil") ZonedDateTime heldUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Seat s SET s.holdId = null, s.heldUntil = null, s.version = s.version + 1 WHERE s.id = :id")
+    int clearHold(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Seat s SET s.holdId = null, s.heldUntil = null, s.version = s.version + 1 WHERE s.id IN :ids AND s.holdId IS NOT NULL")
+    int clearHolds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Marks the seats as taken only where they are still available and returns the ids of those
+     * that were, so a claim wins only while the database agrees that the seat is free.
+     */
+    @Query(value = "UPDATE seats SET is_available = false, version = version + 1 WHERE id IN (:ids) AND is_available RETURNING id", nativeQuery = true)
+    List<UUID> claimSeats(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Seat s SET s.isAvailable = :isAvailable, s.version = s.version + 1 WHERE s.flight.id = :flightId AND s.id IN :ids AND s.isAvailable <> :isAvailable")
+    int updateAvailability(@Param("flightId") UUID flightId, @Param("ids") Collection<UUID> ids, @Param("isAvailable") Boolean isAvailable);
+}
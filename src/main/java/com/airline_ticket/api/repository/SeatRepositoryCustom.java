@@ -0,0 +1,14 @@
+package com.airline_ticket.api.repository;
+
+import com.airline_ticket.api.model.Seat;
+
+import java.util.Collection;
+
+public interface SeatRepositoryCustom {
+
+    /**
+     * Inserts all seats with a single multi-row statement, bypassing the
+     * persistence context. The seats must have their ids assigned.
+     */
+    int insertAll(Collection<Seat> seats);
+}
@@ -0,0 +1,34 @@
+package com.airline_ticket.api.repository;
+
+import com.airline_ticket.api.model.Seat;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+
+class SeatRepositoryImpl implements SeatRepositoryCustom {
+    private static final String INSERT_ALL = "INSERT INTO seats (id, seat_number, is_available, flight_id) " +
+            "SELECT * FROM unnest(?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SeatRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(Collection<Seat> seats) {
+        if (seats.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ALL);
+            statement.setArray(1, connection.createArrayOf("uuid", seats.stream().map(Seat::getId).toArray()));
+            statement.setArray(2, connection.createArrayOf("varchar", seats.stream().map(Seat::getSeatNumber).toArray()));
+            statement.setArray(3, connection.createArrayOf("bool", seats.stream().map(Seat::getAvailable).toArray()));
+            statement.setArray(4, connection.createArrayOf("uuid", seats.stream().map(seat -> seat.getFlight().getId()).toArray()));
+            return statement;
+        });
+    }
+}
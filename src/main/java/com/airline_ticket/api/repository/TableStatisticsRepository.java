@@ -0,0 +1,38 @@
+package com.airline_ticket.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Row counts estimated from the planner statistics in {@code pg_class} instead of a
+ * {@code count(*)}, which has to visit every row of the table.
+ */
+@Repository
+public class TableStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TableStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Estimates the rows of the table the way the planner does: the rows per page of the last
+     * {@code ANALYZE} times the pages the table has now, so that growth since then is counted.
+     * A table that was never analyzed has no statistics and is counted exactly.
+     */
+    public long estimateRowCount(String table) {
+        Long estimate = jdbcTemplate.queryForObject("""
+                SELECT CASE WHEN c.reltuples < 0 OR c.relpages = 0 THEN NULL
+                            ELSE (c.reltuples / c.relpages
+                                  * (pg_relation_size(c.oid) / current_setting('block_size')::integer))::bigint
+                       END
+                FROM pg_class c
+                WHERE c.oid = to_regclass(?)
+                """, Long.class, table);
+        if (estimate != null) {
+            return estimate;
+        }
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
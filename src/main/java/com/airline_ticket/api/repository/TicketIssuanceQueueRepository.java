@@ -0,0 +1,62 @@
+package com.airline_ticket.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable queue of reservations whose ticket has not been issued yet. Rows are written in the
+ * booking transaction and removed in the transaction that inserts the tickets.
+ */
+@Repository
+public class TicketIssuanceQueueRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TicketIssuanceQueueRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int enqueueAll(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO ticket_issuance_queue (reservation_id) SELECT unnest(?)");
+            statement.setArray(1, connection.createArrayOf("uuid", reservationIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Locks the oldest queued reservations for the current transaction. Rows locked by another
+     * node are skipped, so several nodes can drain the queue at once.
+     */
+    public List<UUID> lockBatch(int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT reservation_id FROM ticket_issuance_queue
+                ORDER BY enqueued_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, UUID.class, limit);
+    }
+
+    public int deleteAll(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM ticket_issuance_queue WHERE reservation_id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("uuid", reservationIds.toArray()));
+            return statement;
+        });
+    }
+}
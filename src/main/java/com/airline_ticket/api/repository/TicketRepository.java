@@ -1,12 +1,16 @@
 package com.airline_ticket.api.repository;
 
 import com.airline_ticket.api.model.Ticket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.Optional;
 import java.util.UUID;
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket> {
+    Slice<Ticket> findAllBy(Pageable pageable);
     Optional<Ticket> findByTicketNumber(String ticketNumber);
     Optional<Ticket> findByReservationId(UUID reservationId);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.airline_ticket.api.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the transactional method again when it loses an optimistic locking race, so the
+ * changes are reapplied to the current version of the entity. Only for methods that work out
+ * their change from the current state; a change sent by a client is checked against the
+ * version the client read instead, and a retry would overwrite what it did not see. See
+ * {@link OptimisticLockRetryAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
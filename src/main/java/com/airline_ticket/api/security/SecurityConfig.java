@@ -1,5 +1,6 @@
 package com.airline_ticket.api.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,15 +27,19 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
 
                         .requestMatchers("/api/auth/passengers/login", "/api/auth/passengers/register").permitAll()
                         .requestMatchers("/api/auth/employees/login", "/api/auth/employees/register").permitAll()
 
-                        .requestMatchers(HttpMethod.GET, "/api/flights/**", "/api/seats/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/flights/**", "/api/seats/**", "/api/itineraries", "/api/locations/**").permitAll()
 
                         .requestMatchers(HttpMethod.GET, "/api/passengers/{id}", "/api/reservations/{id}", "/api/tickets/{id}").hasAnyAuthority("USER", "ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/passengers", "/api/reservations").hasAnyAuthority("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/passengers", "/api/reservations", "/api/reservations/batch").hasAnyAuthority("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/seats/{id}/hold", "/api/seats/{id}/hold/confirm", "/api/seats/{id}/hold/release").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/passengers", "/api/reservations").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/passengers/{id}", "/api/reservations/{id}", "/api/tickets/{id}").hasAnyAuthority("USER", "ADMIN")
 
@@ -42,9 +47,9 @@ public class SecurityConfig {
                                 "/api/reservations", "/api/reservations/search", "/api/reservations/searchByDate",
                                 "/api/tickets", "/api/tickets/search",
                                 "/api/passengers", "/api/passengers/searchByName", "/api/passengers/search").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/employees", "/api/tickets", "/api/seats", "/api/flights").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/employees", "/api/tickets", "/api/seats", "/api/flights").hasAuthority("ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/employees/{id}", "/api/seats/{id}", "/api/flights/{id}").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/employees", "/api/tickets", "/api/seats", "/api/flights", "/api/flights/{id}/seatmap").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/employees", "/api/tickets", "/api/seats", "/api/flights", "/api/flights/{id}/flash-sale").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/employees/{id}", "/api/seats/{id}", "/api/flights/{id}", "/api/flights/{id}/flash-sale").hasAuthority("ADMIN")
 
                         .anyRequest().authenticated()
                 )
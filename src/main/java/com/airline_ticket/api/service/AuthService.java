@@ -3,6 +3,7 @@ package com.airline_ticket.api.service;
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
 import com.airline_ticket.api.model.Employee;
 import com.airline_ticket.api.model.Passenger;
+import com.airline_ticket.api.model.UuidV7;
 import com.airline_ticket.api.model.dtos.auth.LoginRequestDTO;
 import com.airline_ticket.api.model.dtos.auth.RegisterEmployeeRequestDTO;
 import com.airline_ticket.api.model.dtos.auth.RegisterPassengerRequestDTO;
@@ -51,6 +52,7 @@ public class AuthService {
 
         if (existingPassenger.isEmpty()) {
             Passenger newPassenger = new Passenger();
+            newPassenger.setId(UuidV7.randomUUID());
             newPassenger.setPassword(passwordEncoder.encode(dto.password()));
             newPassenger.setEmail(dto.email());
             newPassenger.setName(dto.name());
@@ -84,6 +86,7 @@ public class AuthService {
         Optional<Employee> existingEmployee = employeeRepository.findByEmail(dto.email());
         if (existingEmployee.isEmpty()) {
             Employee newEmployee = new Employee();
+            newEmployee.setId(UuidV7.randomUUID());
             newEmployee.setPassword(passwordEncoder.encode(dto.password()));
             newEmployee.setEmail(dto.email());
             newEmployee.setName(dto.name());
@@ -2,15 +2,18 @@ package com.airline_ticket.api.service;
 
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
 import com.airline_ticket.api.model.Employee;
+import com.airline_ticket.api.model.UuidV7;
 import com.airline_ticket.api.model.dtos.employee.EmployeeDTO;
 import com.airline_ticket.api.model.dtos.employee.EmployeeRequestDTO;
 import com.airline_ticket.api.model.dtos.employee.EmployeeUpdateDTO;
 import com.airline_ticket.api.repository.EmployeeRepository;
+import com.airline_ticket.api.repository.TableStatisticsRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -19,10 +22,16 @@ import java.util.UUID;
 public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
 
-    public Page<EmployeeDTO> getAllEmployees(Pageable pageable) {
-        Page<Employee> employeePage = employeeRepository.findAll(pageable);
-        return employeePage.map(EmployeeDTO::employeeToDTO);
+    public Slice<EmployeeDTO> getAllEmployees(Pageable pageable) {
+        Slice<Employee> employeeSlice = employeeRepository.findAllBy(pageable);
+        return employeeSlice.map(EmployeeDTO::employeeToDTO);
+    }
+
+    public long estimateEmployeeCount() {
+        return tableStatisticsRepository.estimateRowCount("employees");
     }
 
     public EmployeeDTO getEmployeeById(UUID id) {
@@ -48,7 +57,7 @@ public class EmployeeService {
         }
 
         Employee employee = new Employee(
-                UUID.randomUUID(),
+                UuidV7.randomUUID(),
                 requestDTO.name(),
                 requestDTO.email(),
                 requestDTO.password()
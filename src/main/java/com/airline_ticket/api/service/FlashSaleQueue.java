@@ -0,0 +1,143 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.FlashSaleQueueFullException;
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer of booking requests for one flight, drained by a single writer thread
+ * in batches. Offering never blocks: a full buffer is reported to the caller at once.
+ */
+class FlashSaleQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(FlashSaleQueue.class);
+    private static final long POLL_MS = 100;
+
+    /**
+     * A queued booking. It leaves the pending state exactly once: the writer claims it before
+     * booking it, or the caller cancels its result, and whichever comes second has no effect.
+     */
+    static final class Booking {
+
+        private enum State { PENDING, CLAIMED, CANCELLED }
+
+        private final ReservationRequestDTO request;
+        private final AtomicReference<State> state = new AtomicReference<>(State.PENDING);
+        private final CompletableFuture<ReservationDTO> result = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return state.compareAndSet(State.PENDING, State.CANCELLED) && super.cancel(mayInterruptIfRunning);
+            }
+        };
+
+        Booking(ReservationRequestDTO request) {
+            this.request = request;
+        }
+
+        ReservationRequestDTO request() {
+            return request;
+        }
+
+        CompletableFuture<ReservationDTO> result() {
+            return result;
+        }
+
+        /**
+         * Takes the booking for the writer. Returns false when it was cancelled first.
+         */
+        boolean claim() {
+            return state.compareAndSet(State.PENDING, State.CLAIMED);
+        }
+    }
+
+    enum Offer { ACCEPTED, FULL, CLOSED }
+
+    private final ArrayBlockingQueue<Booking> buffer;
+    private final int batchSize;
+    private final Consumer<List<Booking>> writer;
+    private final Thread thread;
+    private volatile boolean open = true;
+
+    FlashSaleQueue(UUID flightId, int capacity, int batchSize, Consumer<List<Booking>> writer) {
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.writer = writer;
+        this.thread = new Thread(this::run, "flash-sale-" + flightId);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    Offer offer(Booking booking) {
+        if (!open) {
+            return Offer.CLOSED;
+        }
+        if (!buffer.offer(booking)) {
+            return Offer.FULL;
+        }
+        // the writer may have drained its last batch and stopped in between
+        if (!open && buffer.remove(booking)) {
+            return Offer.CLOSED;
+        }
+        return Offer.ACCEPTED;
+    }
+
+    /**
+     * Stops accepting requests; the writer books what is already queued and then exits.
+     */
+    void close() {
+        open = false;
+    }
+
+    /**
+     * Stops the writer without waiting; bookings still queued are rejected.
+     */
+    void shutdown() {
+        open = false;
+        thread.interrupt();
+    }
+
+    int size() {
+        return buffer.size();
+    }
+
+    private void run() {
+        List<Booking> batch = new ArrayList<>(batchSize);
+        while (open || !buffer.isEmpty()) {
+            try {
+                Booking first = buffer.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                writer.accept(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                List<Booking> left = new ArrayList<>();
+                buffer.drainTo(left);
+                left.forEach(booking -> booking.result().completeExceptionally(
+                        new FlashSaleQueueFullException("Flash sale stopped before the booking was processed.")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Flash-sale batch of {} bookings failed", batch.size(), e);
+                batch.forEach(booking -> booking.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.FlashSaleQueueFullException;
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.inventory.SeatInventory;
+import com.airline_ticket.api.model.Passenger;
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.PassengerRepository;
+import com.airline_ticket.api.transaction.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in flash-sale mode per flight. Bookings for a flight in flash sale are queued in a bounded
+ * buffer and booked by a single writer in batches instead of by the request threads, so a burst
+ * of requests for one flight costs one transaction per batch rather than one lock wait each.
+ */
+@Service
+public class FlashSaleService {
+
+    private final ReservationService reservationService;
+    private final SeatInventory seatInventory;
+    private final PassengerRepository passengerRepository;
+    private final FlightRepository flightRepository;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Map<UUID, FlashSaleQueue> queues = new ConcurrentHashMap<>();
+
+    public FlashSaleService(ReservationService reservationService,
+                            SeatInventory seatInventory,
+                            PassengerRepository passengerRepository,
+                            FlightRepository flightRepository,
+                            @Value("${inventory.flash-sale.queue-capacity:4096}") int queueCapacity,
+                            @Value("${inventory.flash-sale.batch-size:100}") int batchSize) {
+        this.reservationService = reservationService;
+        this.seatInventory = seatInventory;
+        this.passengerRepository = passengerRepository;
+        this.flightRepository = flightRepository;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+    }
+
+    public void enable(UUID flightId) {
+        if (!flightRepository.existsById(flightId)) {
+            throw new ResourceNotFoundException("Flight not found with id " + flightId);
+        }
+        queues.computeIfAbsent(flightId, id -> {
+            FlashSaleQueue queue = new FlashSaleQueue(id, queueCapacity, batchSize, batch -> book(id, batch));
+            queue.start();
+            return queue;
+        });
+    }
+
+    /**
+     * Leaves flash-sale mode. Bookings already queued are still processed; new ones are booked
+     * directly again.
+     */
+    public void disable(UUID flightId) {
+        FlashSaleQueue queue = queues.remove(flightId);
+        if (queue == null) {
+            throw new ResourceNotFoundException("Flight " + flightId + " is not in flash-sale mode.");
+        }
+        queue.close();
+    }
+
+    /**
+     * Leaves flash-sale mode for a deleted flight once the current transaction commits. Bookings
+     * still queued for it fail, since their seats are gone.
+     */
+    public void removeAfterCommit(UUID flightId) {
+        AfterCommit.run(() -> {
+            FlashSaleQueue queue = queues.remove(flightId);
+            if (queue != null) {
+                queue.close();
+            }
+        });
+    }
+
+    public boolean isEnabled(UUID flightId) {
+        return queues.containsKey(flightId);
+    }
+
+    /**
+     * Queues the booking when the seat's flight is in flash-sale mode. Returns an empty optional
+     * when it is not, in which case the caller books directly.
+     *
+     * @throws FlashSaleQueueFullException if the flight's queue is full
+     */
+    public Optional<CompletableFuture<ReservationDTO>> submit(ReservationRequestDTO requestDTO) {
+        if (queues.isEmpty()) {
+            return Optional.empty();
+        }
+        UUID flightId = seatInventory.getFlightId(requestDTO.seatId());
+        FlashSaleQueue queue = queues.get(flightId);
+        if (queue == null) {
+            return Optional.empty();
+        }
+
+        FlashSaleQueue.Booking booking = new FlashSaleQueue.Booking(requestDTO);
+        return switch (queue.offer(booking)) {
+            case ACCEPTED -> Optional.of(booking.result());
+            case CLOSED -> Optional.empty();
+            case FULL -> throw new FlashSaleQueueFullException("Too many bookings queued for flight " + flightId + ". Try again later.");
+        };
+    }
+
+    /**
+     * Books one batch on the writer thread in a single transaction. Bookings cancelled before
+     * the writer claims them are skipped; once claimed, a booking can no longer be cancelled.
+     * Each booking fails on its own when its seat is not available; the others are reserved
+     * together.
+     */
+    void book(UUID flightId, List<FlashSaleQueue.Booking> batch) {
+        Set<UUID> passengerIds = batch.stream().map(booking -> booking.request().passengerId()).collect(Collectors.toSet());
+        Map<UUID, Passenger> passengers = passengerRepository.findAllById(passengerIds).stream()
+                .collect(Collectors.toMap(Passenger::getId, Function.identity()));
+
+        Map<UUID, Passenger> passengersBySeat = new LinkedHashMap<>();
+        List<FlashSaleQueue.Booking> pending = new ArrayList<>(batch.size());
+        for (FlashSaleQueue.Booking booking : batch) {
+            if (!booking.claim()) {
+                continue;
+            }
+            ReservationRequestDTO request = booking.request();
+            Passenger passenger = passengers.get(request.passengerId());
+            if (passenger == null) {
+                booking.result().completeExceptionally(new ResourceNotFoundException("Passenger not found with id " + request.passengerId()));
+                continue;
+            }
+            if (passengersBySeat.putIfAbsent(request.seatId(), passenger) != null) {
+                booking.result().completeExceptionally(seatNotAvailable(request.seatId()));
+                continue;
+            }
+            pending.add(booking);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, ReservationDTO> reservations;
+        try {
+            reservations = reservationService.reserveAvailableSeats(flightId, passengersBySeat);
+        } catch (RuntimeException e) {
+            pending.forEach(booking -> booking.result().completeExceptionally(e));
+            return;
+        }
+        for (FlashSaleQueue.Booking booking : pending) {
+            ReservationDTO reservation = reservations.get(booking.request().seatId());
+            if (reservation != null) {
+                booking.result().complete(reservation);
+            } else {
+                booking.result().completeExceptionally(seatNotAvailable(booking.request().seatId()));
+            }
+        }
+    }
+
+    private static SeatNotAvailableException seatNotAvailable(UUID seatId) {
+        return new SeatNotAvailableException("Seat with id " + seatId + " is not available.");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queues.values().forEach(FlashSaleQueue::shutdown);
+        queues.clear();
+    }
+}
@@ -1,74 +1,192 @@
 package com.airline_ticket.api.service;
 
+import com.airline_ticket.api.cache.FlightCache;
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
+import com.airline_ticket.api.inventory.LocationIndex;
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.inventory.SeatInventory;
 import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.UuidV7;
 import com.airline_ticket.api.model.dtos.flight.FlightDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightRequestDTO;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightUpdateDTO;
+import com.airline_ticket.api.model.dtos.page.KeysetCursor;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
 import com.airline_ticket.api.repository.FlightRepository;
-import jakarta.transaction.Transactional;
+import com.airline_ticket.api.repository.FlightSpecifications;
+import com.airline_ticket.api.repository.Keyset;
+import com.airline_ticket.api.repository.TableStatisticsRepository;
+import com.airline_ticket.api.retry.RetryOnOptimisticLock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 public class FlightService {
 
+    private static final ZonedDateTime MIN_DEPARTURE = ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final ZonedDateTime MAX_DEPARTURE = ZonedDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
+
     @Autowired
     private FlightRepository flightRepository;
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
+    @Autowired
+    private RouteIndex routeIndex;
+    @Autowired
+    private FlightCache flightCache;
+    @Autowired
+    private LocationIndex locationIndex;
+    @Autowired
+    private SeatInventory seatInventory;
+    @Autowired
+    private FlashSaleService flashSaleService;
 
-    public Page<FlightDTO> getAllFlights(Pageable pageable) {
-        Page<Flight> flightPage = flightRepository.findAll(pageable);
-        return flightPage.map(FlightDTO::flightToDTO);
+    @Transactional(readOnly = true)
+    public Slice<FlightDTO> getAllFlights(Pageable pageable) {
+        Slice<Flight> flightSlice = flightRepository.findAllBy(pageable);
+        return flightSlice.map(FlightDTO::flightToDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public long estimateFlightCount() {
+        return tableStatisticsRepository.estimateRowCount("flights");
+    }
+
+    /**
+     * Returns the flights after the cursor in departure order; a blank cursor starts at the first.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<FlightDTO> getFlightsAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Specification<Flight> seek = cursor == null ? Keyset.first() : Keyset.after("departureTime", cursor.timeKey(), cursor.id());
+        List<Flight> flights = flightRepository.findBy(seek, query -> query.sortBy(Keyset.sort("departureTime")).limit(size + 1).all());
+        return KeysetPage.of(flights, size, FlightDTO::flightToDTO, flight -> KeysetCursor.of(flight.getDepartureTime(), flight.getId()));
     }
 
     public FlightDTO getFlightById(UUID id) {
-        Flight flight = verifyFlightExistsById(id);
-        return FlightDTO.flightToDTO(flight);
+        return flightCache.getFlight(id, key -> FlightDTO.flightToDTO(verifyFlightExistsById(key)));
+    }
+
+    /**
+     * Returns the ETag of the current version of the flight without reading it, or
+     * {@code null} while the flight is not cached.
+     */
+    public String getFlightETag(UUID id) {
+        return flightCache.eTag(id);
     }
 
     public FlightDTO getFlightByFlightNumber(String flightNumber) {
-        Flight flight = flightRepository.findByFlightNumber(flightNumber)
-                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with flight number " + flightNumber));
-        return FlightDTO.flightToDTO(flight);
+        UUID id = flightCache.getFlightId(flightNumber, key -> flightRepository.findByFlightNumber(key)
+                .map(Flight::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with flight number " + flightNumber)));
+        return getFlightById(id);
     }
 
+    @Transactional(readOnly = true)
     public Page<FlightDTO> getFlightsByAirline(String airline, Pageable pageable) {
         Page<Flight> flightPage = flightRepository.findByAirlineContainingIgnoreCase(airline, pageable);
         return flightPage.map(FlightDTO::flightToDTO);
     }
 
-    public Page<FlightDTO> getFlightsByLocation(String origin, String destination, Pageable pageable) {
-        Page<Flight> flights;
+    @Transactional(readOnly = true)
+    public Page<FlightDTO> getFlightsByLocation(String origin, String destination, Integer minSeats, Pageable pageable) {
+        return getFlightsByLocation(origin, destination, null, null, minSeats, pageable);
+    }
 
+    /**
+     * Served from the route index in departure order once it is loaded; the database is only
+     * queried while the index is cold or when another sort order is requested.
+     */
+    @Transactional(readOnly = true)
+    public Page<FlightDTO> getFlightsByLocation(String origin, String destination, ZonedDateTime start, ZonedDateTime end,
+                                                Integer minSeats, Pageable pageable) {
+        if (origin == null && destination == null) {
+            throw new IllegalArgumentException("At least one parameter (origin or destination) must be provided.");
+        }
+        if ((start != null || end != null) && (origin == null || destination == null)) {
+            throw new IllegalArgumentException("A departure time range requires both origin and destination.");
+        }
+        int seats = minSeats != null ? minSeats : 0;
+
+        if (routeIndex.isReady() && pageable.getSort().isUnsorted()) {
+            List<FlightDTO> flights = origin != null && destination != null
+                    ? routeIndex.find(origin, destination, start, end, seats)
+                    : routeIndex.findContaining(origin, destination, seats);
+            return toPage(flights, pageable);
+        }
         if (origin != null && destination != null) {
-            flights = flightRepository.findByOriginAndDestination(origin, destination, pageable);
+            FlightCache.RouteSearch search = new FlightCache.RouteSearch(origin, destination, start, end, seats, pageable);
+            return flightCache.getRouteSearch(search, key -> queryFlightsByLocation(origin, destination, start, end, seats, pageable));
+        }
+        return queryFlightsByLocation(origin, destination, start, end, seats, pageable);
+    }
+
+    private Page<FlightDTO> queryFlightsByLocation(String origin, String destination, ZonedDateTime start, ZonedDateTime end,
+                                                   int seats, Pageable pageable) {
+        Page<Flight> flights;
+        if (origin != null && destination != null && (start != null || end != null)) {
+            flights = flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(
+                    origin.trim(), destination.trim(), start != null ? start : MIN_DEPARTURE, end != null ? end : MAX_DEPARTURE, seats, pageable);
+        } else if (origin != null && destination != null) {
+            flights = flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual(origin.trim(), destination.trim(), seats, pageable);
         } else if (origin != null) {
-            flights = flightRepository.findByOriginContainingIgnoreCase(origin, pageable);
-        } else if (destination != null) {
-            flights = flightRepository.findByDestinationContainingIgnoreCase(destination, pageable);
+            flights = flightRepository.findByOriginContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual(origin, seats, pageable);
         } else {
-            throw new IllegalArgumentException("At least one parameter (origin or destination) must be provided.");
+            flights = flightRepository.findByDestinationContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual(destination, seats, pageable);
         }
 
         return flights.map(FlightDTO::flightToDTO);
     }
 
-    public Page<FlightDTO> getFlightsByDepartureTime(ZonedDateTime start, ZonedDateTime end, Pageable pageable) {
-        Page<Flight> flightPage = flightRepository.findByDepartureTimeBetween(start, end, pageable);
+    @Transactional(readOnly = true)
+    public Page<FlightDTO> getFlightsByDepartureTime(ZonedDateTime start, ZonedDateTime end, Integer minSeats, Pageable pageable) {
+        int seats = minSeats != null ? minSeats : 0;
+        Page<Flight> flightPage = flightRepository.findByDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(start, end, seats, pageable);
         return flightPage.map(FlightDTO::flightToDTO);
     }
 
+    /**
+     * Searches by any combination of criteria. Results follow the requested sort, departure
+     * time by default, with the id as tie-breaker so pages do not overlap.
+     */
+    @Transactional(readOnly = true)
+    public Page<FlightDTO> searchFlights(FlightSearchDTO criteria, Pageable pageable) {
+        if (isReversed(criteria.departureFrom(), criteria.departureTo()) || isReversed(criteria.arrivalFrom(), criteria.arrivalTo())) {
+            throw new IllegalArgumentException("The start of a time range must not be after its end.");
+        }
+        if (criteria.minPrice() != null && criteria.maxPrice() != null && criteria.minPrice() > criteria.maxPrice()) {
+            throw new IllegalArgumentException("Minimum price must not be greater than maximum price.");
+        }
+
+        Sort sort = (pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("departureTime")).and(Sort.by("id"));
+        Pageable ordered = pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort) : Pageable.unpaged(sort);
+        return flightRepository.findAll(FlightSpecifications.matching(criteria), ordered).map(FlightDTO::flightToDTO);
+    }
+
+    @Transactional(readOnly = true)
     public Page<FlightDTO> getFlightsByArrivalTime(ZonedDateTime start, ZonedDateTime end, Pageable pageable) {
         Page<Flight> flightPage = flightRepository.findByArrivalTimeBetween(start, end, pageable);
         return flightPage.map(FlightDTO::flightToDTO);
     }
 
+    @Transactional(readOnly = true)
     public Page<FlightDTO> getFlightsByPrice(Double price, Pageable pageable) {
         Page<Flight> flightPage = flightRepository.findByPrice(price, pageable);
         return flightPage.map(FlightDTO::flightToDTO);
@@ -81,7 +199,7 @@ public class FlightService {
         }
 
         Flight flight = new Flight(
-                UUID.randomUUID(),
+                UuidV7.randomUUID(),
                 requestDTO.airline(),
                 requestDTO.flightNumber(),
                 requestDTO.origin(),
@@ -92,12 +210,20 @@ public class FlightService {
         );
 
         Flight savedFlight = flightRepository.save(flight);
-        return FlightDTO.flightToDTO(savedFlight);
+        FlightDTO flightDTO = FlightDTO.flightToDTO(savedFlight);
+        routeIndex.putAfterCommit(flightDTO);
+        locationIndex.putAfterCommit(flightDTO);
+        flightCache.invalidateFlight(flightDTO.id(), flightDTO.flightNumber());
+        return flightDTO;
     }
 
     @Transactional
     public FlightDTO updateFlight(FlightUpdateDTO updateDTO) {
         Flight existingFlight = verifyFlightExistsById(updateDTO.id());
+        if (!Objects.equals(existingFlight.getVersion(), updateDTO.version())) {
+            throw new VersionConflictException("Flight " + updateDTO.id() + " was modified since version " + updateDTO.version() + ".");
+        }
+        String previousFlightNumber = existingFlight.getFlightNumber();
 
         existingFlight.setAirline(updateDTO.airline());
         existingFlight.setFlightNumber(updateDTO.flightNumber());
@@ -108,13 +234,36 @@ public class FlightService {
         existingFlight.setPrice(updateDTO.price());
 
         Flight updatedFlight = flightRepository.save(existingFlight);
-        return FlightDTO.flightToDTO(updatedFlight);
+        FlightDTO flightDTO = FlightDTO.flightToDTO(updatedFlight);
+        routeIndex.putAfterCommit(flightDTO);
+        locationIndex.putAfterCommit(flightDTO);
+        flightCache.invalidateFlight(flightDTO.id(), previousFlightNumber, flightDTO.flightNumber());
+        return flightDTO;
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public void deleteFlight(UUID id) {
-        verifyFlightExistsById(id);
+        Flight flight = verifyFlightExistsById(id);
         flightRepository.deleteById(id);
+        routeIndex.removeAfterCommit(id);
+        locationIndex.removeAfterCommit(id);
+        seatInventory.removeAfterCommit(id);
+        flashSaleService.removeAfterCommit(id);
+        flightCache.invalidateFlight(id, flight.getFlightNumber());
+    }
+
+    private static boolean isReversed(ZonedDateTime start, ZonedDateTime end) {
+        return start != null && end != null && start.isAfter(end);
+    }
+
+    private static Page<FlightDTO> toPage(List<FlightDTO> flights, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(flights, pageable, flights.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), flights.size());
+        int to = Math.min(from + pageable.getPageSize(), flights.size());
+        return new PageImpl<>(flights.subList(from, to), pageable, flights.size());
     }
 
     private Flight verifyFlightExistsById(UUID id) {
@@ -0,0 +1,207 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.RequestInProgressException;
+import com.airline_ticket.api.repository.RequestDedupeRepository;
+import com.airline_ticket.api.repository.RequestDedupeRepository.RequestDedupe;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the response of a request sent again with the same {@code Idempotency-Key}. Keys are
+ * scoped by caller and endpoint. Duplicates arriving while the first request runs, or shortly
+ * after, are answered from memory; later ones from the {@code request_dedupe} table. Only
+ * successful responses are kept, so a failed request can be retried with the same key. A
+ * response that could not be stored keeps its pending row, so other nodes do not run the
+ * request again, and is stored again on each purge until it succeeds.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Recent(String requestHash, CompletableFuture<String> responseBody, Instant createdAt) {
+    }
+
+    private record Unstored(String principal, String endpoint, String idempotencyKey, String body) {
+    }
+
+    private final RequestDedupeRepository requestDedupeRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration memoryTtl;
+    private final Duration retention;
+    private final Map<String, Recent> recent = new ConcurrentHashMap<>();
+    private final Map<String, Unstored> unstored = new ConcurrentHashMap<>();
+
+    public IdempotencyService(RequestDedupeRepository requestDedupeRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.memory-ttl-seconds:60}") long memoryTtlSeconds,
+                              @Value("${idempotency.retention-hours:24}") long retentionHours) {
+        this.requestDedupeRepository = requestDedupeRepository;
+        this.objectMapper = objectMapper;
+        this.memoryTtl = Duration.ofSeconds(memoryTtlSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    public <T> T execute(String endpoint, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        try {
+            return executeAsync(endpoint, idempotencyKey, request, responseType,
+                    () -> CompletableFuture.completedFuture(action.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the action unless a response is already known for the key. A key reused with a
+     * different request is rejected.
+     */
+    public <T> CompletableFuture<T> executeAsync(String endpoint, String idempotencyKey, Object request, Class<T> responseType,
+                                                 Supplier<CompletableFuture<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String principal = currentPrincipal();
+        String requestHash = hash(request);
+        String recentKey = principal + '\n' + endpoint + '\n' + idempotencyKey;
+
+        Recent entry = new Recent(requestHash, new CompletableFuture<>(), Instant.now());
+        Recent existing = recent.putIfAbsent(recentKey, entry);
+        if (existing != null) {
+            verifySameRequest(existing.requestHash(), requestHash);
+            return existing.responseBody().thenApply(body -> read(body, responseType));
+        }
+
+        if (!requestDedupeRepository.insertPending(principal, endpoint, idempotencyKey, requestHash)) {
+            Optional<RequestDedupe> stored = requestDedupeRepository.find(principal, endpoint, idempotencyKey);
+            if (stored.isEmpty() || stored.get().responseBody() == null) {
+                recent.remove(recentKey, entry);
+                throw new RequestInProgressException("A request with this " + HEADER + " is still being processed.");
+            }
+            if (!stored.get().requestHash().equals(requestHash)) {
+                recent.remove(recentKey, entry);
+                verifySameRequest(stored.get().requestHash(), requestHash);
+            }
+            entry.responseBody().complete(stored.get().responseBody());
+            return CompletableFuture.completedFuture(read(stored.get().responseBody(), responseType));
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            fail(principal, endpoint, idempotencyKey, recentKey, entry, e);
+            throw e;
+        }
+        return result.whenComplete((response, ex) -> {
+            if (ex != null) {
+                fail(principal, endpoint, idempotencyKey, recentKey, entry, ex);
+                return;
+            }
+            String body = write(response);
+            Unstored pending = new Unstored(principal, endpoint, idempotencyKey, body);
+            if (!store(pending)) {
+                // The request already took effect, so the pending row stays and keeps other
+                // nodes from running it again; they answer 409 until the retry stores it.
+                unstored.put(recentKey, pending);
+            }
+            entry.responseBody().complete(body);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purge() {
+        unstored.values().removeIf(this::store);
+        Instant memoryCutoff = Instant.now().minus(memoryTtl);
+        recent.entrySet().removeIf(e -> e.getValue().responseBody().isDone() && e.getValue().createdAt().isBefore(memoryCutoff)
+                && !unstored.containsKey(e.getKey()));
+        requestDedupeRepository.deleteCreatedBefore(Instant.now().minus(retention));
+    }
+
+    private boolean store(Unstored response) {
+        try {
+            requestDedupeRepository.complete(response.principal(), response.endpoint(), response.idempotencyKey(), response.body());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not store the response for {} {}, retrying later", response.endpoint(), response.idempotencyKey(), e);
+            return false;
+        }
+    }
+
+    private void fail(String principal, String endpoint, String idempotencyKey, String recentKey, Recent entry, Throwable ex) {
+        recent.remove(recentKey, entry);
+        entry.responseBody().completeExceptionally(ex);
+        deletePending(principal, endpoint, idempotencyKey);
+    }
+
+    private void deletePending(String principal, String endpoint, String idempotencyKey) {
+        try {
+            requestDedupeRepository.delete(principal, endpoint, idempotencyKey);
+        } catch (RuntimeException e) {
+            log.warn("Could not remove the pending request {} {}", endpoint, idempotencyKey, e);
+        }
+    }
+
+    private static void verifySameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalArgumentException(HEADER + " was already used for a different request.");
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the request.", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the response.", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the stored response.", e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItineraryDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySearchDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySort;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches direct and connecting itineraries over the flight schedule. Every flight leaving the
+ * origin in the departure window is followed by the flights leaving its destination within the
+ * connection window after it lands, up to two stops and without passing through a city twice.
+ * Departures are read from the {@link RouteIndex}, which follows the changes made through the
+ * flight services, or from the database until the index is loaded.
+ * The last flight an itinerary may take is only looked up on the route to the destination.
+ * <p>
+ * Once the index is loaded, a departure window longer than {@code itineraries.fork-window-hours}
+ * is split in halves that are searched in parallel on the common fork-join pool. Each half keeps
+ * only its best results under the requested ranking, so joining them is a merge of two short
+ * lists. While the index is cold the window is searched on the caller's thread, so blocking
+ * database reads never hold the common pool's threads.
+ */
+@Service
+public class ItineraryService {
+
+    private static final int DEFAULT_MAX_STOPS = 2;
+    private static final int DEFAULT_MIN_CONNECTION_MINUTES = 45;
+    private static final int DEFAULT_MAX_CONNECTION_MINUTES = 360;
+    private static final int DEFAULT_MIN_SEATS = 1;
+    private static final int DEFAULT_LIMIT = 20;
+    private static final Comparator<ItineraryDTO> BY_DURATION = Comparator
+            .comparingLong(ItineraryDTO::durationMinutes)
+            .thenComparingDouble(ItineraryDTO::totalPrice)
+            .thenComparing(ItineraryDTO::departureTime);
+    private static final Comparator<ItineraryDTO> BY_PRICE = Comparator
+            .comparingDouble(ItineraryDTO::totalPrice)
+            .thenComparingLong(ItineraryDTO::durationMinutes)
+            .thenComparing(ItineraryDTO::departureTime);
+
+    /**
+     * The search with its defaults applied. {@code origin} and {@code destination} are case
+     * folded for comparisons, {@code originCity} is the origin as the flights spell it.
+     */
+    private record Search(String originCity, String origin, String destination, int maxStops,
+                          Duration minConnection, Duration maxConnection, int minSeats,
+                          Comparator<ItineraryDTO> ranking, int limit) {
+    }
+
+    private final RouteIndex routeIndex;
+    private final FlightRepository flightRepository;
+    private final Duration forkWindow;
+    private final Duration maxWindow;
+
+    public ItineraryService(RouteIndex routeIndex,
+                            FlightRepository flightRepository,
+                            @Value("${itineraries.fork-window-hours:24}") long forkWindowHours,
+                            @Value("${itineraries.max-window-days:31}") long maxWindowDays) {
+        this.routeIndex = routeIndex;
+        this.flightRepository = flightRepository;
+        this.forkWindow = Duration.ofHours(forkWindowHours);
+        this.maxWindow = Duration.ofDays(maxWindowDays);
+    }
+
+    public List<ItineraryDTO> searchItineraries(ItinerarySearchDTO criteria) {
+        if (criteria.departureFrom().isAfter(criteria.departureTo())) {
+            throw new IllegalArgumentException("The start of a time range must not be after its end.");
+        }
+        if (Duration.between(criteria.departureFrom(), criteria.departureTo()).compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("The departure window must not be longer than " + maxWindow.toDays() + " days.");
+        }
+        Search search = new Search(
+                criteria.origin().trim(),
+                normalize(criteria.origin()),
+                normalize(criteria.destination()),
+                valueOrDefault(criteria.maxStops(), DEFAULT_MAX_STOPS),
+                Duration.ofMinutes(valueOrDefault(criteria.minConnectionMinutes(), DEFAULT_MIN_CONNECTION_MINUTES)),
+                Duration.ofMinutes(valueOrDefault(criteria.maxConnectionMinutes(), DEFAULT_MAX_CONNECTION_MINUTES)),
+                valueOrDefault(criteria.minSeats(), DEFAULT_MIN_SEATS),
+                criteria.sortBy() == ItinerarySort.PRICE ? BY_PRICE : BY_DURATION,
+                valueOrDefault(criteria.limit(), DEFAULT_LIMIT));
+        if (search.origin().equals(search.destination())) {
+            throw new IllegalArgumentException("Origin and destination must be different.");
+        }
+        if (search.minConnection().compareTo(search.maxConnection()) > 0) {
+            throw new IllegalArgumentException("Minimum connection time must not be greater than maximum connection time.");
+        }
+
+        if (!routeIndex.isReady()) {
+            return searchWindow(search, criteria.departureFrom(), criteria.departureTo());
+        }
+        return ForkJoinPool.commonPool().invoke(new SearchTask(search, criteria.departureFrom(), criteria.departureTo()));
+    }
+
+    /**
+     * Searches the itineraries whose first flight departs within {@code [start, end]} on the
+     * current thread, keeping the best under the requested ranking.
+     */
+    private List<ItineraryDTO> searchWindow(Search search, ZonedDateTime start, ZonedDateTime end) {
+        List<ItineraryDTO> found = new ArrayList<>();
+        Set<String> visited = new HashSet<>(Set.of(search.origin()));
+        extend(search, search.originCity(), start, end, new ArrayList<>(), visited, found);
+        return best(search, found, List.of());
+    }
+
+    private static List<ItineraryDTO> best(Search search, List<ItineraryDTO> first, List<ItineraryDTO> second) {
+        List<ItineraryDTO> merged = new ArrayList<>(first);
+        merged.addAll(second);
+        merged.sort(search.ranking());
+        return merged.size() > search.limit() ? List.copyOf(merged.subList(0, search.limit())) : merged;
+    }
+
+    /**
+     * Searches the itineraries whose first flight departs within {@code [start, end]}.
+     */
+    private final class SearchTask extends RecursiveTask<List<ItineraryDTO>> {
+        private final Search search;
+        private final ZonedDateTime start;
+        private final ZonedDateTime end;
+
+        SearchTask(Search search, ZonedDateTime start, ZonedDateTime end) {
+            this.search = search;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<ItineraryDTO> compute() {
+            if (Duration.between(start, end).compareTo(forkWindow) <= 0) {
+                return searchWindow(search, start, end);
+            }
+            ZonedDateTime middle = start.plus(Duration.between(start, end).dividedBy(2));
+            SearchTask earlier = new SearchTask(search, start, middle.minus(1, ChronoUnit.MICROS));
+            SearchTask later = new SearchTask(search, middle, end);
+            earlier.fork();
+            List<ItineraryDTO> laterResults = later.compute();
+            return best(search, earlier.join(), laterResults);
+        }
+    }
+
+    /**
+     * Appends each flight leaving {@code from} within the window to {@code legs}, recording the
+     * itinerary when it lands at the destination and following it with its connections while
+     * stops are left. Without stops left only the flights to the destination are read.
+     */
+    private void extend(Search search, String from, ZonedDateTime start, ZonedDateTime end, List<FlightDTO> legs,
+                        Set<String> visited, List<ItineraryDTO> found) {
+        List<FlightDTO> flights = legs.size() == search.maxStops()
+                ? arrivals(from, search.destination(), start, end, search.minSeats())
+                : departures(from, start, end, search.minSeats());
+        for (FlightDTO flight : flights) {
+            String to = normalize(flight.destination());
+            if (visited.contains(to)) {
+                continue;
+            }
+            legs.add(flight);
+            if (to.equals(search.destination())) {
+                found.add(ItineraryDTO.of(legs));
+            } else if (legs.size() <= search.maxStops()) {
+                ZonedDateTime arrival = flight.arrivalTime();
+                visited.add(to);
+                extend(search, flight.destination(), arrival.plus(search.minConnection()), arrival.plus(search.maxConnection()), legs, visited, found);
+                visited.remove(to);
+            }
+            legs.remove(legs.size() - 1);
+        }
+    }
+
+    private List<FlightDTO> departures(String origin, ZonedDateTime start, ZonedDateTime end, int minSeats) {
+        if (routeIndex.isReady()) {
+            return routeIndex.departingFrom(origin, start, end, minSeats);
+        }
+        return flightRepository.findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc(
+                        origin.trim(), start, end, minSeats).stream()
+                .map(FlightDTO::flightToDTO)
+                .toList();
+    }
+
+    private List<FlightDTO> arrivals(String origin, String destination, ZonedDateTime start, ZonedDateTime end, int minSeats) {
+        if (routeIndex.isReady()) {
+            return routeIndex.find(origin, destination, start, end, minSeats);
+        }
+        return flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(
+                        origin.trim(), destination, start, end, minSeats, Pageable.unpaged()).stream()
+                .map(FlightDTO::flightToDTO)
+                .toList();
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static String normalize(String location) {
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+}
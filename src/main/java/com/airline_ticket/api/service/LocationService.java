@@ -0,0 +1,59 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.inventory.LocationIndex;
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+public class LocationService {
+
+    private final LocationIndex locationIndex;
+    private final FlightRepository flightRepository;
+
+    public LocationService(LocationIndex locationIndex, FlightRepository flightRepository) {
+        this.locationIndex = locationIndex;
+        this.flightRepository = flightRepository;
+    }
+
+    /**
+     * Suggests the origins and destinations starting with the query, the ones with most
+     * flights first. Until the location index is loaded the database is queried instead,
+     * which ignores case but not accents. Its names are grouped like the index groups them,
+     * by folded name under the most common spelling.
+     */
+    public List<LocationSuggestionDTO> suggestLocations(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (locationIndex.isReady()) {
+            return locationIndex.suggest(query);
+        }
+
+        String pattern = query.trim().toLowerCase(Locale.ROOT).replaceAll("([\\\\%_])", "\\\\$1") + "%";
+        Map<String, Map<String, Long>> spellings = new HashMap<>();
+        Stream.concat(flightRepository.countByOriginLike(pattern).stream(), flightRepository.countByDestinationLike(pattern).stream())
+                .forEach(location -> spellings.computeIfAbsent(LocationIndex.fold(location.name()), name -> new HashMap<>())
+                        .merge(location.name().trim(), location.flights(), Long::sum));
+        return spellings.values().stream()
+                .map(LocationService::toSuggestion)
+                .sorted(Comparator.comparingLong(LocationSuggestionDTO::flights).reversed().thenComparing(LocationSuggestionDTO::name))
+                .limit(LocationIndex.MAX_SUGGESTIONS)
+                .toList();
+    }
+
+    private static LocationSuggestionDTO toSuggestion(Map<String, Long> spellings) {
+        Map.Entry<String, Long> mostCommon = spellings.entrySet().stream()
+                .min(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .orElseThrow();
+        long flights = spellings.values().stream().mapToLong(Long::longValue).sum();
+        return new LocationSuggestionDTO(mostCommon.getKey(), flights);
+    }
+}
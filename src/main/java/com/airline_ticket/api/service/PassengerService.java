@@ -2,17 +2,25 @@ package com.airline_ticket.api.service;
 
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
 import com.airline_ticket.api.model.Passenger;
+import com.airline_ticket.api.model.UuidV7;
+import com.airline_ticket.api.model.dtos.page.KeysetCursor;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
 import com.airline_ticket.api.model.dtos.passenger.PassengerDTO;
 import com.airline_ticket.api.model.dtos.passenger.PassengerRequestDTO;
 import com.airline_ticket.api.model.dtos.passenger.PassengerUpdateDTO;
+import com.airline_ticket.api.repository.Keyset;
 import com.airline_ticket.api.repository.PassengerRepository;
-import jakarta.transaction.Transactional;
+import com.airline_ticket.api.repository.TableStatisticsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -20,22 +28,44 @@ public class PassengerService {
 
     @Autowired
     private PassengerRepository passengerRepository;
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
 
-    public Page<PassengerDTO> getAllPassengers(Pageable pageable) {
-        Page<Passenger> passengerPage = passengerRepository.findAll(pageable);
-        return passengerPage.map(PassengerDTO::passengerToDto);
+    @Transactional(readOnly = true)
+    public Slice<PassengerDTO> getAllPassengers(Pageable pageable) {
+        Slice<Passenger> passengerSlice = passengerRepository.findAllBy(pageable);
+        return passengerSlice.map(PassengerDTO::passengerToDto);
+    }
+
+    @Transactional(readOnly = true)
+    public long estimatePassengerCount() {
+        return tableStatisticsRepository.estimateRowCount("passengers");
+    }
+
+    /**
+     * Returns the passengers after the cursor in id order; a blank cursor starts at the first.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<PassengerDTO> getPassengersAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Specification<Passenger> seek = cursor == null ? Keyset.first() : Keyset.afterId(cursor.id());
+        List<Passenger> passengers = passengerRepository.findBy(seek, query -> query.sortBy(Keyset.sortById()).limit(size + 1).all());
+        return KeysetPage.of(passengers, size, PassengerDTO::passengerToDto, passenger -> KeysetCursor.of(passenger.getId()));
     }
 
+    @Transactional(readOnly = true)
     public PassengerDTO getPassengerById(UUID id) {
         Passenger passenger = verifyPassengerExistsById(id);
         return PassengerDTO.passengerToDto(passenger);
     }
 
+    @Transactional(readOnly = true)
     public Page<PassengerDTO> getPassengersByName(String name, Pageable pageable) {
         Page<Passenger> passengerPage = passengerRepository.findByNameContaining(name, pageable);
         return passengerPage.map(PassengerDTO::passengerToDto);
     }
 
+    @Transactional(readOnly = true)
     public PassengerDTO getPassengerByPhoneOrEmail(String phone, String email) {
         if (phone != null) {
             Passenger passenger = passengerRepository.findByPhone(phone)
@@ -59,7 +89,7 @@ public class PassengerService {
         }
 
         Passenger passenger = new Passenger(
-                UUID.randomUUID(),
+                UuidV7.randomUUID(),
                 requestDTO.name(),
                 requestDTO.email(),
                 requestDTO.password(),
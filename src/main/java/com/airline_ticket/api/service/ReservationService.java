@@ -1,25 +1,46 @@
 package com.airline_ticket.api.service;
 
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
+import com.airline_ticket.api.inventory.FlightLockManager;
+import com.airline_ticket.api.inventory.SeatInventory;
 import com.airline_ticket.api.model.Passenger;
 import com.airline_ticket.api.model.Reservation;
 import com.airline_ticket.api.model.Seat;
-import com.airline_ticket.api.model.Ticket;
+import com.airline_ticket.api.model.UuidV7;
+import com.airline_ticket.api.model.dtos.page.KeysetCursor;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.reservation.ReservationBatchRequestDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
 import com.airline_ticket.api.model.dtos.reservation.ReservationUpdateDTO;
+import com.airline_ticket.api.repository.Keyset;
 import com.airline_ticket.api.repository.PassengerRepository;
 import com.airline_ticket.api.repository.ReservationRepository;
 import com.airline_ticket.api.repository.SeatRepository;
-import com.airline_ticket.api.repository.TicketRepository;
-import jakarta.transaction.Transactional;
+import com.airline_ticket.api.repository.TableStatisticsRepository;
+import com.airline_ticket.api.repository.TicketIssuanceQueueRepository;
+import com.airline_ticket.api.retry.RetryOnOptimisticLock;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservationService {
@@ -27,25 +48,52 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final SeatRepository seatRepository;
     private final PassengerRepository passengerRepository;
-    private final TicketRepository ticketRepository;
+    private final TicketIssuanceQueueRepository ticketIssuanceQueueRepository;
+    private final SeatInventory seatInventory;
+    private final FlightLockManager flightLockManager;
+    private final TableStatisticsRepository tableStatisticsRepository;
 
-    public ReservationService(ReservationRepository reservationRepository, SeatRepository seatRepository, PassengerRepository passengerRepository, TicketRepository ticketRepository) {
+    public ReservationService(ReservationRepository reservationRepository, SeatRepository seatRepository, PassengerRepository passengerRepository, TicketIssuanceQueueRepository ticketIssuanceQueueRepository, SeatInventory seatInventory, FlightLockManager flightLockManager, TableStatisticsRepository tableStatisticsRepository) {
         this.reservationRepository = reservationRepository;
         this.seatRepository = seatRepository;
         this.passengerRepository = passengerRepository;
-        this.ticketRepository = ticketRepository;
+        this.ticketIssuanceQueueRepository = ticketIssuanceQueueRepository;
+        this.seatInventory = seatInventory;
+        this.flightLockManager = flightLockManager;
+        this.tableStatisticsRepository = tableStatisticsRepository;
     }
 
-    public Page<ReservationDTO> getAllReservations(Pageable pageable) {
-        return reservationRepository.findAll(pageable)
+    @Transactional(readOnly = true)
+    public Slice<ReservationDTO> getAllReservations(Pageable pageable) {
+        return reservationRepository.findAllBy(pageable)
                 .map(ReservationDTO::toReservationDTO);
     }
 
+    @Transactional(readOnly = true)
+    public long estimateReservationCount() {
+        return tableStatisticsRepository.estimateRowCount("reservations");
+    }
+
+    /**
+     * Returns the reservations after the cursor in reservation date order; a blank cursor
+     * starts at the first.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ReservationDTO> getReservationsAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Specification<Reservation> seek = cursor == null ? Keyset.first() : Keyset.after("reservationDate", cursor.timeKey(), cursor.id());
+        List<Reservation> reservations = reservationRepository.findBy(seek, query -> query.sortBy(Keyset.sort("reservationDate")).limit(size + 1).all());
+        return KeysetPage.of(reservations, size, ReservationDTO::toReservationDTO,
+                reservation -> KeysetCursor.of(reservation.getReservationDate(), reservation.getId()));
+    }
+
+    @Transactional(readOnly = true)
     public ReservationDTO getReservationById(UUID id) {
         Reservation reservation = verifyReservationExistsById(id);
         return ReservationDTO.toReservationDTO(reservation);
     }
 
+    @Transactional(readOnly = true)
     public Page<ReservationDTO> getReservationsByDate(String reservationDateStr, Pageable pageable) {
         ZonedDateTime reservationDate;
 
@@ -59,6 +107,7 @@ public class ReservationService {
                 .map(ReservationDTO::toReservationDTO);
     }
 
+    @Transactional(readOnly = true)
     public Page<ReservationDTO> getReservations(UUID seatId, UUID passengerId, Pageable pageable) {
         Page<Reservation> reservations;
 
@@ -77,34 +126,109 @@ public class ReservationService {
 
     @Transactional
     public ReservationDTO createReservation(ReservationRequestDTO requestDTO) {
-        Seat seat = seatRepository.findById(requestDTO.seatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Seat not found with id " + requestDTO.seatId()));
-
         Passenger passenger = passengerRepository.findById(requestDTO.passengerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger not found with id " + requestDTO.passengerId()));
 
-        if (!seat.getAvailable()) {
-            throw new IllegalStateException("Seat with id " + requestDTO.seatId() + " is not available.");
+        flightLockManager.lock(seatInventory.getFlightId(requestDTO.seatId()));
+        if (!seatInventory.take(List.of(requestDTO.seatId())).isEmpty()) {
+            throw new SeatNotAvailableException("Seat with id " + requestDTO.seatId() + " is not available.");
         }
 
+        return reserveClaimedSeat(requestDTO.seatId(), passenger);
+    }
+
+    @Transactional
+    public List<ReservationDTO> createReservations(ReservationBatchRequestDTO requestDTO) {
+        List<ReservationRequestDTO> requests = requestDTO.reservations();
+        Set<UUID> seatIds = requests.stream()
+                .map(ReservationRequestDTO::seatId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (seatIds.size() != requests.size()) {
+            throw new IllegalArgumentException("Each seat can only be reserved once per request.");
+        }
+
+        Set<UUID> passengerIds = requests.stream().map(ReservationRequestDTO::passengerId).collect(Collectors.toSet());
+        Map<UUID, Passenger> passengers = passengerRepository.findAllById(passengerIds).stream()
+                .collect(Collectors.toMap(Passenger::getId, Function.identity()));
+        for (UUID passengerId : passengerIds) {
+            if (!passengers.containsKey(passengerId)) {
+                throw new ResourceNotFoundException("Passenger not found with id " + passengerId);
+            }
+        }
+
+        flightLockManager.lock(seatIds.stream().map(seatInventory::getFlightId).collect(Collectors.toSet()));
+        List<UUID> unavailable = seatInventory.take(seatIds);
+        if (!unavailable.isEmpty()) {
+            throw new SeatNotAvailableException("Seats with ids " + unavailable + " are not available.");
+        }
+
+        Map<UUID, Passenger> passengersBySeat = new LinkedHashMap<>();
+        for (ReservationRequestDTO request : requests) {
+            passengersBySeat.put(request.seatId(), passengers.get(request.passengerId()));
+        }
+        return reserveSeats(passengersBySeat);
+    }
+
+    /**
+     * Reserves the seats of one flight that are still available and leaves out the others, so
+     * each booking fails on its own. Returns the reservation of each reserved seat.
+     */
+    @Transactional
+    public Map<UUID, ReservationDTO> reserveAvailableSeats(UUID flightId, Map<UUID, Passenger> passengersBySeat) {
+        flightLockManager.lock(flightId);
+        Map<UUID, Passenger> available = new LinkedHashMap<>(passengersBySeat);
+        seatInventory.take(passengersBySeat.keySet()).forEach(available::remove);
+        if (available.isEmpty()) {
+            return Map.of();
+        }
+        return reserveSeats(available).stream()
+                .collect(Collectors.toMap(reservation -> reservation.seat().id(), Function.identity()));
+    }
+
+    private List<ReservationDTO> reserveSeats(Map<UUID, Passenger> passengersBySeat) {
+        Map<UUID, Seat> seats = seatRepository.findSnapshotsByIdIn(passengersBySeat.keySet()).stream()
+                .collect(Collectors.toMap(Seat::getId, Function.identity()));
+
+        ZonedDateTime reservationDate = ZonedDateTime.now();
+        List<Reservation> reservations = new ArrayList<>(passengersBySeat.size());
+        passengersBySeat.forEach((seatId, passenger) -> {
+            Seat seat = seats.get(seatId);
+            if (seat == null) {
+                throw new ResourceNotFoundException("Seat not found with id " + seatId);
+            }
+            seat.setAvailable(false);
+
+            Reservation reservation = new Reservation(UuidV7.randomUUID(), reservationDate, seat, passenger);
+            reservations.add(reservation);
+        });
+        reservationRepository.saveAll(reservations);
+        ticketIssuanceQueueRepository.enqueueAll(reservations.stream().map(Reservation::getId).toList());
+
+        return reservations.stream().map(ReservationDTO::toReservationDTO).toList();
+    }
+
+    @Transactional
+    public ReservationDTO confirmHeldSeat(UUID seatId, UUID passengerId) {
+        Passenger passenger = passengerRepository.findById(passengerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Passenger not found with id " + passengerId));
+
+        seatRepository.clearHold(seatId);
+        return reserveClaimedSeat(seatId, passenger);
+    }
+
+    private ReservationDTO reserveClaimedSeat(UUID seatId, Passenger passenger) {
+        Seat seat = seatRepository.findSnapshotById(seatId)
+                .orElseThrow(() -> new ResourceNotFoundException("Seat not found with id " + seatId));
+        seat.setAvailable(false);
+
         Reservation reservation = new Reservation(
-                UUID.randomUUID(),
+                UuidV7.randomUUID(),
                 ZonedDateTime.now(),
                 seat,
                 passenger
         );
         Reservation savedReservation = reservationRepository.save(reservation);
-
-        Ticket ticket = new Ticket(
-                UUID.randomUUID(),
-                UUID.randomUUID().toString(),
-                savedReservation,
-                savedReservation.getSeat().getFlight()
-        );
-        ticketRepository.save(ticket);
-
-        seat.setAvailable(false);
-        seatRepository.save(seat);
+        ticketIssuanceQueueRepository.enqueueAll(List.of(savedReservation.getId()));
 
         return ReservationDTO.toReservationDTO(savedReservation);
     }
@@ -113,6 +237,9 @@ public class ReservationService {
     @Transactional
     public ReservationDTO updateReservation(ReservationUpdateDTO updateDTO) {
         Reservation existingReservation = verifyReservationExistsById(updateDTO.id());
+        if (!Objects.equals(existingReservation.getVersion(), updateDTO.version())) {
+            throw new VersionConflictException("Reservation " + updateDTO.id() + " was modified since version " + updateDTO.version() + ".");
+        }
 
         Seat newSeat = seatRepository.findById(updateDTO.seatId())
                 .orElseThrow(() -> new ResourceNotFoundException("Seat not found with id " + updateDTO.seatId()));
@@ -120,6 +247,15 @@ public class ReservationService {
         Passenger newPassenger = passengerRepository.findById(updateDTO.passengerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger not found with id " + updateDTO.passengerId()));
 
+        UUID currentSeatId = existingReservation.getSeat().getId();
+        flightLockManager.lock(Set.copyOf(List.of(existingReservation.getSeat().getFlight().getId(), newSeat.getFlight().getId())));
+        if (!currentSeatId.equals(newSeat.getId())) {
+            if (!seatInventory.take(List.of(newSeat.getId())).isEmpty()) {
+                throw new SeatNotAvailableException("Seat with id " + newSeat.getId() + " is not available.");
+            }
+            seatInventory.releaseAfterCommit(currentSeatId);
+        }
+
         existingReservation.setSeat(newSeat);
         existingReservation.setPassenger(newPassenger);
 
@@ -128,9 +264,13 @@ public class ReservationService {
         return ReservationDTO.toReservationDTO(updatedReservation);
     }
 
+    @Transactional
+    @RetryOnOptimisticLock
     public void deleteReservation(UUID id) {
-        verifyReservationExistsById(id);
+        Reservation reservation = verifyReservationExistsById(id);
+        flightLockManager.lock(reservation.getSeat().getFlight().getId());
         reservationRepository.deleteById(id);
+        seatInventory.releaseAfterCommit(reservation.getSeat().getId());
     }
 
     private Reservation verifyReservationExistsById(UUID id) {
@@ -0,0 +1,183 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.inventory.HierarchicalTimingWheel;
+import com.airline_ticket.api.inventory.SeatInventory;
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldConfirmDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldDTO;
+import com.airline_ticket.api.repository.SeatRepository;
+import com.airline_ticket.api.transaction.AfterCommit;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Temporary seat holds for checkout. A held seat is claimed in the {@link SeatInventory};
+ * expiry is tracked by a timing wheel and expired holds are released once per tick with a
+ * single update.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    private final SeatRepository seatRepository;
+    private final SeatInventory seatInventory;
+    private final ReservationService reservationService;
+    private final HierarchicalTimingWheel<SeatHold> timingWheel;
+    private final Map<UUID, SeatHold> holds = new ConcurrentHashMap<>();
+
+    @Value("${inventory.holds.ttl-minutes:10}")
+    private int defaultTtlMinutes;
+    @Value("${inventory.holds.max-ttl-minutes:30}")
+    private int maxTtlMinutes;
+
+    public SeatHoldService(SeatRepository seatRepository, SeatInventory seatInventory, ReservationService reservationService,
+                           @Value("${inventory.holds.tick-ms:1000}") long tickMillis) {
+        this.seatRepository = seatRepository;
+        this.seatInventory = seatInventory;
+        this.reservationService = reservationService;
+        this.timingWheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    @Transactional
+    public SeatHoldDTO holdSeat(UUID seatId, Integer minutes) {
+        int ttlMinutes = minutes != null ? minutes : defaultTtlMinutes;
+        if (ttlMinutes < 1 || ttlMinutes > maxTtlMinutes) {
+            throw new IllegalArgumentException("Hold duration must be between 1 and " + maxTtlMinutes + " minutes.");
+        }
+
+        if (!seatInventory.take(List.of(seatId)).isEmpty()) {
+            throw new SeatNotAvailableException("Seat with id " + seatId + " is not available.");
+        }
+
+        SeatHold hold = new SeatHold(UUID.randomUUID(), seatId, ZonedDateTime.now().plus(Duration.ofMinutes(ttlMinutes)));
+        seatRepository.holdSeat(seatId, hold.id(), hold.expiresAt());
+        registerAfterCommit(hold);
+
+        return new SeatHoldDTO(hold.id(), seatId, hold.expiresAt());
+    }
+
+    public ReservationDTO confirmHold(UUID seatId, SeatHoldConfirmDTO confirmDTO) {
+        SeatHold hold = takeHold(seatId, confirmDTO.holdId());
+        try {
+            return reservationService.confirmHeldSeat(seatId, confirmDTO.passengerId());
+        } catch (RuntimeException e) {
+            register(hold);
+            throw e;
+        }
+    }
+
+    public void releaseHold(UUID seatId, UUID holdId) {
+        SeatHold hold = takeHold(seatId, holdId);
+        try {
+            seatInventory.releaseHolds(List.of(seatId));
+        } catch (RuntimeException e) {
+            register(hold);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedRateString = "${inventory.holds.tick-ms:1000}")
+    public void expireHolds() {
+        expireHolds(System.currentTimeMillis());
+    }
+
+    void expireHolds(long nowMillis) {
+        List<SeatHold> expired = timingWheel.advance(nowMillis).stream()
+                .filter(hold -> holds.remove(hold.seatId(), hold))
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<UUID> seatIds = expired.stream().map(SeatHold::seatId).toList();
+        try {
+            seatInventory.releaseHolds(seatIds);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release {} expired seat holds, retrying on next tick", seatIds.size(), e);
+            expired.forEach(hold -> register(hold, nowMillis));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        for (Seat seat : seatRepository.findByHeldUntilAfter(ZonedDateTime.now())) {
+            if (seat.getHoldId() == null) {
+                continue;
+            }
+            seatInventory.claim(seat.getId());
+            register(new SeatHold(seat.getHoldId(), seat.getId(), seat.getHeldUntil()));
+        }
+    }
+
+    private SeatHold takeHold(UUID seatId, UUID holdId) {
+        SeatHold hold = holds.get(seatId);
+        if (hold == null || !hold.id().equals(holdId) || !holds.remove(seatId, hold)) {
+            throw new ResourceNotFoundException("Hold not found with id " + holdId + " for seat " + seatId);
+        }
+        timingWheel.cancel(hold.timeout());
+        return hold;
+    }
+
+    private void registerAfterCommit(SeatHold hold) {
+        AfterCommit.run(() -> register(hold));
+    }
+
+    private void register(SeatHold hold) {
+        register(hold, hold.expiresAt().toInstant().toEpochMilli());
+    }
+
+    private void register(SeatHold hold, long deadlineMillis) {
+        hold.timeout(timingWheel.schedule(hold, deadlineMillis));
+        holds.put(hold.seatId(), hold);
+    }
+
+    private static final class SeatHold {
+        private final UUID id;
+        private final UUID seatId;
+        private final ZonedDateTime expiresAt;
+        private volatile HierarchicalTimingWheel.Timeout<SeatHold> timeout;
+
+        private SeatHold(UUID id, UUID seatId, ZonedDateTime expiresAt) {
+            this.id = id;
+            this.seatId = seatId;
+            this.expiresAt = expiresAt;
+        }
+
+        UUID id() {
+            return id;
+        }
+
+        UUID seatId() {
+            return seatId;
+        }
+
+        ZonedDateTime expiresAt() {
+            return expiresAt;
+        }
+
+        HierarchicalTimingWheel.Timeout<SeatHold> timeout() {
+            return timeout;
+        }
+
+        void timeout(HierarchicalTimingWheel.Timeout<SeatHold> timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
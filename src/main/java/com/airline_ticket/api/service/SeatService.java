@@ -1,18 +1,40 @@
 package com.airline_ticket.api.service;
 
+import com.airline_ticket.api.cache.FlightCache;
+import com.airline_ticket.api.exceptions.ResourceAlreadyExistsException;
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.inventory.SeatInventory;
 import com.airline_ticket.api.model.Flight;
 import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.page.KeysetCursor;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapRequestDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatRequestDTO;
 import com.airline_ticket.api.model.dtos.seat.SeatUpdateDTO;
 import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.Keyset;
 import com.airline_ticket.api.repository.SeatRepository;
-import jakarta.transaction.Transactional;
+import com.airline_ticket.api.repository.TableStatisticsRepository;
+import com.airline_ticket.api.retry.RetryOnOptimisticLock;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -20,27 +42,77 @@ public class SeatService {
 
     private final SeatRepository seatRepository;
     private final FlightRepository flightRepository;
+    private final SeatInventory seatInventory;
+    private final RouteIndex routeIndex;
+    private final FlightCache flightCache;
+    private final TableStatisticsRepository tableStatisticsRepository;
 
-    public SeatService(SeatRepository seatRepository, FlightRepository flightRepository) {
+    public SeatService(SeatRepository seatRepository, FlightRepository flightRepository, SeatInventory seatInventory, RouteIndex routeIndex, FlightCache flightCache, TableStatisticsRepository tableStatisticsRepository) {
         this.seatRepository = seatRepository;
         this.flightRepository = flightRepository;
+        this.seatInventory = seatInventory;
+        this.routeIndex = routeIndex;
+        this.flightCache = flightCache;
+        this.tableStatisticsRepository = tableStatisticsRepository;
     }
 
-    public Page<SeatDTO> getAllSeats(Pageable pageable) {
-        Page<Seat> seatPage = seatRepository.findAll(pageable);
-        return seatPage.map(SeatDTO::seatToDTO);
+    @Transactional(readOnly = true)
+    public Slice<SeatDTO> getAllSeats(Pageable pageable) {
+        Slice<Seat> seatSlice = seatRepository.findAllBy(pageable);
+        return seatSlice.map(SeatDTO::seatToDTO);
     }
 
+    @Transactional(readOnly = true)
+    public long estimateSeatCount() {
+        return tableStatisticsRepository.estimateRowCount("seats");
+    }
+
+    /**
+     * Returns the seats after the cursor in id order; a blank cursor starts at the first.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<SeatDTO> getSeatsAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Specification<Seat> seek = cursor == null ? Keyset.first() : Keyset.afterId(cursor.id());
+        List<Seat> seats = seatRepository.findBy(seek, query -> query.sortBy(Keyset.sortById()).limit(size + 1).all());
+        return KeysetPage.of(seats, size, SeatDTO::seatToDTO, seat -> KeysetCursor.of(seat.getId()));
+    }
+
+    @Transactional(readOnly = true)
     public SeatDTO getSeatById(UUID id) {
         Seat seat = verifySeatExistsById(id);
         return SeatDTO.seatToDTO(seat);
     }
 
     public Page<SeatDTO> getAvailableSeatsByFlight(UUID flightId, Boolean isAvailable, Pageable pageable) {
-         Page<Seat> seatPage = seatRepository.findByFlightIdAndIsAvailable(flightId, isAvailable, pageable);
-         return seatPage.map(SeatDTO::seatToDTO);
+        int total = seatInventory.countSeats(flightId, isAvailable);
+        List<SeatAvailabilityDTO> seats = seatInventory.getSeats(flightId, isAvailable, pageable.getOffset(), pageable.getPageSize());
+        if (seats.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        FlightDTO flightDTO = flightCache.getFlight(flightId, id -> FlightDTO.flightToDTO(flightRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id " + id))));
+
+        List<SeatDTO> content = seats.stream()
+                .map(seat -> new SeatDTO(seat.id(), seat.seatNumber(), seat.isAvailable(), flightDTO, null))
+                .toList();
+        return new PageImpl<>(content, pageable, total);
     }
 
+    /**
+     * Returns the ETag of the current version of the seats of a flight without reading them,
+     * or {@code null} while the flight is not cached.
+     */
+    public String getSeatsETag(UUID flightId) {
+        return flightCache.eTag(flightId);
+    }
+
+    public SeatMapDTO getSeatMap(UUID flightId) {
+        return SeatMapDTO.fromSeats(flightId, seatInventory.getSeats(flightId));
+    }
+
+    @Transactional(readOnly = true)
     public Page<SeatDTO> getSeats(String seatNumber, UUID flightId, Pageable pageable) {
         Page<Seat> seats;
 
@@ -61,6 +133,7 @@ public class SeatService {
     public SeatDTO createSeat(SeatRequestDTO requestDTO) {
         Flight flight = flightRepository.findById(requestDTO.flightId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id " + requestDTO.flightId()));
+        seatInventory.refresh(flight.getId());
 
         Seat seat = new Seat(
                 requestDTO.seatNumber(),
@@ -69,12 +142,67 @@ public class SeatService {
         );
 
         Seat savedSeat = seatRepository.save(seat);
+        if (savedSeat.getAvailable()) {
+            addSeatsAvailable(flight.getId(), 1);
+        }
         return SeatDTO.seatToDTO(savedSeat);
     }
 
+    @Transactional
+    public List<SeatAvailabilityDTO> createSeatMap(UUID flightId, SeatMapRequestDTO requestDTO) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id " + flightId));
+        seatInventory.refresh(flightId);
+
+        if (new HashSet<>(requestDTO.columns()).size() != requestDTO.columns().size()) {
+            throw new IllegalArgumentException("Columns " + requestDTO.columns() + " contain duplicated letters.");
+        }
+
+        Set<String> blockedSeats = requestDTO.blockedSeats() != null ? new HashSet<>(requestDTO.blockedSeats()) : new HashSet<>();
+        List<Seat> seats = new ArrayList<>(requestDTO.rows() * requestDTO.columns().size());
+        for (int row = 1; row <= requestDTO.rows(); row++) {
+            for (String column : requestDTO.columns()) {
+                String seatNumber = row + column;
+                seats.add(new Seat(seatNumber, !blockedSeats.remove(seatNumber), flight));
+            }
+        }
+        if (!blockedSeats.isEmpty()) {
+            throw new IllegalArgumentException("Blocked seats " + blockedSeats + " are not part of the layout.");
+        }
+
+        Set<String> existingSeatNumbers = seatRepository.findSeatNumbersByFlightId(flightId);
+        List<String> duplicatedSeatNumbers = seats.stream()
+                .map(Seat::getSeatNumber)
+                .filter(existingSeatNumbers::contains)
+                .toList();
+        if (!duplicatedSeatNumbers.isEmpty()) {
+            throw new ResourceAlreadyExistsException("Seats " + duplicatedSeatNumbers + " already exist for flight " + flightId + ".");
+        }
+
+        seatRepository.insertAll(seats);
+        addSeatsAvailable(flightId, (int) seats.stream().filter(Seat::getAvailable).count());
+        return seats.stream()
+                .map(seat -> new SeatAvailabilityDTO(seat.getId(), seat.getSeatNumber(), seat.getAvailable()))
+                .toList();
+    }
+
+    /**
+     * Applies the client's changes to the seat when it still has the version they were based
+     * on. Pending availability changes of the flight are written first, so a seat booked since
+     * the client read it fails the check instead of being made available again.
+     */
     @Transactional
     public SeatDTO updateSeat(SeatUpdateDTO updateDTO) {
+        UUID currentFlightId = seatInventory.getFlightId(updateDTO.id());
+        seatInventory.refresh(currentFlightId);
+        if (!currentFlightId.equals(updateDTO.flightId())) {
+            seatInventory.refresh(updateDTO.flightId());
+        }
         Seat existingSeat = verifySeatExistsById(updateDTO.id());
+        if (!Objects.equals(existingSeat.getVersion(), updateDTO.version())) {
+            throw new VersionConflictException("Seat " + updateDTO.id() + " was modified since version " + updateDTO.version() + ".");
+        }
+        boolean wasAvailable = existingSeat.getAvailable();
 
         Flight flight = flightRepository.findById(updateDTO.flightId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id " + updateDTO.flightId()));
@@ -84,13 +212,33 @@ public class SeatService {
         existingSeat.setFlight(flight);
 
         Seat updatedSeat = seatRepository.save(existingSeat);
+        if (!flight.getId().equals(currentFlightId) || wasAvailable != updatedSeat.getAvailable()) {
+            if (wasAvailable) {
+                addSeatsAvailable(currentFlightId, -1);
+            }
+            if (updatedSeat.getAvailable()) {
+                addSeatsAvailable(flight.getId(), 1);
+            }
+        }
         return SeatDTO.seatToDTO(updatedSeat);
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     public void deleteSeat(UUID id) {
-        verifySeatExistsById(id);
+        UUID flightId = seatInventory.getFlightId(id);
+        seatInventory.refresh(flightId);
+        Seat seat = verifySeatExistsById(id);
         seatRepository.deleteById(id);
+        if (seat.getAvailable()) {
+            addSeatsAvailable(flightId, -1);
+        }
+    }
+
+    private void addSeatsAvailable(UUID flightId, int delta) {
+        flightRepository.addSeatsAvailable(flightId, delta);
+        routeIndex.addSeatsAvailableAfterCommit(flightId, delta);
+        flightCache.invalidateSeatsAvailable(flightId);
     }
 
     private Seat verifySeatExistsById(UUID id) {
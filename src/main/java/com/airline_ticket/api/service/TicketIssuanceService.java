@@ -0,0 +1,84 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.Ticket;
+import com.airline_ticket.api.model.UuidV7;
+import com.airline_ticket.api.repository.ReservationRepository;
+import com.airline_ticket.api.repository.TicketIssuanceQueueRepository;
+import com.airline_ticket.api.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues the tickets of new reservations off the booking path. Bookings only enqueue the
+ * reservation id; this service drains the queue in batches, inserting the tickets and removing
+ * the queue rows in one transaction, so a crash at any point leaves the reservation queued.
+ */
+@Service
+public class TicketIssuanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketIssuanceService.class);
+
+    private final TicketIssuanceQueueRepository ticketIssuanceQueueRepository;
+    private final ReservationRepository reservationRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketNumberAllocator ticketNumberAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TicketIssuanceService(TicketIssuanceQueueRepository ticketIssuanceQueueRepository,
+                                 ReservationRepository reservationRepository,
+                                 TicketRepository ticketRepository,
+                                 TicketNumberAllocator ticketNumberAllocator,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${tickets.issuance.batch-size:200}") int batchSize) {
+        this.ticketIssuanceQueueRepository = ticketIssuanceQueueRepository;
+        this.reservationRepository = reservationRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketNumberAllocator = ticketNumberAllocator;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.issuance.interval-ms:500}")
+    public void issuePendingTickets() {
+        try {
+            Integer drained;
+            do {
+                drained = transactionTemplate.execute(status -> issueBatch());
+            } while (drained != null && drained == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Ticket issuance failed, queued reservations will be retried", e);
+        }
+    }
+
+    /**
+     * Issues the tickets of one batch of queued reservations and returns the number of queue
+     * rows drained. Reservations that already have a ticket are only dequeued.
+     */
+    int issueBatch() {
+        List<UUID> reservationIds = ticketIssuanceQueueRepository.lockBatch(batchSize);
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Ticket> tickets = reservationRepository.findForTicketIssuanceByIdIn(reservationIds).stream()
+                .filter(reservation -> reservation.getTicket() == null)
+                .map(this::ticketOf)
+                .toList();
+        ticketRepository.saveAll(tickets);
+        ticketIssuanceQueueRepository.deleteAll(reservationIds);
+        return reservationIds.size();
+    }
+
+    private Ticket ticketOf(Reservation reservation) {
+        return new Ticket(UuidV7.randomUUID(), ticketNumberAllocator.next(), reservation, reservation.getSeat().getFlight());
+    }
+}
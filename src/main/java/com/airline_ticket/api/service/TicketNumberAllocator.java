@@ -0,0 +1,77 @@
+package com.airline_ticket.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out 13-digit ticket numbers: a 3-digit airline prefix, a 9-digit serial and a check
+ * digit, the serial modulo 7. Serials are reserved from {@code ticket_number_seq} a block at a
+ * time and then handed out from memory without locking, so numbers are unique across nodes and
+ * mostly ascending within one. Numbers chosen by clients must not have this shape, see
+ * {@link #isAllocatable(String)}.
+ */
+@Component
+public class TicketNumberAllocator {
+
+    static final int BLOCK_SIZE = 1000;
+    private static final long MAX_SERIAL = 999_999_999L;
+
+    private record Block(AtomicLong next, long end) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String airlinePrefix;
+    private final Pattern allocatable;
+    private volatile Block block = new Block(new AtomicLong(), 0);
+
+    public TicketNumberAllocator(JdbcTemplate jdbcTemplate, @Value("${tickets.numbers.airline-prefix:957}") String airlinePrefix) {
+        if (!airlinePrefix.matches("\\d{3}")) {
+            throw new IllegalArgumentException("The airline prefix of ticket numbers must have 3 digits.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.airlinePrefix = airlinePrefix;
+        this.allocatable = Pattern.compile(airlinePrefix + "\\d{10}");
+    }
+
+    public String next() {
+        while (true) {
+            Block current = block;
+            long serial = current.next().getAndIncrement();
+            if (serial < current.end()) {
+                return format(serial);
+            }
+            refill(current);
+        }
+    }
+
+    /**
+     * Returns whether the number could be handed out by {@link #next()}, now or later.
+     */
+    public boolean isAllocatable(String ticketNumber) {
+        return allocatable.matcher(ticketNumber).matches();
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('ticket_number_seq')", Long.class);
+        if (start == null || start + BLOCK_SIZE - 1 > MAX_SERIAL) {
+            throw new IllegalStateException("Ticket number serials are exhausted.");
+        }
+        block = new Block(new AtomicLong(start), start + BLOCK_SIZE);
+    }
+
+    String format(long serial) {
+        return airlinePrefix + String.format("%09d", serial) + checkDigit(serial);
+    }
+
+    static long checkDigit(long serial) {
+        return serial % 7;
+    }
+
+}
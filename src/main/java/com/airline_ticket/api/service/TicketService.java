@@ -1,21 +1,28 @@
 package com.airline_ticket.api.service;
 
+import com.airline_ticket.api.exceptions.ResourceAlreadyExistsException;
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
 import com.airline_ticket.api.model.Flight;
 import com.airline_ticket.api.model.Reservation;
 import com.airline_ticket.api.model.Ticket;
+import com.airline_ticket.api.model.UuidV7;
+import com.airline_ticket.api.model.dtos.page.KeysetCursor;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
 import com.airline_ticket.api.model.dtos.ticket.TicketDTO;
 import com.airline_ticket.api.model.dtos.ticket.TicketRequestDTO;
 import com.airline_ticket.api.model.dtos.ticket.TicketUpdateDTO;
 import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.Keyset;
 import com.airline_ticket.api.repository.ReservationRepository;
+import com.airline_ticket.api.repository.TableStatisticsRepository;
 import com.airline_ticket.api.repository.TicketRepository;
-import jakarta.transaction.Transactional;
-import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -24,23 +31,46 @@ public class TicketService {
     private final TicketRepository ticketRepository;
     private final ReservationRepository reservationRepository;
     private final FlightRepository flightRepository;
+    private final TicketNumberAllocator ticketNumberAllocator;
+    private final TableStatisticsRepository tableStatisticsRepository;
 
-    public TicketService(TicketRepository ticketRepository, ReservationRepository reservationRepository, FlightRepository flightRepository) {
+    public TicketService(TicketRepository ticketRepository, ReservationRepository reservationRepository, FlightRepository flightRepository, TicketNumberAllocator ticketNumberAllocator, TableStatisticsRepository tableStatisticsRepository) {
         this.ticketRepository = ticketRepository;
         this.reservationRepository = reservationRepository;
         this.flightRepository = flightRepository;
+        this.ticketNumberAllocator = ticketNumberAllocator;
+        this.tableStatisticsRepository = tableStatisticsRepository;
     }
 
-    public Page<TicketDTO> getAllTickets(Pageable pageable) {
-        Page<Ticket> ticketPage = ticketRepository.findAll(pageable);
-        return ticketPage.map(TicketDTO::ticketToDTO);
+    @Transactional(readOnly = true)
+    public Slice<TicketDTO> getAllTickets(Pageable pageable) {
+        Slice<Ticket> ticketSlice = ticketRepository.findAllBy(pageable);
+        return ticketSlice.map(TicketDTO::ticketToDTO);
     }
 
+    @Transactional(readOnly = true)
+    public long estimateTicketCount() {
+        return tableStatisticsRepository.estimateRowCount("tickets");
+    }
+
+    /**
+     * Returns the tickets after the cursor in id order; a blank cursor starts at the first.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TicketDTO> getTicketsAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Specification<Ticket> seek = cursor == null ? Keyset.first() : Keyset.afterId(cursor.id());
+        List<Ticket> tickets = ticketRepository.findBy(seek, query -> query.sortBy(Keyset.sortById()).limit(size + 1).all());
+        return KeysetPage.of(tickets, size, TicketDTO::ticketToDTO, ticket -> KeysetCursor.of(ticket.getId()));
+    }
+
+    @Transactional(readOnly = true)
     public TicketDTO getTicketById(UUID id) {
         Ticket ticket = verifyTicketExistsById(id);
         return TicketDTO.ticketToDTO(ticket);
     }
 
+    @Transactional(readOnly = true)
     public TicketDTO getTicketByTicketNumberOrReservationId(String ticketNumber, UUID reservationId) {
         if (ticketNumber != null) {
             Ticket ticket = ticketRepository.findByTicketNumber(ticketNumber)
@@ -59,8 +89,11 @@ public class TicketService {
 
     @Transactional
     public TicketDTO createTicket(TicketRequestDTO requestDTO) {
-        if (ticketRepository.findByTicketNumber(requestDTO.ticketNumber()).isPresent()) {
-            throw new DataIntegrityViolationException("Ticket number already exists.");
+        String ticketNumber = requestDTO.ticketNumber();
+        if (ticketNumber == null || ticketNumber.isBlank()) {
+            ticketNumber = ticketNumberAllocator.next();
+        } else {
+            verifyTicketNumberAvailable(ticketNumber);
         }
 
         Reservation reservation = reservationRepository.findById(requestDTO.reservationId())
@@ -69,8 +102,8 @@ public class TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found with id " + requestDTO.flightId()));
 
         Ticket ticket = new Ticket(
-                UUID.randomUUID(),
-                requestDTO.ticketNumber(),
+                UuidV7.randomUUID(),
+                ticketNumber,
                 reservation,
                 flight
         );
@@ -85,6 +118,9 @@ public class TicketService {
     @Transactional
     public TicketDTO updateTicket(TicketUpdateDTO updateDTO) {
         Ticket existingTicket = verifyTicketExistsById(updateDTO.id());
+        if (!updateDTO.ticketNumber().equals(existingTicket.getTicketNumber())) {
+            verifyTicketNumberAvailable(updateDTO.ticketNumber());
+        }
 
         existingTicket.setTicketNumber(updateDTO.ticketNumber());
 
@@ -105,6 +141,19 @@ public class TicketService {
         ticketRepository.deleteById(id);
     }
 
+    /**
+     * Checks a ticket number chosen by the client. Numbers the allocator may hand out are
+     * refused, so they cannot collide with a generated number later.
+     */
+    private void verifyTicketNumberAvailable(String ticketNumber) {
+        if (ticketNumberAllocator.isAllocatable(ticketNumber)) {
+            throw new IllegalArgumentException("Ticket number " + ticketNumber + " is reserved for generated ticket numbers.");
+        }
+        if (ticketRepository.findByTicketNumber(ticketNumber).isPresent()) {
+            throw new ResourceAlreadyExistsException("Ticket number already exists.");
+        }
+    }
+
     private Ticket verifyTicketExistsById(UUID id) {
         return ticketRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id " + id));
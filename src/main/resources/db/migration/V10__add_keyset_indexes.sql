@@ -0,0 +1,8 @@
+-- Keyset pagination seeks past the last row of the previous page with
+-- (key >= k AND (key > k OR id > i)) ORDER BY key, id, so the ordering indexes carry the id
+-- as a tie-breaker. They replace the single-column indexes, which they also cover.
+DROP INDEX idx_flights_departure_time;
+CREATE INDEX idx_flights_departure_time_id ON flights (departure_time, id);
+
+DROP INDEX idx_reservations_reservation_date;
+CREATE INDEX idx_reservations_reservation_date_id ON reservations (reservation_date, id);
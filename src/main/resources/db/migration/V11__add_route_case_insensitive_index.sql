@@ -0,0 +1,4 @@
+-- Route searches compare upper(origin) and upper(destination), like the in-memory route index
+-- that ignores case, so the route index is rebuilt on those expressions.
+DROP INDEX idx_flights_route_departure_time;
+CREATE INDEX idx_flights_route_departure_time ON flights (upper(origin), upper(destination), departure_time);
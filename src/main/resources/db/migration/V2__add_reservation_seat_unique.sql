@@ -0,0 +1 @@
+CREATE UNIQUE INDEX uk_reservations_seat_id ON reservations (seat_id);
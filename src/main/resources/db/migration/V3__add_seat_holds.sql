@@ -0,0 +1,2 @@
+ALTER TABLE seats ADD COLUMN hold_id UUID;
+ALTER TABLE seats ADD COLUMN held_until TIMESTAMPTZ;
@@ -0,0 +1,5 @@
+ALTER TABLE flights ADD COLUMN seats_available INTEGER NOT NULL DEFAULT 0;
+
+UPDATE flights f SET seats_available = (
+    SELECT COUNT(*) FROM seats s WHERE s.flight_id = f.id AND s.is_available
+);
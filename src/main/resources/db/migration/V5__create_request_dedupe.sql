@@ -0,0 +1,11 @@
+CREATE TABLE request_dedupe (
+    principal VARCHAR(255) NOT NULL,
+    endpoint VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (principal, endpoint, idempotency_key)
+);
+
+CREATE INDEX idx_request_dedupe_created_at ON request_dedupe (created_at);
@@ -0,0 +1,9 @@
+-- Reservations waiting for their ticket. The booking transaction inserts the row before
+-- Hibernate flushes the reservation, so the foreign key is only checked at commit.
+CREATE TABLE ticket_issuance_queue (
+    reservation_id UUID PRIMARY KEY,
+    enqueued_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    FOREIGN KEY (reservation_id) REFERENCES reservations(id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED
+);
+
+CREATE INDEX idx_ticket_issuance_queue_enqueued_at ON ticket_issuance_queue (enqueued_at);
@@ -0,0 +1,3 @@
+-- Each value reserves a block of 1000 ticket serials; keep INCREMENT BY in sync with
+-- TicketNumberAllocator.BLOCK_SIZE.
+CREATE SEQUENCE ticket_number_seq START WITH 1000 INCREMENT BY 1000;
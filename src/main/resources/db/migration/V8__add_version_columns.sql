@@ -0,0 +1,3 @@
+ALTER TABLE flights ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE seats ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE reservations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,29 @@
+-- Indexes backing the repository finders and the foreign key lookups of cascading deletes.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Flights: departure and arrival windows, price, exact route and the case-insensitive
+-- "containing" searches, which compare upper(column) LIKE upper('%text%').
+CREATE INDEX idx_flights_departure_time ON flights (departure_time);
+CREATE INDEX idx_flights_arrival_time ON flights (arrival_time);
+CREATE INDEX idx_flights_price ON flights (price);
+CREATE INDEX idx_flights_route_departure_time ON flights (origin, destination, departure_time);
+CREATE INDEX idx_flights_airline_trgm ON flights USING gin (upper(airline) gin_trgm_ops);
+CREATE INDEX idx_flights_origin_trgm ON flights USING gin (upper(origin) gin_trgm_ops);
+CREATE INDEX idx_flights_destination_trgm ON flights USING gin (upper(destination) gin_trgm_ops);
+
+-- Seats: the unique (seat_number, flight_id) constraint only serves lookups by seat number.
+CREATE INDEX idx_seats_flight_id ON seats (flight_id);
+CREATE INDEX idx_seats_flight_id_available ON seats (flight_id) WHERE is_available;
+CREATE INDEX idx_seats_held_until ON seats (held_until) WHERE held_until IS NOT NULL;
+
+-- Reservations: seat_id is already covered by uk_reservations_seat_id.
+CREATE INDEX idx_reservations_passenger_id ON reservations (passenger_id);
+CREATE INDEX idx_reservations_reservation_date ON reservations (reservation_date);
+
+-- Tickets
+CREATE INDEX idx_tickets_reservation_id ON tickets (reservation_id);
+CREATE INDEX idx_tickets_flight_id ON tickets (flight_id);
+
+-- Passengers and employees: findByNameContaining is a case-sensitive LIKE '%text%'.
+CREATE INDEX idx_passengers_name_trgm ON passengers USING gin (name gin_trgm_ops);
+CREATE INDEX idx_employees_name_trgm ON employees USING gin (name gin_trgm_ops);
@@ -0,0 +1,139 @@
+package com.airline_ticket.api.benchmark;
+
+import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.Passenger;
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.Ticket;
+import com.airline_ticket.api.model.dtos.reservation.ReservationBatchRequestDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.PassengerRepository;
+import com.airline_ticket.api.repository.ReservationRepository;
+import com.airline_ticket.api.repository.SeatRepository;
+import com.airline_ticket.api.repository.TicketRepository;
+import com.airline_ticket.api.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements needed to book a group of seats, comparing the
+ * previous persistence path (merge of assigned ids, one statement per row)
+ * with the batched path used by {@link ReservationService#createReservations},
+ * which must stay within two statements per booking.
+ * Requires a PostgreSQL database, so it only runs when DATABASE_URL is set.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+public class ReservationBatchingBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(ReservationBatchingBenchmarkTest.class);
+    private static final int BOOKINGS = 40;
+    private static final double MAX_BATCHED_STATEMENTS_PER_BOOKING = 2;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private FlightRepository flightRepository;
+    @Autowired
+    private SeatRepository seatRepository;
+    @Autowired
+    private PassengerRepository passengerRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Flight flight;
+    private Passenger passenger;
+    private List<Seat> seats;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        flight = flightRepository.save(new Flight(UUID.randomUUID(), "Benchmark Air", "BM" + suffix, "GRU", "LIS",
+                ZonedDateTime.now().plusDays(30), ZonedDateTime.now().plusDays(30).plusHours(10), 500.0));
+        passenger = passengerRepository.save(new Passenger(UUID.randomUUID(), "Benchmark", suffix + "@benchmark.com",
+                "password", suffix));
+
+        seats = new ArrayList<>();
+        for (int i = 1; i <= BOOKINGS * 2; i++) {
+            seats.add(new Seat(i + "A", true, flight));
+        }
+        seatRepository.saveAll(seats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<UUID> seatIds = seats.stream().map(Seat::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Queued rows go first, so this transaction takes its locks in the same order as
+            // a ticket issuance run that is still draining them.
+            entityManager.createNativeQuery("DELETE FROM ticket_issuance_queue q USING reservations r " +
+                            "WHERE q.reservation_id = r.id AND r.seat_id IN (:seatIds)")
+                    .setParameter("seatIds", seatIds).executeUpdate();
+            entityManager.createQuery("DELETE FROM Ticket t WHERE t.flight.id = :flightId")
+                    .setParameter("flightId", flight.getId()).executeUpdate();
+            entityManager.createQuery("DELETE FROM Reservation r WHERE r.seat.id IN :seatIds")
+                    .setParameter("seatIds", seatIds).executeUpdate();
+        });
+        seatRepository.deleteAllById(seatIds);
+        flightRepository.deleteById(flight.getId());
+        passengerRepository.deleteById(passenger.getId());
+    }
+
+    @Test
+    @DisplayName("Should need at most two statements per booking with batched inserts")
+    void createReservations_UsesAtMostTwoStatementsPerBooking_WhenBatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            for (Seat detached : seats.subList(0, BOOKINGS)) {
+                Seat seat = entityManager.find(Seat.class, detached.getId());
+                seat.setAvailable(false);
+                Reservation reservation = entityManager.merge(new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat, passenger));
+                entityManager.merge(new Ticket(UUID.randomUUID(), UUID.randomUUID().toString(), reservation, flight));
+                entityManager.flush();
+            }
+        });
+        double rowByRow = (double) statistics.getPrepareStatementCount() / BOOKINGS;
+
+        statistics.clear();
+        List<ReservationRequestDTO> requests = seats.subList(BOOKINGS, BOOKINGS * 2).stream()
+                .map(seat -> new ReservationRequestDTO(seat.getId(), passenger.getId()))
+                .toList();
+        reservationService.createReservations(new ReservationBatchRequestDTO(requests));
+        double batched = (double) statistics.getPrepareStatementCount() / BOOKINGS;
+
+        log.info("Statements per booking: row-by-row {}, batched {}", rowByRow, batched);
+        assertTrue(batched <= MAX_BATCHED_STATEMENTS_PER_BOOKING,
+                "Expected at most " + MAX_BATCHED_STATEMENTS_PER_BOOKING + " statements per booking, got " + batched);
+    }
+}
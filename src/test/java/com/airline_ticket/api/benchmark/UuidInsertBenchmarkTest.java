@@ -0,0 +1,80 @@
+package com.airline_ticket.api.benchmark;
+
+import com.airline_ticket.api.model.UuidV7;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts the same number of rows keyed by random (v4) and time-ordered (v7) UUIDs and
+ * compares insert throughput and primary key index size. Requires a PostgreSQL database,
+ * so it only runs when DATABASE_URL is set, and is left out of the default build: run it with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+public class UuidInsertBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(UuidInsertBenchmarkTest.class);
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE uuid_bench_v4 (id UUID PRIMARY KEY, created_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+        jdbcTemplate.execute("CREATE TABLE uuid_bench_v7 (id UUID PRIMARY KEY, created_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_bench_v4");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_bench_v7");
+    }
+
+    @Test
+    @DisplayName("Should keep a smaller primary key index with UUIDv7 keys than with random UUIDv4 keys")
+    void insert_KeepsSmallerIndex_WithTimeOrderedIds() {
+        double v4RowsPerSecond = insert("uuid_bench_v4", UUID::randomUUID);
+        double v7RowsPerSecond = insert("uuid_bench_v7", UuidV7::randomUUID);
+        long v4IndexBytes = indexSize("uuid_bench_v4_pkey");
+        long v7IndexBytes = indexSize("uuid_bench_v7_pkey");
+
+        log.info("Rows per second: v4 {}, v7 {}", Math.round(v4RowsPerSecond), Math.round(v7RowsPerSecond));
+        log.info("Primary key index size: v4 {} kB, v7 {} kB", v4IndexBytes / 1024, v7IndexBytes / 1024);
+        assertTrue(v7IndexBytes < v4IndexBytes);
+    }
+
+    private double insert(String table, Supplier<UUID> ids) {
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < ROWS; inserted += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Object[]{ids.get()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id) VALUES (?)", batch);
+        }
+        return ROWS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private long indexSize(String index) {
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, index);
+    }
+}
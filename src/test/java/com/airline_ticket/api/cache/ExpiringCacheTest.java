@@ -0,0 +1,132 @@
+package com.airline_ticket.api.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ExpiringCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ExpiringCache<>("test", 2, Duration.ofSeconds(10), meterRegistry, now::get);
+    }
+
+    @Test
+    @DisplayName("Should load a value once and count hits and misses")
+    void get_LoadsOnce_AndCountsHitsAndMisses() {
+        assertEquals("A", cache.get("a", this::load));
+        assertEquals("A", cache.get("a", this::load));
+        assertEquals("A", cache.get("a", this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tags("cache", "test", "result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "test", "result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tags("cache", "test").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently read entry when full")
+    void get_EvictsLeastRecentlyRead_WhenFull() {
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(2.0, meterRegistry.get("cache.evictions").tags("cache", "test").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reload an entry once its TTL has passed")
+    void get_Reloads_WhenExpired() {
+        cache.get("a", this::load);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        cache.get("a", this::load);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        cache.get("a", this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.evictions").tags("cache", "test").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not store a value whose load raced an invalidation")
+    void get_DoesNotStore_WhenInvalidatedDuringLoad() {
+        String value = cache.get("a", key -> {
+            cache.invalidate(key);
+            return load(key);
+        });
+
+        assertEquals("A", value);
+        assertEquals(0, cache.size());
+        cache.get("a", this::load);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should store a value whose load raced an invalidation of another key")
+    void get_Stores_WhenOtherKeyInvalidatedDuringLoad() {
+        cache.get("a", key -> cache.get("b", nested -> {
+            cache.invalidate("a");
+            return load(nested);
+        }));
+
+        assertNull(cache.peek("a"));
+        assertEquals("B", cache.peek("b"));
+    }
+
+    @Test
+    @DisplayName("Should not store a value whose load raced an invalidation of the whole cache")
+    void get_DoesNotStore_WhenCacheInvalidatedDuringLoad() {
+        cache.get("a", key -> {
+            cache.invalidateAll();
+            return load(key);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not cache anything when the loader throws")
+    void get_CachesNothing_WhenLoaderThrows() {
+        assertThrows(IllegalStateException.class, () -> cache.get("a", key -> {
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should return a cached value without loading it, and nothing once it expired")
+    void peek_ReturnsCachedValue_WithoutLoading() {
+        assertNull(cache.peek("a"));
+        cache.get("a", this::load);
+
+        assertEquals("A", cache.peek("a"));
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertNull(cache.peek("a"));
+        assertEquals(1, loads.get());
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key.toUpperCase();
+    }
+}
@@ -0,0 +1,90 @@
+package com.airline_ticket.api.cache;
+
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_DTO_1;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightCacheTest {
+
+    private final FlightCache flightCache = new FlightCache(new SimpleMeterRegistry(), 100, 60, 100, 15);
+
+    @Test
+    @DisplayName("Should change the ETag of a flight with every change recorded for it, and only for it")
+    void eTag_Changes_WhenFlightOrSeatsChange() {
+        UUID flightId = FLIGHT_DTO_1.id();
+        UUID otherFlightId = UUID.randomUUID();
+        flightCache.getFlight(flightId, id -> FLIGHT_DTO_1);
+        flightCache.getFlight(otherFlightId, id -> FLIGHT_DTO_1);
+        String initial = flightCache.eTag(flightId);
+        String other = flightCache.eTag(otherFlightId);
+
+        flightCache.recordChange(flightId);
+        assertNull(flightCache.eTag(flightId));
+        flightCache.getFlight(flightId, id -> FLIGHT_DTO_1);
+        String afterSeatChange = flightCache.eTag(flightId);
+        flightCache.invalidateSeatsAvailable(flightId);
+        flightCache.getFlight(flightId, id -> FLIGHT_DTO_1);
+        String afterCounterChange = flightCache.eTag(flightId);
+        flightCache.invalidateFlight(flightId, "GA900");
+        flightCache.getFlight(flightId, id -> FLIGHT_DTO_1);
+
+        assertNotEquals(initial, afterSeatChange);
+        assertNotEquals(afterSeatChange, afterCounterChange);
+        assertNotEquals(afterCounterChange, flightCache.eTag(flightId));
+        assertEquals(other, flightCache.eTag(otherFlightId));
+        assertTrue(initial.startsWith("\"") && initial.endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Should not match an ETag issued by another instance")
+    void eTag_Differs_BetweenInstances() {
+        FlightCache otherInstance = new FlightCache(new SimpleMeterRegistry(), 100, 60, 100, 15);
+        flightCache.getFlight(FLIGHT_DTO_1.id(), id -> FLIGHT_DTO_1);
+        otherInstance.getFlight(FLIGHT_DTO_1.id(), id -> FLIGHT_DTO_1);
+
+        assertNotEquals(flightCache.eTag(FLIGHT_DTO_1.id()), otherInstance.eTag(FLIGHT_DTO_1.id()));
+    }
+
+    @Test
+    @DisplayName("Should have an ETag only while a flight is cached, and none for a flight that fails to load")
+    void eTag_IsNull_WhileFlightNotCached() {
+        UUID missingId = UUID.randomUUID();
+
+        assertNull(flightCache.eTag(FLIGHT_DTO_1.id()));
+        flightCache.getFlight(FLIGHT_DTO_1.id(), id -> FLIGHT_DTO_1);
+        assertThrows(ResourceNotFoundException.class, () -> flightCache.getFlight(missingId, id -> {
+            throw new ResourceNotFoundException("Flight not found with id " + id);
+        }));
+
+        assertNotNull(flightCache.eTag(FLIGHT_DTO_1.id()));
+        assertNull(flightCache.eTag(missingId));
+        flightCache.invalidateFlight(FLIGHT_DTO_1.id());
+        assertNull(flightCache.eTag(FLIGHT_DTO_1.id()));
+    }
+
+    @Test
+    @DisplayName("Should reload a flight once it is invalidated")
+    void getFlight_Reloads_WhenInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+
+        flightCache.getFlight(FLIGHT_DTO_1.id(), id -> load(loads));
+        flightCache.getFlight(FLIGHT_DTO_1.id(), id -> load(loads));
+        flightCache.invalidateSeatsAvailable(FLIGHT_DTO_1.id());
+        flightCache.getFlight(FLIGHT_DTO_1.id(), id -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    private static FlightDTO load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return FLIGHT_DTO_1;
+    }
+}
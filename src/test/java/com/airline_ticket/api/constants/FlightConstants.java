@@ -5,6 +5,7 @@ import com.airline_ticket.api.model.dtos.employee.EmployeeDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightRequestDTO;
 import com.airline_ticket.api.model.dtos.flight.FlightUpdateDTO;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -36,6 +37,12 @@ public class FlightConstants {
             1200.50
     );
 
+    static {
+        // Loaded flights always carry a version.
+        ReflectionTestUtils.setField(FLIGHT_1, "version", 0L);
+        ReflectionTestUtils.setField(FLIGHT_2, "version", 0L);
+    }
+
     public static final FlightDTO FLIGHT_DTO_1 = new FlightDTO(
             FLIGHT_1.getId(),
             FLIGHT_1.getAirline(),
@@ -44,7 +51,9 @@ public class FlightConstants {
             FLIGHT_1.getDestination(),
             FLIGHT_1.getDepartureTime(),
             FLIGHT_1.getArrivalTime(),
-            FLIGHT_1.getPrice());
+            FLIGHT_1.getPrice(),
+            FLIGHT_1.getSeatsAvailable(),
+            FLIGHT_1.getVersion());
     public static final FlightDTO FLIGHT_DTO_2 = new FlightDTO(
             FLIGHT_2.getId(),
             FLIGHT_2.getAirline(),
@@ -53,7 +62,9 @@ public class FlightConstants {
             FLIGHT_2.getDestination(),
             FLIGHT_2.getDepartureTime(),
             FLIGHT_2.getArrivalTime(),
-            FLIGHT_2.getPrice());
+            FLIGHT_2.getPrice(),
+            FLIGHT_2.getSeatsAvailable(),
+            FLIGHT_2.getVersion());
 
     public static final FlightRequestDTO FLIGHT_REQUEST_DTO = new FlightRequestDTO(
             FLIGHT_1.getAirline(),
@@ -70,7 +81,18 @@ public class FlightConstants {
             FLIGHT_2.getDestination(),
             FLIGHT_2.getDepartureTime(),
             FLIGHT_2.getArrivalTime(),
-            FLIGHT_2.getPrice());
+            FLIGHT_2.getPrice(),
+            FLIGHT_2.getVersion());
 
     public static final List<FlightDTO> FLIGHTS = List.of(FLIGHT_DTO_1, FLIGHT_DTO_2);
+
+    /**
+     * Returns a new Global Airways flight with a random id, for tests that lay out a schedule.
+     */
+    public static Flight flight(String flightNumber, String origin, String destination, ZonedDateTime departure,
+                                ZonedDateTime arrival, double price, int seatsAvailable) {
+        Flight flight = new Flight(UUID.randomUUID(), "Global Airways", flightNumber, origin, destination, departure, arrival, price);
+        flight.setSeatsAvailable(seatsAvailable);
+        return flight;
+    }
 }
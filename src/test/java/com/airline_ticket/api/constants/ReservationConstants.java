@@ -0,0 +1,10 @@
+package com.airline_ticket.api.constants;
+
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+
+public class ReservationConstants {
+    public static final ReservationRequestDTO RESERVATION_REQUEST_DTO = new ReservationRequestDTO(SEAT_ID_1, PASSENGER_1.getId());
+}
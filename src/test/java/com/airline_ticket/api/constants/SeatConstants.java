@@ -0,0 +1,21 @@
+package com.airline_ticket.api.constants;
+
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.seat.SeatMapRequestDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_1;
+
+public class SeatConstants {
+    public static final UUID SEAT_ID_1 = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    public static final UUID SEAT_ID_2 = UUID.fromString("44444444-4444-4444-4444-444444444444");
+    public static final SeatMapRequestDTO SEAT_MAP_REQUEST_DTO = new SeatMapRequestDTO(3, List.of("A", "B", "C", "D"), List.of("1A"));
+
+    public static Seat seat(UUID id, String seatNumber, Boolean isAvailable) {
+        Seat seat = new Seat(seatNumber, isAvailable, FLIGHT_1);
+        seat.setId(id);
+        return seat;
+    }
+}
@@ -1,8 +1,17 @@
 package com.airline_ticket.api.controller;
 
+import com.airline_ticket.api.exceptions.ResourceAlreadyExistsException;
 import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
+import com.airline_ticket.api.model.dtos.page.PageHeaders;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapRequestDTO;
 import com.airline_ticket.api.security.TokenService;
+import com.airline_ticket.api.service.FlashSaleService;
 import com.airline_ticket.api.service.FlightService;
+import com.airline_ticket.api.service.SeatService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,17 +24,25 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.UUID;
 
 import static com.airline_ticket.api.constants.FlightConstants.*;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_MAP_REQUEST_DTO;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +55,10 @@ public class FlightControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
     @MockBean
+    private SeatService seatService;
+    @MockBean
+    private FlashSaleService flashSaleService;
+    @MockBean
     private TokenService tokenService;
 
     @BeforeEach
@@ -59,14 +80,69 @@ public class FlightControllerTest {
                 .andExpect(jsonPath("$[0].id").value(FLIGHT_DTO_1.id().toString()));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void findAllFlights_ShouldReturnEstimatedTotalHeader_WhenIncludeTotal() throws Exception {
+        when(flightService.getAllFlights(any(Pageable.class))).thenReturn(new SliceImpl<>(FLIGHTS));
+        when(flightService.estimateFlightCount()).thenReturn(1200L);
+
+        mockMvc.perform(get("/api/flights")
+                        .param("includeTotal", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageHeaders.ESTIMATED_TOTAL_COUNT, "1200"))
+                .andExpect(jsonPath("$[0].id").value(FLIGHT_DTO_1.id().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void findAllFlights_ShouldReturnNextCursorHeader_WhenAfterGiven() throws Exception {
+        when(flightService.getFlightsAfter("", 10)).thenReturn(new KeysetPage<>(FLIGHTS, "next"));
+
+        mockMvc.perform(get("/api/flights")
+                        .param("after", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id").value(FLIGHT_DTO_1.id().toString()));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     void findFlightById_ShouldReturnFlight() throws Exception {
+        when(flightService.getFlightETag(FLIGHT_1.getId())).thenReturn("\"1-0\"");
         when(flightService.getFlightById(FLIGHT_1.getId())).thenReturn(FLIGHT_DTO_1);
 
         mockMvc.perform(get("/api/flights/{id}", FLIGHT_1.getId())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
+                .andExpect(jsonPath("$.id").value(FLIGHT_DTO_1.id().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void findFlightById_WhenETagMatches_ShouldReturnNotModifiedWithoutReadingFlight() throws Exception {
+        when(flightService.getFlightETag(FLIGHT_1.getId())).thenReturn("\"1-3\"");
+
+        mockMvc.perform(get("/api/flights/{id}", FLIGHT_1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+        verify(flightService, never()).getFlightById(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should read the flight instead of answering Not Modified while the flight has no ETag on this instance")
+    void findFlightById_WhenNoETagYet_ShouldReturnFlightWithoutETag() throws Exception {
+        when(flightService.getFlightETag(FLIGHT_1.getId())).thenReturn(null);
+        when(flightService.getFlightById(FLIGHT_1.getId())).thenReturn(FLIGHT_DTO_1);
+
+        mockMvc.perform(get("/api/flights/{id}", FLIGHT_1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
                 .andExpect(jsonPath("$.id").value(FLIGHT_DTO_1.id().toString()));
     }
 
@@ -103,7 +179,7 @@ public class FlightControllerTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<FlightDTO> page = new PageImpl<>(List.of(FLIGHT_DTO_1), pageable, 1);
 
-        when(flightService.getFlightsByLocation(FLIGHT_DTO_1.origin(), FLIGHT_DTO_1.destination(), pageable)).thenReturn(page);
+        when(flightService.getFlightsByLocation(FLIGHT_DTO_1.origin(), FLIGHT_DTO_1.destination(), null, null, null, pageable)).thenReturn(page);
 
         mockMvc.perform(get("/api/flights/searchByLocation")
                         .param("origin", FLIGHT_DTO_1.origin())
@@ -112,6 +188,37 @@ public class FlightControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void searchFlights_ShouldPassSuppliedCriteria() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        FlightSearchDTO criteria = new FlightSearchDTO(FLIGHT_DTO_1.origin(), FLIGHT_DTO_1.destination(),
+                FLIGHT_DTO_1.departureTime().minusDays(1), FLIGHT_DTO_1.departureTime().plusDays(6), null, null, null, 800.0, null, 2);
+        Page<FlightDTO> page = new PageImpl<>(List.of(FLIGHT_DTO_1), pageable, 1);
+
+        when(flightService.searchFlights(criteria, pageable)).thenReturn(page);
+
+        mockMvc.perform(get("/api/flights/search")
+                        .param("origin", criteria.origin())
+                        .param("destination", criteria.destination())
+                        .param("departureFrom", criteria.departureFrom().toString())
+                        .param("departureTo", criteria.departureTo().toString())
+                        .param("maxPrice", "800")
+                        .param("minSeats", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(FLIGHT_DTO_1.id().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void searchFlights_WhenMinSeatsNegative_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/flights/search")
+                        .param("minSeats", "-1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     void findFlightsByPrice_ShouldReturnFlightList() throws Exception {
@@ -133,7 +240,7 @@ public class FlightControllerTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<FlightDTO> page = new PageImpl<>(List.of(FLIGHT_DTO_1), pageable, 1);
 
-        when(flightService.getFlightsByDepartureTime(FLIGHT_DTO_1.departureTime(), FLIGHT_DTO_1.departureTime(), pageable)).thenReturn(page);
+        when(flightService.getFlightsByDepartureTime(FLIGHT_DTO_1.departureTime(), FLIGHT_DTO_1.departureTime(), null, pageable)).thenReturn(page);
 
         mockMvc.perform(get("/api/flights/searchByDepartureTime")
                         .param("start", FLIGHT_DTO_1.departureTime().toString())
@@ -172,6 +279,74 @@ public class FlightControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return the seat map of a flight with an ETag")
+    public void findSeatMap_ReturnsSeatMapWithETag() throws Exception {
+        SeatMapDTO seatMap = SeatMapDTO.fromSeats(FLIGHT_DTO_1.id(), List.of(new SeatAvailabilityDTO(SEAT_ID_1, "1A", true)));
+        when(seatService.getSeatMap(FLIGHT_DTO_1.id())).thenReturn(seatMap);
+
+        mockMvc.perform(get("/api/flights/{id}/seatmap", FLIGHT_DTO_1.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, seatMap.eTag()))
+                .andExpect(jsonPath("$.columns[0]").value("A"))
+                .andExpect(jsonPath("$.available").value(seatMap.available()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    @DisplayName("Should return Not Modified when the seat map matches the given ETag")
+    public void findSeatMap_ReturnsNotModified_WhenETagMatches() throws Exception {
+        SeatMapDTO seatMap = SeatMapDTO.fromSeats(FLIGHT_DTO_1.id(), List.of(new SeatAvailabilityDTO(SEAT_ID_1, "1A", true)));
+        when(seatService.getSeatMap(FLIGHT_DTO_1.id())).thenReturn(seatMap);
+
+        mockMvc.perform(get("/api/flights/{id}/seatmap", FLIGHT_DTO_1.id())
+                        .header(HttpHeaders.IF_NONE_MATCH, seatMap.eTag()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should create the seat map of a flight and return Created")
+    public void createSeatMap_WithValidLayout_ReturnsSeatsCreated() throws Exception {
+        when(seatService.createSeatMap(any(UUID.class), any(SeatMapRequestDTO.class)))
+                .thenReturn(List.of(new SeatAvailabilityDTO(SEAT_ID_1, "1A", false)));
+
+        mockMvc.perform(post("/api/flights/{id}/seatmap", FLIGHT_DTO_1.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SEAT_MAP_REQUEST_DTO))
+                        .with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].seatNumber").value("1A"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return Conflict when a seat of the layout already exists")
+    public void createSeatMap_WithExistingSeat_ReturnsConflict() throws Exception {
+        when(seatService.createSeatMap(any(UUID.class), any(SeatMapRequestDTO.class)))
+                .thenThrow(new ResourceAlreadyExistsException("Seats [1A] already exist for flight " + FLIGHT_DTO_1.id() + "."));
+
+        mockMvc.perform(post("/api/flights/{id}/seatmap", FLIGHT_DTO_1.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SEAT_MAP_REQUEST_DTO))
+                        .with(csrf()))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should return Bad Request when a seat map column is not a single letter")
+    public void createSeatMap_WithInvalidColumn_ReturnsBadRequest() throws Exception {
+        SeatMapRequestDTO requestDTO = new SeatMapRequestDTO(3, List.of("A", "BC"), null);
+
+        mockMvc.perform(post("/api/flights/{id}/seatmap", FLIGHT_DTO_1.id())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN"})
     @DisplayName("Should replace an existing flight and returns Ok")
@@ -198,4 +373,16 @@ public class FlightControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Should put a flight in flash-sale mode and return No Content")
+    public void enableFlashSale_ReturnsNoContent() throws Exception {
+        mockMvc
+                .perform(put("/api/flights/{id}/flash-sale", FLIGHT_DTO_1.id())
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(flashSaleService).enable(FLIGHT_DTO_1.id());
+    }
+}
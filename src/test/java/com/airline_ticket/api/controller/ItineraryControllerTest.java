@@ -0,0 +1,70 @@
+package com.airline_ticket.api.controller;
+
+import com.airline_ticket.api.model.dtos.itinerary.ItineraryDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySearchDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySort;
+import com.airline_ticket.api.security.TokenService;
+import com.airline_ticket.api.service.ItineraryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_DTO_1;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItineraryController.class)
+public class ItineraryControllerTest {
+    @MockBean
+    private ItineraryService itineraryService;
+    @MockBean
+    private TokenService tokenService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void searchItineraries_ShouldPassSuppliedCriteria() throws Exception {
+        ItinerarySearchDTO criteria = new ItinerarySearchDTO(FLIGHT_DTO_1.origin(), FLIGHT_DTO_1.destination(),
+                FLIGHT_DTO_1.departureTime().minusDays(1), FLIGHT_DTO_1.departureTime().plusDays(1), 1, null, 480, null, ItinerarySort.PRICE, null);
+        when(itineraryService.searchItineraries(any(ItinerarySearchDTO.class))).thenReturn(List.of());
+        when(itineraryService.searchItineraries(criteria)).thenReturn(List.of(ItineraryDTO.of(List.of(FLIGHT_DTO_1))));
+
+        mockMvc.perform(get("/api/itineraries")
+                        .param("origin", criteria.origin())
+                        .param("destination", criteria.destination())
+                        .param("departureFrom", criteria.departureFrom().toString())
+                        .param("departureTo", criteria.departureTo().toString())
+                        .param("maxStops", "1")
+                        .param("maxConnectionMinutes", "480")
+                        .param("sortBy", "PRICE")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].stops").value(0))
+                .andExpect(jsonPath("$[0].flights[0].id").value(FLIGHT_DTO_1.id().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void searchItineraries_WhenTooManyStops_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/itineraries")
+                        .param("origin", "London")
+                        .param("destination", "Tokyo")
+                        .param("departureFrom", "2024-12-01T00:00:00Z")
+                        .param("departureTo", "2024-12-02T00:00:00Z")
+                        .param("maxStops", "3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itineraryService);
+    }
+}
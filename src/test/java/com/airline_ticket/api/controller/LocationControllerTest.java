@@ -0,0 +1,46 @@
+package com.airline_ticket.api.controller;
+
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import com.airline_ticket.api.security.TokenService;
+import com.airline_ticket.api.service.LocationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LocationController.class)
+public class LocationControllerTest {
+    @MockBean
+    private LocationService locationService;
+    @MockBean
+    private TokenService tokenService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void suggestLocations_ShouldReturnSuggestions() throws Exception {
+        when(locationService.suggestLocations("sao")).thenReturn(List.of(new LocationSuggestionDTO("São Paulo", 3)));
+
+        mockMvc.perform(get("/api/locations/suggest").param("q", "sao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("São Paulo"))
+                .andExpect(jsonPath("$[0].flights").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void suggestLocations_WithoutQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/locations/suggest"))
+                .andExpect(status().isBadRequest());
+    }
+}
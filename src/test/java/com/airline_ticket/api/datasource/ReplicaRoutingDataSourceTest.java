@@ -0,0 +1,141 @@
+package com.airline_ticket.api.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource firstReplica = mock(DataSource.class);
+    private final DataSource secondReplica = mock(DataSource.class);
+    private final Map<DataSource, Long> lags = new HashMap<>();
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lags.put(firstReplica, 0L);
+        lags.put(secondReplica, 0L);
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), meterRegistry, this::lag, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary and take replicas in turn for read-only transactions")
+    void determineCurrentLookupKey_AlternatesReplicas_ForReadOnlyTransactions() {
+        dataSource.checkReplicas();
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, route(false));
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"), List.of(route(true), route(true), route(true)));
+        assertEquals(3.0, meterRegistry.get("datasource.reads").tag("target", "replica").counter().count());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until the replicas have been checked")
+    void determineCurrentLookupKey_UsesPrimary_BeforeFirstCheck() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, route(true));
+        assertTrue(Double.isNaN(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()));
+    }
+
+    @Test
+    @DisplayName("Should skip lagging and unreachable replicas and fall back to the primary when none is left")
+    void determineCurrentLookupKey_SkipsLaggingReplicas() {
+        lags.put(firstReplica, 5000L);
+        dataSource.checkReplicas();
+
+        assertEquals(List.of("replica-2", "replica-2"), List.of(route(true), route(true)));
+
+        lags.remove(secondReplica);
+        dataSource.checkReplicas();
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, route(true));
+        assertEquals(1.0, meterRegistry.get("datasource.reads").tag("target", "primary").counter().count());
+
+        lags.put(firstReplica, 200L);
+        dataSource.checkReplicas();
+
+        assertEquals("replica-1", route(true));
+    }
+
+    @Test
+    @DisplayName("Should pin a caller to the primary for a while after it commits a write")
+    void determineCurrentLookupKey_PinsCallerToPrimary_AfterCommittedWrite() {
+        dataSource.checkReplicas();
+        authenticate("alice");
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clear();
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, route(true));
+        authenticate("bob");
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, route(true));
+
+        authenticate("alice");
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, route(true));
+    }
+
+    @Test
+    @DisplayName("Should not pin a caller whose write rolls back")
+    void determineCurrentLookupKey_DoesNotPin_WhenWriteRollsBack() {
+        dataSource.checkReplicas();
+        authenticate("alice");
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clear();
+
+        assertNotEquals(ReplicaRoutingDataSource.PRIMARY, route(true));
+    }
+
+    private Object route(boolean readOnly) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            return dataSource.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private long lag(DataSource replica) {
+        Long lag = lags.get(replica);
+        if (lag == null) {
+            throw new IllegalStateException("Connection refused");
+        }
+        return lag;
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(name, null, List.of(new SimpleGrantedAuthority("USER"))));
+    }
+}
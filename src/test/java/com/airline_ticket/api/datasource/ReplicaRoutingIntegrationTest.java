@@ -0,0 +1,86 @@
+package com.airline_ticket.api.datasource;
+
+import com.airline_ticket.api.service.PassengerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application with the database configured as its own replica and checks where the
+ * transactions of the services go. Requires a PostgreSQL database, so it only runs when
+ * DATABASE_URL is set.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.urls=${DATABASE_URL}",
+        "datasource.replicas.lag-check-interval-ms=100"
+})
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+public class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PassengerService passengerService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should run read-only service methods on the replica, and on the primary right after the caller writes")
+    void readOnlyTransactions_RunOnReplica_UnlessCallerJustWrote() throws InterruptedException {
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        awaitReplicaChecked();
+        double replicaReads = reads("replica");
+        double primaryReads = reads("primary");
+
+        passengerService.getAllPassengers(PageRequest.of(0, 1));
+        assertEquals(replicaReads + 1, reads("replica"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("replica-test", null, List.of(new SimpleGrantedAuthority("USER"))));
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        passengerService.getAllPassengers(PageRequest.of(0, 1));
+
+        assertEquals(primaryReads + 1, reads("primary"));
+        assertEquals(replicaReads + 1, reads("replica"));
+    }
+
+    private void awaitReplicaChecked() throws InterruptedException {
+        for (int i = 0; i < 100 && Double.isNaN(lag()); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(0.0, lag());
+    }
+
+    private double lag() {
+        return meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value();
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("datasource.reads").tag("target", target).counter().count();
+    }
+}
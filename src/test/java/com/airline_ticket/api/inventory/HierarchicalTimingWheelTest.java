@@ -0,0 +1,91 @@
+package com.airline_ticket.api.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    @DisplayName("Should expire a timeout on its deadline and not before")
+    void advance_ExpiresTimeout_WhenDeadlineReached() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        wheel.schedule("hold", 5 * TICK);
+
+        assertTrue(wheel.advance(5 * TICK - 1).isEmpty());
+        assertEquals(List.of("hold"), wheel.advance(5 * TICK));
+        assertTrue(wheel.advance(100 * TICK).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should cascade timeouts scheduled on higher levels down to their deadline")
+    void advance_ExpiresTimeoutsOnHigherLevels_WhenDeadlineReached() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 10 * TICK);
+        wheel.schedule("minutes", 1_000 * TICK);
+        wheel.schedule("hours", 5_000 * TICK);
+        wheel.schedule("days", 300_000 * TICK);
+
+        assertTrue(wheel.advance(999 * TICK).isEmpty());
+        assertEquals(List.of("minutes"), wheel.advance(1_000 * TICK));
+        assertTrue(wheel.advance(4_999 * TICK).isEmpty());
+        assertEquals(List.of("hours"), wheel.advance(5_000 * TICK));
+        assertTrue(wheel.advance(299_999 * TICK).isEmpty());
+        assertEquals(List.of("days"), wheel.advance(300_000 * TICK));
+    }
+
+    @Test
+    @DisplayName("Should not expire a cancelled timeout")
+    void advance_SkipsTimeout_WhenCancelled() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("released", 3 * TICK);
+        wheel.schedule("kept", 3 * TICK);
+
+        wheel.cancel(timeout);
+
+        assertEquals(List.of("kept"), wheel.advance(10 * TICK));
+    }
+
+    @Test
+    @DisplayName("Should expire a timeout with a past deadline on the next tick")
+    void schedule_ExpiresOnNextTick_WhenDeadlineInThePast() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 50 * TICK);
+        wheel.schedule("late", 10 * TICK);
+
+        assertEquals(List.of("late"), wheel.advance(51 * TICK));
+    }
+
+    @Test
+    @DisplayName("Should expire every timeout exactly once within one tick of its deadline")
+    void advance_ExpiresEachTimeoutOnce_WhenManyScheduled() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = 1 + random.nextInt(7_200_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+
+        Map<Integer, Long> expiredAt = new HashMap<>();
+        for (long now = 0; now <= 7_300_000; now += 7 * TICK) {
+            for (Integer value : wheel.advance(now)) {
+                assertNull(expiredAt.put(value, now));
+            }
+        }
+
+        assertEquals(deadlines.size(), expiredAt.size());
+        deadlines.forEach((value, deadline) -> {
+            long now = expiredAt.get(value);
+            assertTrue(now >= deadline, "expired before its deadline");
+            assertTrue(now < deadline + 8 * TICK, "expired too late");
+        });
+    }
+}
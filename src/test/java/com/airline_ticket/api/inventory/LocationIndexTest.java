@@ -0,0 +1,152 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.location.FlightLocationsDTO;
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class LocationIndexTest {
+
+    private LocationIndex locationIndex;
+    @Mock
+    private FlightRepository flightRepository;
+
+    private final FlightLocationsDTO saoPauloToLondon = new FlightLocationsDTO(UUID.randomUUID(), "São Paulo", "London");
+    private final FlightLocationsDTO londonToSaoPaulo = new FlightLocationsDTO(UUID.randomUUID(), "London", "Sao Paulo");
+    private final FlightLocationsDTO londonToSalvador = new FlightLocationsDTO(UUID.randomUUID(), "London", "Salvador");
+    private final FlightLocationsDTO santiagoToSaoPaulo = new FlightLocationsDTO(UUID.randomUUID(), "Santiago", "São Paulo");
+
+    @BeforeEach
+    void setUp() {
+        locationIndex = new LocationIndex(flightRepository);
+        when(flightRepository.findAllLocations()).thenReturn(List.of(saoPauloToLondon, londonToSaoPaulo, londonToSalvador, santiagoToSaoPaulo));
+    }
+
+    @Test
+    @DisplayName("Should not be ready until the first load completes")
+    void isReady_ReturnsFalse_UntilRebuilt() {
+        assertFalse(locationIndex.isReady());
+        assertThrows(IllegalStateException.class, () -> locationIndex.suggest("sa"));
+
+        locationIndex.rebuild();
+
+        assertTrue(locationIndex.isReady());
+    }
+
+    @Test
+    @DisplayName("Should match prefixes ignoring case, accents and repeated spaces, ranked by flights")
+    void suggest_FoldsCaseAndAccents_AndRanksByFlights() {
+        locationIndex.rebuild();
+
+        assertEquals(List.of(new LocationSuggestionDTO("São Paulo", 3), new LocationSuggestionDTO("Salvador", 1),
+                new LocationSuggestionDTO("Santiago", 1)), locationIndex.suggest("SA"));
+        assertEquals(List.of(new LocationSuggestionDTO("São Paulo", 3)), locationIndex.suggest(" sao  p"));
+        assertEquals(List.of(new LocationSuggestionDTO("London", 3)), locationIndex.suggest("Lon"));
+        assertEquals(List.of(), locationIndex.suggest("tokyo"));
+        assertEquals(List.of(), locationIndex.suggest("  "));
+    }
+
+    @Test
+    @DisplayName("Should return at most ten suggestions")
+    void suggest_ReturnsTopTen_WhenMoreLocationsMatch() {
+        List<FlightLocationsDTO> flights = new ArrayList<>();
+        IntStream.range(0, 12).forEach(i -> IntStream.rangeClosed(0, i)
+                .forEach(flight -> flights.add(new FlightLocationsDTO(UUID.randomUUID(), "City " + i, "Town"))));
+        when(flightRepository.findAllLocations()).thenReturn(flights);
+        locationIndex.rebuild();
+
+        List<LocationSuggestionDTO> suggestions = locationIndex.suggest("city");
+
+        assertEquals(LocationIndex.MAX_SUGGESTIONS, suggestions.size());
+        assertEquals(new LocationSuggestionDTO("City 11", 12), suggestions.get(0));
+        assertEquals(new LocationSuggestionDTO("City 2", 3), suggestions.get(9));
+    }
+
+    @Test
+    @DisplayName("Should follow flights added, moved and removed after the load")
+    void suggest_FollowsFlightChanges() {
+        locationIndex.rebuild();
+        locationIndex.suggest("sa");
+        UUID flightId = UUID.randomUUID();
+
+        locationIndex.putAfterCommit(flight(flightId, "Salvador", "Santiago"));
+        assertEquals(List.of(new LocationSuggestionDTO("São Paulo", 3), new LocationSuggestionDTO("Salvador", 2),
+                new LocationSuggestionDTO("Santiago", 2)), locationIndex.suggest("sa"));
+
+        locationIndex.putAfterCommit(flight(flightId, "Salvador", "Tokyo"));
+        assertEquals(List.of(new LocationSuggestionDTO("Tokyo", 1)), locationIndex.suggest("t"));
+        assertEquals(List.of(new LocationSuggestionDTO("Santiago", 1)), locationIndex.suggest("sant"));
+
+        locationIndex.removeAfterCommit(flightId);
+        locationIndex.removeAfterCommit(londonToSalvador.id());
+        assertEquals(List.of(), locationIndex.suggest("t"));
+        assertEquals(List.of(new LocationSuggestionDTO("São Paulo", 3), new LocationSuggestionDTO("Santiago", 1)),
+                locationIndex.suggest("sa"));
+    }
+
+    @Test
+    @DisplayName("Should suggest the spelling used by most flights")
+    void suggest_UsesMostCommonSpelling() {
+        locationIndex.rebuild();
+
+        locationIndex.putAfterCommit(flight(UUID.randomUUID(), "Sao Paulo", "London"));
+        locationIndex.putAfterCommit(flight(UUID.randomUUID(), "Sao Paulo", "London"));
+
+        assertEquals(List.of(new LocationSuggestionDTO("Sao Paulo", 5)), locationIndex.suggest("são"));
+    }
+
+    @Test
+    @DisplayName("Should drop the trie nodes of a location once its last flight is removed")
+    void removeAfterCommit_PrunesNodesOfRemovedLocations() {
+        when(flightRepository.findAllLocations()).thenReturn(List.of(londonToSalvador));
+        locationIndex.rebuild();
+        UUID flightId = UUID.randomUUID();
+
+        locationIndex.putAfterCommit(flight(flightId, "Lima", "Londrina"));
+        locationIndex.removeAfterCommit(flightId);
+
+        Object trie = ReflectionTestUtils.getField(locationIndex, "snapshot");
+        Map<?, ?> children = (Map<?, ?>) ReflectionTestUtils.getField(ReflectionTestUtils.getField(trie, "root"), "children");
+        assertEquals(Set.of('l', 's'), children.keySet());
+        assertEquals(List.of(new LocationSuggestionDTO("London", 1)), locationIndex.suggest("lon"));
+        assertEquals(List.of(), locationIndex.suggest("li"));
+    }
+
+    @Test
+    @DisplayName("Should keep flights changed during a rebuild")
+    void rebuild_KeepsFlightsChangedDuringLoad() {
+        UUID flightId = UUID.randomUUID();
+        when(flightRepository.findAllLocations()).thenAnswer(invocation -> {
+            locationIndex.putAfterCommit(flight(flightId, "Lima", "Quito"));
+            return List.of(saoPauloToLondon);
+        });
+
+        locationIndex.rebuild();
+
+        assertEquals(List.of(new LocationSuggestionDTO("Lima", 1)), locationIndex.suggest("li"));
+    }
+
+    private static FlightDTO flight(UUID id, String origin, String destination) {
+        ZonedDateTime departure = ZonedDateTime.parse("2024-08-28T08:00:00Z");
+        return new FlightDTO(id, "Airways", "AW100", origin, destination, departure, departure.plusHours(8), 100.0, 10, 0L);
+    }
+}
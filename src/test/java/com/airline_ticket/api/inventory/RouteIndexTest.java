@@ -0,0 +1,165 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static com.airline_ticket.api.constants.FlightConstants.flight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class RouteIndexTest {
+
+    private static final ZonedDateTime DAY = ZonedDateTime.parse("2024-08-28T00:00:00Z");
+
+    private RouteIndex routeIndex;
+    @Mock
+    private FlightRepository flightRepository;
+
+    private final Flight morning = flight("AW100", "New York", "London", DAY.plusHours(8), DAY.plusHours(15), 500.0, 0);
+    private final Flight evening = flight("AW200", "New York", "London", DAY.plusHours(20), DAY.plusHours(27), 500.0, 0);
+    private final Flight nextDay = flight("AW300", "New York", "London", DAY.plusHours(32), DAY.plusHours(39), 500.0, 0);
+    private final Flight tokyo = flight("AW400", "New York", "Tokyo", DAY.plusHours(9), DAY.plusHours(16), 500.0, 0);
+
+    @BeforeEach
+    void setUp() {
+        routeIndex = new RouteIndex(flightRepository);
+        when(flightRepository.findAll()).thenReturn(List.of(nextDay, tokyo, evening, morning));
+    }
+
+    @Test
+    @DisplayName("Should not be ready until the first load completes")
+    void isReady_ReturnsFalse_UntilRebuilt() {
+        assertFalse(routeIndex.isReady());
+        assertThrows(IllegalStateException.class, () -> routeIndex.find("New York", "London", null, null, 0));
+
+        routeIndex.rebuild();
+
+        assertTrue(routeIndex.isReady());
+    }
+
+    @Test
+    @DisplayName("Should return the flights of the route in departure order, ignoring case and surrounding spaces")
+    void find_ReturnsRouteInDepartureOrder_IgnoringCase() {
+        routeIndex.rebuild();
+
+        assertEquals(List.of("AW100", "AW200", "AW300"), flightNumbers(routeIndex.find(" new york", "LONDON ", null, null, 0)));
+        assertEquals(List.of(), routeIndex.find("London", "New York", null, null, 0));
+    }
+
+    @Test
+    @DisplayName("Should only return flights departing within the window, with open ends when a bound is missing")
+    void find_ReturnsFlightsWithinDepartureWindow() {
+        routeIndex.rebuild();
+
+        assertEquals(List.of("AW100", "AW200"), flightNumbers(routeIndex.find("New York", "London", DAY, DAY.plusHours(23), 0)));
+        assertEquals(List.of("AW200", "AW300"), flightNumbers(routeIndex.find("New York", "London", DAY.plusHours(20), null, 0)));
+        assertEquals(List.of("AW100"), flightNumbers(routeIndex.find("New York", "London", null, DAY.plusHours(8), 0)));
+        assertEquals(List.of(), routeIndex.find("New York", "London", DAY.plusHours(21), DAY.plusHours(9), 0));
+    }
+
+    @Test
+    @DisplayName("Should match partial locations across routes and keep departure order")
+    void findContaining_ReturnsMatchingRoutesInDepartureOrder() {
+        routeIndex.rebuild();
+
+        assertEquals(List.of("AW100", "AW400", "AW200", "AW300"), flightNumbers(routeIndex.findContaining("york", null, 0)));
+        assertEquals(List.of("AW400"), flightNumbers(routeIndex.findContaining(null, "tok", 0)));
+    }
+
+    @Test
+    @DisplayName("Should return the flights leaving a city within the window in departure order, whatever their destination")
+    void departingFrom_ReturnsOriginFlightsInDepartureOrder() {
+        routeIndex.rebuild();
+
+        assertEquals(List.of("AW100", "AW400", "AW200"), flightNumbers(routeIndex.departingFrom("new york ", DAY, DAY.plusHours(20), 0)));
+        assertEquals(List.of(), routeIndex.departingFrom("London", null, null, 0));
+    }
+
+    @Test
+    @DisplayName("Should filter by available seats and follow changes of the seat counter")
+    void find_FiltersBySeatsAvailable_AfterCounterChanges() {
+        routeIndex.rebuild();
+        routeIndex.addSeatsAvailableAfterCommit(evening.getId(), 5);
+
+        List<FlightDTO> flights = routeIndex.find("New York", "London", null, null, 5);
+
+        assertEquals(List.of("AW200"), flightNumbers(flights));
+        assertEquals(5, flights.get(0).seatsAvailable());
+    }
+
+    @Test
+    @DisplayName("Should move an updated flight to its new route and drop a removed one")
+    void putAndRemove_KeepIndexCurrent() {
+        routeIndex.rebuild();
+        FlightDTO moved = FlightDTO.flightToDTO(flight("AW200", "Paris", "London", DAY.plusHours(20), DAY.plusHours(27), 500.0, 0));
+
+        routeIndex.putAfterCommit(new FlightDTO(evening.getId(), moved.airline(), moved.flightNumber(), moved.origin(),
+                moved.destination(), moved.departureTime(), moved.arrivalTime(), moved.price(), 0, moved.version()));
+        routeIndex.removeAfterCommit(morning.getId());
+
+        assertEquals(List.of("AW300"), flightNumbers(routeIndex.find("New York", "London", null, null, 0)));
+        assertEquals(List.of("AW200"), flightNumbers(routeIndex.find("Paris", "London", null, null, 0)));
+        assertEquals(List.of("AW400", "AW300"), flightNumbers(routeIndex.departingFrom("New York", null, null, 0)));
+    }
+
+    @Test
+    @DisplayName("Should keep the live seat counter of a flight replaced by an update")
+    void putAfterCommit_KeepsSeatCounter_WhenFlightUpdated() {
+        routeIndex.rebuild();
+        routeIndex.addSeatsAvailableAfterCommit(evening.getId(), 5);
+        FlightDTO current = FlightDTO.flightToDTO(evening);
+
+        routeIndex.putAfterCommit(new FlightDTO(current.id(), current.airline(), current.flightNumber(), current.origin(),
+                current.destination(), current.departureTime().plusHours(1), current.arrivalTime().plusHours(1),
+                current.price(), 0, current.version()));
+
+        List<FlightDTO> flights = routeIndex.find("New York", "London", null, null, 5);
+        assertEquals(List.of("AW200"), flightNumbers(flights));
+        assertEquals(5, flights.get(0).seatsAvailable());
+        assertEquals(current.departureTime().plusHours(1), flights.get(0).departureTime());
+    }
+
+    @Test
+    @DisplayName("Should keep a flight added while the index is being rebuilt")
+    void rebuild_KeepsFlightsChangedDuringLoad() {
+        routeIndex.rebuild();
+        Flight added = flight("AW500", "New York", "London", DAY.plusHours(12), DAY.plusHours(19), 500.0, 0);
+        when(flightRepository.findAll()).thenAnswer(invocation -> {
+            routeIndex.putAfterCommit(FlightDTO.flightToDTO(added));
+            return List.of(morning);
+        });
+
+        routeIndex.rebuild();
+
+        assertEquals(List.of("AW100", "AW500"), flightNumbers(routeIndex.find("New York", "London", null, null, 0)));
+    }
+
+    @Test
+    @DisplayName("Should keep a seat counter change committed while the index is being rebuilt")
+    void rebuild_KeepsSeatCounterChangesDuringLoad() {
+        routeIndex.rebuild();
+        when(flightRepository.findAll()).thenAnswer(invocation -> {
+            routeIndex.addSeatsAvailableAfterCommit(evening.getId(), 3);
+            return List.of(morning, evening);
+        });
+
+        routeIndex.rebuild();
+
+        assertEquals(List.of("AW200"), flightNumbers(routeIndex.find("New York", "London", null, null, 3)));
+    }
+
+    private static List<String> flightNumbers(List<FlightDTO> flights) {
+        return flights.stream().map(FlightDTO::flightNumber).toList();
+    }
+}
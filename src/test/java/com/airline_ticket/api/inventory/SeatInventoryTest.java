@@ -0,0 +1,382 @@
+package com.airline_ticket.api.inventory;
+
+import com.airline_ticket.api.cache.FlightCache;
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_1;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class SeatInventoryTest {
+
+    private static final UUID SEAT_1A = UUID.fromString("00000000-0000-0000-0000-00000000001a");
+    private static final UUID SEAT_2A = UUID.fromString("00000000-0000-0000-0000-00000000002a");
+    private static final UUID SEAT_2B = UUID.fromString("00000000-0000-0000-0000-00000000002b");
+    private static final UUID SEAT_10A = UUID.fromString("00000000-0000-0000-0000-00000000010a");
+
+    private SeatInventory seatInventory;
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private RouteIndex routeIndex;
+    @Mock
+    private FlightCache flightCache;
+
+    @BeforeEach
+    void setUp() {
+        seatInventory = new SeatInventory(seatRepository, flightRepository, new TransactionTemplate(transactionManager), routeIndex, flightCache);
+        stubFlight(List.of(
+                new SeatAvailabilityDTO(SEAT_10A, "10A", true),
+                new SeatAvailabilityDTO(SEAT_2B, "2B", false),
+                new SeatAvailabilityDTO(SEAT_2A, "2A", true),
+                new SeatAvailabilityDTO(SEAT_1A, "1A", true)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should claim an available seat only once")
+    void claim_ReturnsTrueOnlyOnce_WhenSeatAvailable() {
+        assertTrue(seatInventory.claim(SEAT_1A));
+        assertFalse(seatInventory.claim(SEAT_1A));
+        assertFalse(seatInventory.claim(SEAT_2B));
+    }
+
+    @Test
+    @DisplayName("Should make a released seat available again")
+    void release_MakesSeatAvailable_WhenSeatTaken() {
+        assertTrue(seatInventory.claim(SEAT_1A));
+
+        assertTrue(seatInventory.release(SEAT_1A));
+        assertFalse(seatInventory.release(SEAT_1A));
+        assertTrue(seatInventory.claim(SEAT_1A));
+    }
+
+    @Test
+    @DisplayName("Should record a change of the flight only for seats that changed")
+    void claimAndRelease_RecordChange_WhenSeatChanged() {
+        seatInventory.claim(SEAT_1A);
+        seatInventory.claim(SEAT_1A);
+        seatInventory.release(SEAT_1A);
+        seatInventory.release(SEAT_1A);
+
+        verify(flightCache, times(2)).recordChange(FLIGHT_1.getId());
+    }
+
+    @Test
+    @DisplayName("Should write the claims of a booking in its transaction and adjust the flight counter")
+    void take_WritesClaims_WhenSeatsAvailable() {
+        when(seatRepository.claimSeats(List.of(SEAT_1A, SEAT_2A))).thenReturn(List.of(SEAT_1A, SEAT_2A));
+
+        List<UUID> unavailable = inTransaction(() -> seatInventory.take(List.of(SEAT_1A, SEAT_2B, SEAT_2A)), TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of(SEAT_2B), unavailable);
+        assertEquals(1, seatInventory.countSeats(FLIGHT_1.getId(), true));
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), -2);
+        seatInventory.flush();
+        verify(seatRepository, never()).updateAvailability(any(), anyCollection(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should give the taken seats back when the booking transaction rolls back")
+    void take_GivesSeatsBack_WhenTransactionRollsBack() {
+        when(seatRepository.claimSeats(List.of(SEAT_1A))).thenReturn(List.of(SEAT_1A));
+
+        inTransaction(() -> seatInventory.take(List.of(SEAT_1A)), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(3, seatInventory.countSeats(FLIGHT_1.getId(), true));
+        seatInventory.flush();
+        verify(seatRepository, never()).updateAvailability(any(), anyCollection(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should keep a seat taken and reload the flight when the database has it taken although this map showed it available")
+    void take_KeepsSeatTakenAndReloads_WhenDatabaseHasItTaken() {
+        when(seatRepository.claimSeats(List.of(SEAT_1A))).thenReturn(List.of());
+        List<UUID> unavailable = inTransaction(() -> {
+            List<UUID> refused = seatInventory.take(List.of(SEAT_1A));
+            assertFalse(seatInventory.claim(SEAT_1A));
+            stubFlight(List.of(
+                    new SeatAvailabilityDTO(SEAT_10A, "10A", true),
+                    new SeatAvailabilityDTO(SEAT_2B, "2B", false),
+                    new SeatAvailabilityDTO(SEAT_2A, "2A", false),
+                    new SeatAvailabilityDTO(SEAT_1A, "1A", false)
+            ));
+            return refused;
+        }, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of(SEAT_1A), unavailable);
+        assertFalse(seatInventory.claim(SEAT_1A));
+        assertEquals(1, seatInventory.countSeats(FLIGHT_1.getId(), true));
+        verify(seatRepository, times(2)).findAvailabilityByFlightId(FLIGHT_1.getId());
+        verify(flightRepository, never()).addSeatsAvailable(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should take a seat whose release is not written yet without writing the claim")
+    void take_TakesSeatAsIs_WhenReleasePending() {
+        seatInventory.release(SEAT_2B);
+
+        List<UUID> unavailable = inTransaction(() -> seatInventory.take(List.of(SEAT_2B)), TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(unavailable.isEmpty());
+        verify(seatRepository, never()).claimSeats(any());
+        seatInventory.flush();
+        verify(seatRepository).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_2B), false);
+        verify(flightRepository, never()).addSeatsAvailable(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse to take seats outside a transaction")
+    void take_ThrowsIllegalStateException_WhenNoTransaction() {
+        assertThrows(IllegalStateException.class, () -> seatInventory.take(List.of(SEAT_1A)));
+        assertEquals(3, seatInventory.countSeats(FLIGHT_1.getId(), true));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the seat does not exist")
+    void claim_ThrowsResourceNotFoundException_WhenSeatNotFound() {
+        UUID unknownSeat = UUID.randomUUID();
+        when(seatRepository.findFlightIdById(unknownSeat)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> seatInventory.claim(unknownSeat));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException and keep no seat map when the flight does not exist")
+    void getSeats_ThrowsResourceNotFoundException_WhenFlightNotFound() {
+        UUID unknownFlight = UUID.randomUUID();
+        when(seatRepository.findAvailabilityByFlightId(unknownFlight)).thenReturn(List.of());
+        when(flightRepository.existsById(unknownFlight)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> seatInventory.getSeats(unknownFlight));
+        assertThrows(ResourceNotFoundException.class, () -> seatInventory.countSeats(unknownFlight, true));
+        verify(seatRepository, times(2)).findAvailabilityByFlightId(unknownFlight);
+    }
+
+    @Test
+    @DisplayName("Should keep the empty seat map of an existing flight without seats")
+    void getSeats_ReturnsEmptyList_WhenFlightHasNoSeats() {
+        UUID emptyFlight = UUID.randomUUID();
+        when(seatRepository.findAvailabilityByFlightId(emptyFlight)).thenReturn(List.of());
+        when(flightRepository.existsById(emptyFlight)).thenReturn(true);
+
+        assertTrue(seatInventory.getSeats(emptyFlight).isEmpty());
+        assertEquals(0, seatInventory.countSeats(emptyFlight, true));
+        verify(flightRepository, times(1)).existsById(emptyFlight);
+    }
+
+    @Test
+    @DisplayName("Should list seats in seat number order from memory")
+    void getSeats_ReturnsSeatsInSeatNumberOrder() {
+        List<SeatAvailabilityDTO> available = seatInventory.getSeats(FLIGHT_1.getId(), true, 0, 10);
+        List<SeatAvailabilityDTO> secondPage = seatInventory.getSeats(FLIGHT_1.getId(), true, 1, 1);
+
+        assertEquals(List.of("1A", "2A", "10A"), available.stream().map(SeatAvailabilityDTO::seatNumber).toList());
+        assertEquals(List.of("2A"), secondPage.stream().map(SeatAvailabilityDTO::seatNumber).toList());
+        assertEquals(3, seatInventory.countSeats(FLIGHT_1.getId(), true));
+        assertEquals(1, seatInventory.countSeats(FLIGHT_1.getId(), false));
+        verify(seatRepository, times(1)).findAvailabilityByFlightId(FLIGHT_1.getId());
+    }
+
+    @Test
+    @DisplayName("Should write released seats behind in one update per availability value")
+    void flush_WritesChangedSeats_InBatches() {
+        seatInventory.claim(SEAT_1A);
+        seatInventory.release(SEAT_1A);
+        seatInventory.claim(SEAT_10A);
+        seatInventory.release(SEAT_10A);
+        seatInventory.release(SEAT_2B);
+        seatInventory.claim(SEAT_2B);
+
+        seatInventory.flush();
+        seatInventory.flush();
+
+        verify(seatRepository).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_1A, SEAT_10A), true);
+        verify(seatRepository).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_2B), false);
+        verify(seatRepository, times(2)).updateAvailability(any(), anyCollection(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should adjust the flight counter by the number of seats whose flag changed")
+    void flush_AdjustsSeatsAvailable_ByChangedRows() {
+        seatInventory.claim(SEAT_1A);
+        seatInventory.release(SEAT_1A);
+        seatInventory.release(SEAT_2B);
+        when(seatRepository.updateAvailability(FLIGHT_1.getId(), List.of(SEAT_1A, SEAT_2B), true)).thenReturn(1);
+
+        seatInventory.flush();
+
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), 1);
+        verify(flightRepository, times(1)).addSeatsAvailable(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should clear holds and write availability before giving the seats back")
+    void releaseHolds_WritesAvailabilityAndReleasesSeats() {
+        seatInventory.claim(SEAT_1A);
+        seatInventory.claim(SEAT_2A);
+        when(seatRepository.updateAvailability(eq(FLIGHT_1.getId()), anyCollection(), eq(true))).thenReturn(2);
+
+        seatInventory.releaseHolds(List.of(SEAT_1A, SEAT_2A));
+
+        verify(seatRepository).clearHolds(List.of(SEAT_1A, SEAT_2A));
+        verify(seatRepository).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_1A, SEAT_2A), true);
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), 2);
+        assertEquals(3, seatInventory.countSeats(FLIGHT_1.getId(), true));
+    }
+
+    @Test
+    @DisplayName("Should keep changes pending when the write fails")
+    void flush_RetriesChanges_WhenWriteFails() {
+        seatInventory.release(SEAT_2B);
+        when(seatRepository.updateAvailability(any(), anyCollection(), anyBoolean()))
+                .thenThrow(new RuntimeException("connection lost"))
+                .thenReturn(1);
+
+        seatInventory.flush();
+        seatInventory.flush();
+
+        verify(seatRepository, times(2)).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_2B), true);
+        verify(flightRepository, times(1)).addSeatsAvailable(FLIGHT_1.getId(), 1);
+    }
+
+    @Test
+    @DisplayName("Should write pending changes in a transaction of their own when the caller rolls back after refresh")
+    void refresh_KeepsWrittenChanges_WhenCallerRollsBack() {
+        seatInventory.release(SEAT_2B);
+        when(seatRepository.updateAvailability(FLIGHT_1.getId(), List.of(SEAT_2B), true)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            seatInventory.refresh(FLIGHT_1.getId());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        InOrder inOrder = inOrder(transactionManager, seatRepository);
+        inOrder.verify(transactionManager).getTransaction(definition.capture());
+        inOrder.verify(seatRepository).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_2B), true);
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        verify(transactionManager, never()).rollback(any());
+        verify(seatRepository, times(1)).updateAvailability(any(), anyCollection(), anyBoolean());
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), 1);
+    }
+
+    @Test
+    @DisplayName("Should apply changes whose write failed to the reloaded seat map when the flight is refreshed")
+    void refresh_KeepsChanges_WhenWriteFailsWhileEvicting() {
+        seatInventory.release(SEAT_2B);
+        when(seatRepository.updateAvailability(any(), anyCollection(), anyBoolean()))
+                .thenThrow(new RuntimeException("connection lost"))
+                .thenThrow(new RuntimeException("connection lost"))
+                .thenReturn(1);
+
+        seatInventory.refresh(FLIGHT_1.getId());
+
+        assertEquals(4, seatInventory.countSeats(FLIGHT_1.getId(), true));
+        seatInventory.flush();
+        verify(seatRepository, times(2)).findAvailabilityByFlightId(FLIGHT_1.getId());
+        verify(seatRepository, times(3)).updateAvailability(FLIGHT_1.getId(), List.of(SEAT_2B), true);
+        verify(flightRepository, times(1)).addSeatsAvailable(FLIGHT_1.getId(), 1);
+    }
+
+    @Test
+    @DisplayName("Should drop the seat map of a deleted flight without writing its pending changes")
+    void removeAfterCommit_DropsSeatMap_WhenFlightDeleted() {
+        seatInventory.release(SEAT_2B);
+
+        seatInventory.removeAfterCommit(FLIGHT_1.getId());
+        when(seatRepository.findAvailabilityByFlightId(FLIGHT_1.getId())).thenReturn(List.of());
+        seatInventory.flush();
+
+        verify(seatRepository, never()).updateAvailability(any(), anyCollection(), anyBoolean());
+        assertThrows(ResourceNotFoundException.class, () -> seatInventory.countSeats(FLIGHT_1.getId(), true));
+    }
+
+    @Test
+    @DisplayName("Should claim each seat exactly once when many threads race for the same flight")
+    void claim_ClaimsEachSeatOnce_WhenClaimedConcurrently() throws Exception {
+        List<SeatAvailabilityDTO> seats = new ArrayList<>();
+        for (int row = 1; row <= 50; row++) {
+            for (char column : "ABCDEF".toCharArray()) {
+                seats.add(new SeatAvailabilityDTO(UUID.randomUUID(), row + String.valueOf(column), true));
+            }
+        }
+        stubFlight(seats);
+        seatInventory = new SeatInventory(seatRepository, flightRepository, new TransactionTemplate(transactionManager), routeIndex, flightCache);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger claimed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> seats.forEach(seat -> {
+                if (seatInventory.claim(seat.id())) {
+                    claimed.incrementAndGet();
+                }
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(seats.size(), claimed.get());
+        assertEquals(0, seatInventory.countSeats(FLIGHT_1.getId(), true));
+    }
+
+    private static <T> T inTransaction(Supplier<T> work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = work.get();
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void stubFlight(List<SeatAvailabilityDTO> seats) {
+        when(seatRepository.findAvailabilityByFlightId(FLIGHT_1.getId())).thenReturn(seats);
+        when(seatRepository.findFlightIdById(any())).thenReturn(Optional.of(FLIGHT_1.getId()));
+    }
+}
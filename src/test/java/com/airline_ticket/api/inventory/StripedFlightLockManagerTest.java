@@ -0,0 +1,93 @@
+package com.airline_ticket.api.inventory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedFlightLockManagerTest {
+
+    private final StripedFlightLockManager lockManager = new StripedFlightLockManager(16, 100);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should round the number of stripes up to a power of two")
+    void constructor_RoundsStripesUpToPowerOfTwo() {
+        assertEquals(1, new StripedFlightLockManager(1, 100).stripeCount());
+        assertEquals(16, new StripedFlightLockManager(16, 100).stripeCount());
+        assertEquals(32, new StripedFlightLockManager(17, 100).stripeCount());
+    }
+
+    @Test
+    @DisplayName("Should make another transaction wait for the flight until the holder completes")
+    void lock_BlocksOtherTransactions_UntilCompletion() throws Exception {
+        UUID flightId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        lockManager.lock(flightId);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> lockInOtherTransaction(List.of(flightId)).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(CannotAcquireLockException.class, thrown.getCause());
+
+        complete();
+        lockInOtherTransaction(List.of(flightId)).get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should not block transactions on flights of another stripe")
+    void lock_DoesNotBlock_WhenFlightsOnDifferentStripes() throws Exception {
+        UUID flightId = UUID.randomUUID();
+        UUID otherFlightId = UUID.randomUUID();
+        while (lockManager.stripeOf(otherFlightId) == lockManager.stripeOf(flightId)) {
+            otherFlightId = UUID.randomUUID();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        lockManager.lock(flightId);
+
+        lockInOtherTransaction(List.of(otherFlightId)).get(1, TimeUnit.SECONDS);
+        complete();
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalStateException when called outside a transaction")
+    void lock_ThrowsIllegalStateException_WhenNoTransaction() {
+        assertThrows(IllegalStateException.class, () -> lockManager.lock(UUID.randomUUID()));
+    }
+
+    private CompletableFuture<Void> lockInOtherTransaction(List<UUID> flightIds) {
+        return CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockManager.lock(flightIds);
+                complete();
+            } finally {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }
+        });
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+    }
+}
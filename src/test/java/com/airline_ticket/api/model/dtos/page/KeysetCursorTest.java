@@ -0,0 +1,47 @@
+package com.airline_ticket.api.model.dtos.page;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    private static final UUID ID = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b");
+
+    @Test
+    @DisplayName("Should decode an encoded cursor back to the same sort key and id")
+    void decode_ReturnsSameCursor_WhenEncoded() {
+        ZonedDateTime departure = ZonedDateTime.of(2024, 12, 1, 10, 30, 0, 0, ZoneOffset.ofHours(-3));
+        KeysetCursor cursor = KeysetCursor.of(departure, ID);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertTrue(departure.isEqual(decoded.timeKey()));
+        assertEquals(KeysetCursor.of(ID), KeysetCursor.decode(KeysetCursor.of(ID).encode()));
+    }
+
+    @Test
+    @DisplayName("Should return null for a blank cursor, which asks for the first page")
+    void decode_ReturnsNull_WhenBlank() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the cursor was not issued by the API")
+    void decode_ThrowsIllegalArgumentException_WhenInvalid() {
+        String notAnId = Base64.getUrlEncoder().encodeToString("2024-12-01T10:30:00Z|42".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(notAnId));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(KeysetCursor.of(ID).encode()).timeKey());
+    }
+}
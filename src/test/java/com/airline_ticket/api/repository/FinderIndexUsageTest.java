@@ -0,0 +1,223 @@
+package com.airline_ticket.api.repository;
+
+import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Calls each repository finder, captures the SQL Hibernate generates for it with a
+ * {@link StatementInspector}, and checks that the plan of that statement reads an index. The
+ * statement is prepared as is and explained with {@code EXPLAIN EXECUTE} for the arguments the
+ * finder was called with, so the plan is the one PostgreSQL picks for those values. The foreign
+ * key lookups of cascading deletes are run by PostgreSQL itself and are explained as written.
+ * Sequential scans are disabled for the transaction, so the planner only falls back to one when
+ * no index matches the predicate, whatever the size of the tables. Requires a PostgreSQL
+ * database, so it only runs when DATABASE_URL is set.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.airline_ticket.api.repository.FinderIndexUsageTest$CapturingStatementInspector")
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+public class FinderIndexUsageTest {
+    private static final UUID ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final ZonedDateTime START = ZonedDateTime.parse("2024-12-01T00:00:00Z");
+    private static final ZonedDateTime END = ZonedDateTime.parse("2024-12-02T00:00:00Z");
+    private static final Pageable PAGE = Pageable.ofSize(10);
+
+    /**
+     * Records the statements prepared on the calling thread while {@link #capture(Runnable)} runs.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+        private static final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        static String capture(Runnable call) {
+            List<String> statements = new ArrayList<>();
+            captured.set(statements);
+            try {
+                call.run();
+            } finally {
+                captured.remove();
+            }
+            assertTrue(!statements.isEmpty(), "No statement was captured");
+            return statements.get(0);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = captured.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    private record Finder(String name, String sql, List<Object> arguments) {
+    }
+
+    @Autowired
+    private FlightRepository flightRepository;
+    @Autowired
+    private SeatRepository seatRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private PassengerRepository passengerRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should use an index for every repository finder and foreign key lookup")
+    void explain_UsesIndex_ForEveryFinder() {
+        List<Finder> finders = new ArrayList<>();
+        finders.add(generated("FlightRepository.findByFlightNumber",
+                () -> flightRepository.findByFlightNumber("DL123"), "DL123"));
+        finders.add(generated("FlightRepository.findByAirlineContainingIgnoreCase",
+                () -> flightRepository.findByAirlineContainingIgnoreCase("delta", PAGE), "%delta%", 10));
+        finders.add(generated("FlightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual",
+                () -> flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual("London", "Tokyo", 1, PAGE),
+                "London", "Tokyo", 1, 10));
+        finders.add(generated("FlightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual",
+                () -> flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(
+                        "London", "Tokyo", START, END, 1, PAGE),
+                "London", "Tokyo", START, END, 1, 10));
+        finders.add(generated("FlightSpecifications.matching",
+                () -> flightRepository.findAll(FlightSpecifications.matching(
+                        new FlightSearchDTO("London", "Tokyo", START, null, null, null, null, null, "del", null)), PAGE),
+                "LONDON", "TOKYO", START, "%DEL%", 0, 10));
+        finders.add(generated("FlightRepository.findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc",
+                () -> flightRepository.findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc(
+                        "London", START, END, 1),
+                "London", START, END, 1));
+        finders.add(generated("FlightRepository.findByOriginContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual",
+                () -> flightRepository.findByOriginContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual("lond", 1, PAGE),
+                "%lond%", 1, 10));
+        finders.add(generated("FlightRepository.findByDestinationContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual",
+                () -> flightRepository.findByDestinationContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual("toky", 1, PAGE),
+                "%toky%", 1, 10));
+        finders.add(generated("FlightRepository.findByDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual",
+                () -> flightRepository.findByDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(START, END, 1, PAGE),
+                START, END, 1, 10));
+        finders.add(generated("FlightRepository.findByArrivalTimeBetween",
+                () -> flightRepository.findByArrivalTimeBetween(START, END, PAGE), START, END, 10));
+        finders.add(generated("FlightRepository.findByPrice",
+                () -> flightRepository.findByPrice(299.99, PAGE), 299.99, 10));
+
+        finders.add(generated("SeatRepository.findBySeatNumber",
+                () -> seatRepository.findBySeatNumber("1A", PAGE), "1A", 10));
+        finders.add(generated("SeatRepository.findByFlightId",
+                () -> seatRepository.findByFlightId(ID, PAGE), ID, 10));
+        finders.add(generated("SeatRepository.findByFlightIdAndIsAvailable",
+                () -> seatRepository.findByFlightIdAndIsAvailable(ID, true, PAGE), ID, true, 10));
+        finders.add(generated("SeatRepository.findByHeldUntilAfter",
+                () -> seatRepository.findByHeldUntilAfter(START), START));
+
+        finders.add(generated("ReservationRepository.findBySeatId",
+                () -> reservationRepository.findBySeatId(ID, PAGE), ID, 10));
+        finders.add(generated("ReservationRepository.findByPassengerId",
+                () -> reservationRepository.findByPassengerId(ID, PAGE), ID, 10));
+        finders.add(generated("ReservationRepository.findByReservationDate",
+                () -> reservationRepository.findByReservationDate(START, PAGE), START, 10));
+
+        finders.add(generated("TicketRepository.findByTicketNumber",
+                () -> ticketRepository.findByTicketNumber("9570000010006"), "9570000010006"));
+        finders.add(generated("TicketRepository.findByReservationId",
+                () -> ticketRepository.findByReservationId(ID), ID));
+        finders.add(new Finder("tickets.flight_id foreign key", "SELECT * FROM tickets WHERE flight_id = ?", List.of(ID)));
+
+        finders.add(generated("PassengerRepository.findByEmail",
+                () -> passengerRepository.findByEmail("john@example.com"), "john@example.com"));
+        finders.add(generated("PassengerRepository.findByPhone",
+                () -> passengerRepository.findByPhone("5511999999999"), "5511999999999"));
+        finders.add(generated("PassengerRepository.findByNameContaining",
+                () -> passengerRepository.findByNameContaining("John", PAGE), "%John%", 10));
+        finders.add(generated("EmployeeRepository.findByEmail",
+                () -> employeeRepository.findByEmail("admin@example.com"), "admin@example.com"));
+        finders.add(generated("EmployeeRepository.findByNameContaining",
+                () -> employeeRepository.findByNameContaining("Mary", PAGE), "%Mary%", 10));
+
+        finders.add(generated("FlightService.getFlightsAfter",
+                () -> flightRepository.findBy(Keyset.<Flight, ZonedDateTime>after("departureTime", START, ID),
+                        query -> query.sortBy(Keyset.sort("departureTime")).limit(11).all()),
+                START, START, ID, 11));
+        finders.add(generated("ReservationService.getReservationsAfter",
+                () -> reservationRepository.findBy(Keyset.<Reservation, ZonedDateTime>after("reservationDate", START, ID),
+                        query -> query.sortBy(Keyset.sort("reservationDate")).limit(11).all()),
+                START, START, ID, 11));
+        finders.add(generated("SeatService.getSeatsAfter",
+                () -> seatRepository.findBy(Keyset.<Seat>afterId(ID),
+                        query -> query.sortBy(Keyset.sortById()).limit(11).all()),
+                ID, 11));
+
+        List<Executable> assertions = new ArrayList<>();
+        finders.forEach(finder -> {
+            String plan = explain(finder);
+            assertions.add(() -> assertTrue(plan.contains("Index") && !plan.contains("Seq Scan"),
+                    finder.name() + " does not use an index:\n" + finder.sql() + "\n" + plan));
+        });
+        assertAll(assertions);
+    }
+
+    private static Finder generated(String name, Runnable call, Object... arguments) {
+        return new Finder(name, CapturingStatementInspector.capture(call), List.of(arguments));
+    }
+
+    /**
+     * Prepares the statement with numbered parameters in place of its placeholders and explains
+     * its execution with the arguments as literals, whose types PostgreSQL infers from the
+     * columns they are compared with.
+     */
+    private String explain(Finder finder) {
+        String[] parts = finder.sql().split("\\?", -1);
+        assertEquals(finder.arguments().size(), parts.length - 1,
+                finder.name() + " binds a different number of parameters:\n" + finder.sql());
+        StringBuilder prepared = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            prepared.append('$').append(i).append(parts[i]);
+        }
+        String arguments = finder.arguments().stream().map(FinderIndexUsageTest::literal).collect(Collectors.joining(", "));
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("PREPARE finder AS " + prepared);
+            try {
+                return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE finder(" + arguments + ")", String.class));
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE finder");
+            }
+        });
+    }
+
+    private static String literal(Object argument) {
+        if (argument instanceof Number || argument instanceof Boolean) {
+            return argument.toString();
+        }
+        return "'" + argument.toString().replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,163 @@
+package com.airline_ticket.api.repository;
+
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.exceptions.handler.GlobalExceptionHandler;
+import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.Passenger;
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.UuidV7;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import com.airline_ticket.api.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Books one seat from many threads at once against the database, once through the guarded
+ * update alone and once through the whole booking path, and expects exactly one winner. A
+ * reservation that slips past both still hits the unique index and is answered with 409.
+ * Requires a PostgreSQL database, so it only runs when DATABASE_URL is set.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+public class SeatClaimConcurrencyTest {
+    private static final int BOOKINGS = 200;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private FlightRepository flightRepository;
+    @Autowired
+    private SeatRepository seatRepository;
+    @Autowired
+    private PassengerRepository passengerRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Flight flight;
+    private Passenger passenger;
+    private Seat seat;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        flight = flightRepository.save(new Flight(UUID.randomUUID(), "Concurrency Air", "CC" + suffix, "GRU", "LIS",
+                ZonedDateTime.now().plusDays(30), ZonedDateTime.now().plusDays(30).plusHours(10), 500.0));
+        passenger = passengerRepository.save(new Passenger(UUID.randomUUID(), "Concurrency", suffix + "@concurrency.com",
+                "password", suffix));
+        seat = seatRepository.save(new Seat("1A", true, flight));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Queued rows go first, so this transaction takes its locks in the same order as
+            // a ticket issuance run that is still draining them.
+            entityManager.createNativeQuery("DELETE FROM ticket_issuance_queue q USING reservations r " +
+                            "WHERE q.reservation_id = r.id AND r.seat_id = :seatId")
+                    .setParameter("seatId", seat.getId()).executeUpdate();
+            entityManager.createQuery("DELETE FROM Ticket t WHERE t.flight.id = :flightId")
+                    .setParameter("flightId", flight.getId()).executeUpdate();
+            entityManager.createQuery("DELETE FROM Reservation r WHERE r.seat.id = :seatId")
+                    .setParameter("seatId", seat.getId()).executeUpdate();
+        });
+        seatRepository.deleteById(seat.getId());
+        flightRepository.deleteById(flight.getId());
+        passengerRepository.deleteById(passenger.getId());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many parallel guarded updates take the seat")
+    void claimSeats_TakesSeatOnce_WhenClaimedConcurrently() throws Exception {
+        int won = race(() -> transactionTemplate.execute(status -> seatRepository.claimSeats(List.of(seat.getId()))).size());
+
+        assertEquals(1, won);
+        assertFalse(seatRepository.findById(seat.getId()).orElseThrow().getAvailable());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many parallel bookings of the same seat succeed")
+    void createReservation_OnlyOneBookingWins_WhenSeatBookedConcurrently() throws Exception {
+        ReservationRequestDTO requestDTO = new ReservationRequestDTO(seat.getId(), passenger.getId());
+
+        int won = race(() -> {
+            try {
+                reservationService.createReservation(requestDTO);
+                return 1;
+            } catch (SeatNotAvailableException e) {
+                return 0;
+            }
+        });
+
+        assertEquals(1, won);
+        assertEquals(1, reservationRepository.findBySeatId(seat.getId(), Pageable.unpaged()).getTotalElements());
+        assertFalse(seatRepository.findById(seat.getId()).orElseThrow().getAvailable());
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when a second reservation of the seat hits the unique index")
+    void handleDataIntegrityViolationException_ReturnsConflict_WhenSeatAlreadyReserved() {
+        reservationService.createReservation(new ReservationRequestDTO(seat.getId(), passenger.getId()));
+        Seat reserved = seatRepository.findById(seat.getId()).orElseThrow();
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> reservationRepository.saveAndFlush(new Reservation(UuidV7.randomUUID(), ZonedDateTime.now(), reserved, passenger)));
+
+        assertEquals(HttpStatus.CONFLICT, new GlobalExceptionHandler().handleDataIntegrityViolationException(thrown).getStatusCode());
+    }
+
+    private int race(Callable<Integer> booking) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger won = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                won.addAndGet(booking.call());
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return won.get();
+    }
+}
@@ -0,0 +1,61 @@
+package com.airline_ticket.api.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the estimate with an exact count on a scratch table, before and after it is
+ * analyzed. Requires a PostgreSQL database, so it only runs when DATABASE_URL is set.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+public class TableStatisticsRepositoryTest {
+    private static final String TABLE = "table_statistics_test";
+
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (id BIGINT PRIMARY KEY, payload TEXT)");
+        insertRows(0, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+
+    @Test
+    @DisplayName("Should count exactly while the table has no statistics")
+    void estimateRowCount_CountsExactly_WhenNeverAnalyzed() {
+        assertEquals(10_000, tableStatisticsRepository.estimateRowCount(TABLE));
+    }
+
+    @Test
+    @DisplayName("Should scale the analyzed row density to the current size of the table")
+    void estimateRowCount_FollowsGrowth_WhenAnalyzedBefore() {
+        jdbcTemplate.execute("ANALYZE " + TABLE);
+        insertRows(10_000, 20_000);
+
+        long estimate = tableStatisticsRepository.estimateRowCount(TABLE);
+
+        assertTrue(Math.abs(estimate - 20_000) < 2_000, "Estimated " + estimate + " rows instead of about 20000");
+    }
+
+    private void insertRows(int from, int to) {
+        jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT n, md5(n::text) FROM generate_series(?, ?) n", from + 1, to);
+    }
+}
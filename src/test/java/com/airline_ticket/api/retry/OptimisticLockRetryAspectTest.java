@@ -0,0 +1,96 @@
+package com.airline_ticket.api.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SeatUpdater seatUpdater;
+    private SeatUpdater proxy;
+
+    @BeforeEach
+    void setUp() {
+        seatUpdater = new SeatUpdater();
+        AspectJProxyFactory factory = new AspectJProxyFactory(seatUpdater);
+        factory.addAspect(new OptimisticLockRetryAspect(meterRegistry, 3, 1, 5));
+        proxy = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should run the method again until it no longer loses the optimistic lock")
+    void retry_ReturnsResult_WhenLaterAttemptSucceeds() {
+        seatUpdater.failures = 2;
+
+        assertEquals("updated", proxy.update());
+
+        assertEquals(3, seatUpdater.calls);
+        assertEquals(2, meterRegistry.counter("optimistic.lock.retries", "method", "SeatUpdater.update").count());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the failure and count it once the attempts are used up")
+    void retry_ThrowsOptimisticLockingFailure_WhenAttemptsExhausted() {
+        seatUpdater.failures = 5;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.update());
+
+        assertEquals(3, seatUpdater.calls);
+        assertEquals(1, meterRegistry.counter("optimistic.lock.exhausted", "method", "SeatUpdater.update").count());
+    }
+
+    @Test
+    @DisplayName("Should not retry failures other than optimistic locking")
+    void retry_DoesNotRetry_WhenOtherFailure() {
+        assertThrows(IllegalArgumentException.class, () -> proxy.reject());
+
+        assertEquals(1, seatUpdater.calls);
+    }
+
+    @Test
+    @DisplayName("Should not retry when the method joins a transaction of its caller")
+    void retry_DoesNotRetry_WhenTransactionAlreadyActive() {
+        seatUpdater.failures = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.update());
+
+        assertEquals(1, seatUpdater.calls);
+    }
+
+    static class SeatUpdater {
+        int failures;
+        int calls;
+
+        @RetryOnOptimisticLock
+        public String update() {
+            calls++;
+            if (calls <= failures) {
+                throw new ObjectOptimisticLockingFailureException("Seat", UUID.randomUUID());
+            }
+            return "updated";
+        }
+
+        @RetryOnOptimisticLock
+        public String reject() {
+            calls++;
+            throw new IllegalArgumentException("Invalid seat.");
+        }
+    }
+}
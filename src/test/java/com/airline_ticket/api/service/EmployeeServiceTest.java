@@ -16,6 +16,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -48,14 +50,15 @@ class EmployeeServiceTest {
     void getAllEmployees_ReturnsEmployees_WhenSuccessful() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        Page<Employee> page = new PageImpl<>(Arrays.asList(EMPLOYEE_1, EMPLOYEE_2), pageable, 2);
+        Slice<Employee> slice = new SliceImpl<>(Arrays.asList(EMPLOYEE_1, EMPLOYEE_2), pageable, false);
 
-        when(employeeRepository.findAll(pageable)).thenReturn(page);
+        when(employeeRepository.findAllBy(pageable)).thenReturn(slice);
 
-        Page<EmployeeDTO> result = employeeService.getAllEmployees(pageable);
+        Slice<EmployeeDTO> result = employeeService.getAllEmployees(pageable);
 
         assertNotNull(result);
-        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.getNumberOfElements());
+        assertFalse(result.hasNext());
         assertTrue(result.getContent().contains(EMPLOYEE_DTO_1));
         assertTrue(result.getContent().contains(EMPLOYEE_DTO_2));
     }
@@ -63,12 +66,12 @@ class EmployeeServiceTest {
     @Test
     @DisplayName("Should return an empty list of employees inside page object when there are no employees")
     void getAllEmployees_ReturnsEmployees_WhenThereAreNoEmployees() {
-        Page<Employee> emptyEmployeePage = new PageImpl<>(Collections.emptyList());
+        Slice<Employee> emptyEmployeeSlice = new SliceImpl<>(Collections.emptyList());
         Pageable pageable = mock(Pageable.class);
 
-        when(employeeRepository.findAll(pageable)).thenReturn(emptyEmployeePage);
+        when(employeeRepository.findAllBy(pageable)).thenReturn(emptyEmployeeSlice);
 
-        Page<EmployeeDTO> result = employeeService.getAllEmployees(pageable);
+        Slice<EmployeeDTO> result = employeeService.getAllEmployees(pageable);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
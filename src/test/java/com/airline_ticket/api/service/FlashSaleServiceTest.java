@@ -0,0 +1,190 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.FlashSaleQueueFullException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.inventory.SeatInventory;
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.PassengerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_1;
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_1;
+import static com.airline_ticket.api.constants.ReservationConstants.RESERVATION_REQUEST_DTO;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_2;
+import static com.airline_ticket.api.constants.SeatConstants.seat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class FlashSaleServiceTest {
+
+    private FlashSaleService flashSaleService;
+    @Mock
+    private ReservationService reservationService;
+    @Mock
+    private SeatInventory seatInventory;
+    @Mock
+    private PassengerRepository passengerRepository;
+    @Mock
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        flashSaleService = new FlashSaleService(reservationService, seatInventory, passengerRepository, flightRepository, 1, 1);
+        when(flightRepository.existsById(FLIGHT_1.getId())).thenReturn(true);
+        when(seatInventory.getFlightId(any())).thenReturn(FLIGHT_1.getId());
+        when(passengerRepository.findAllById(any())).thenReturn(List.of(PASSENGER_1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        flashSaleService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should leave the booking to the caller when the flight is not in flash-sale mode")
+    void submit_ReturnsEmpty_WhenFlashSaleDisabled() {
+        assertTrue(flashSaleService.submit(RESERVATION_REQUEST_DTO).isEmpty());
+        verify(reservationService, never()).reserveAvailableSeats(any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should book a queued request on the writer thread when the flight is in flash-sale mode")
+    void submit_BooksOnWriter_WhenFlashSaleEnabled() throws Exception {
+        ReservationDTO reservationDTO = reservationDTO(SEAT_ID_1);
+        when(reservationService.reserveAvailableSeats(eq(FLIGHT_1.getId()), anyMap())).thenReturn(Map.of(SEAT_ID_1, reservationDTO));
+        flashSaleService.enable(FLIGHT_1.getId());
+
+        Optional<CompletableFuture<ReservationDTO>> result = flashSaleService.submit(RESERVATION_REQUEST_DTO);
+
+        assertTrue(result.isPresent());
+        assertEquals(reservationDTO, result.get().get(5, TimeUnit.SECONDS));
+        verify(reservationService).reserveAvailableSeats(FLIGHT_1.getId(), Map.of(SEAT_ID_1, PASSENGER_1));
+    }
+
+    @Test
+    @DisplayName("Should throw FlashSaleQueueFullException right away when the flight's queue is full")
+    void submit_ThrowsFlashSaleQueueFullException_WhenQueueFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reservationService.reserveAvailableSeats(eq(FLIGHT_1.getId()), anyMap())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        flashSaleService.enable(FLIGHT_1.getId());
+
+        CompletableFuture<ReservationDTO> first = flashSaleService.submit(RESERVATION_REQUEST_DTO).orElseThrow();
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        flashSaleService.submit(new ReservationRequestDTO(SEAT_ID_2, PASSENGER_1.getId())).orElseThrow();
+
+        assertThrows(FlashSaleQueueFullException.class, () -> flashSaleService.submit(RESERVATION_REQUEST_DTO));
+
+        release.countDown();
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SeatNotAvailableException.class, thrown.getCause());
+    }
+
+    @Test
+    @DisplayName("Should fail only the bookings whose seat is taken and insert the others together")
+    void book_FailsOnlyTakenSeats_WhenBatchPartlyAvailable() {
+        ReservationDTO reservationDTO = reservationDTO(SEAT_ID_2);
+        FlashSaleQueue.Booking taken = new FlashSaleQueue.Booking(RESERVATION_REQUEST_DTO);
+        FlashSaleQueue.Booking free = new FlashSaleQueue.Booking(new ReservationRequestDTO(SEAT_ID_2, PASSENGER_1.getId()));
+        when(reservationService.reserveAvailableSeats(FLIGHT_1.getId(), Map.of(SEAT_ID_1, PASSENGER_1, SEAT_ID_2, PASSENGER_1)))
+                .thenReturn(Map.of(SEAT_ID_2, reservationDTO));
+
+        flashSaleService.book(FLIGHT_1.getId(), List.of(taken, free));
+
+        assertTrue(taken.result().isCompletedExceptionally());
+        assertEquals(reservationDTO, free.result().join());
+    }
+
+    @Test
+    @DisplayName("Should fail a second booking of the same seat in one batch without passing it on")
+    void book_FailsRepeatedSeat_WhenSeatQueuedTwice() {
+        ReservationDTO reservationDTO = reservationDTO(SEAT_ID_1);
+        FlashSaleQueue.Booking first = new FlashSaleQueue.Booking(RESERVATION_REQUEST_DTO);
+        FlashSaleQueue.Booking repeated = new FlashSaleQueue.Booking(RESERVATION_REQUEST_DTO);
+        when(reservationService.reserveAvailableSeats(FLIGHT_1.getId(), Map.of(SEAT_ID_1, PASSENGER_1)))
+                .thenReturn(Map.of(SEAT_ID_1, reservationDTO));
+
+        flashSaleService.book(FLIGHT_1.getId(), List.of(first, repeated));
+
+        assertEquals(reservationDTO, first.result().join());
+        CompletionException thrown = assertThrows(CompletionException.class, () -> repeated.result().join());
+        assertInstanceOf(SeatNotAvailableException.class, thrown.getCause());
+    }
+
+    @Test
+    @DisplayName("Should skip a booking cancelled before the writer claimed it")
+    void book_SkipsBooking_WhenCancelledBeforeClaim() {
+        FlashSaleQueue.Booking cancelled = new FlashSaleQueue.Booking(RESERVATION_REQUEST_DTO);
+
+        assertTrue(cancelled.result().cancel(false));
+        flashSaleService.book(FLIGHT_1.getId(), List.of(cancelled));
+
+        assertTrue(cancelled.result().isCancelled());
+        verify(reservationService, never()).reserveAvailableSeats(any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should not cancel a booking the writer has claimed, so its result is still delivered")
+    void book_CompletesBooking_WhenCancelledAfterClaim() {
+        ReservationDTO reservationDTO = reservationDTO(SEAT_ID_1);
+        FlashSaleQueue.Booking booking = new FlashSaleQueue.Booking(RESERVATION_REQUEST_DTO);
+        when(reservationService.reserveAvailableSeats(eq(FLIGHT_1.getId()), anyMap())).thenAnswer(invocation -> {
+            assertFalse(booking.result().cancel(false));
+            return Map.of(SEAT_ID_1, reservationDTO);
+        });
+
+        flashSaleService.book(FLIGHT_1.getId(), List.of(booking));
+
+        assertFalse(booking.result().isCancelled());
+        assertEquals(reservationDTO, booking.result().join());
+    }
+
+    @Test
+    @DisplayName("Should fail every booking of the batch when its transaction fails")
+    void book_FailsAllBookings_WhenReserveFails() {
+        FlashSaleQueue.Booking first = new FlashSaleQueue.Booking(RESERVATION_REQUEST_DTO);
+        FlashSaleQueue.Booking second = new FlashSaleQueue.Booking(new ReservationRequestDTO(SEAT_ID_2, PASSENGER_1.getId()));
+        when(reservationService.reserveAvailableSeats(eq(FLIGHT_1.getId()), anyMap()))
+                .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        flashSaleService.book(FLIGHT_1.getId(), List.of(first, second));
+
+        assertTrue(first.result().isCompletedExceptionally());
+        assertTrue(second.result().isCompletedExceptionally());
+        verify(seatInventory, never()).release(any());
+    }
+
+    private static ReservationDTO reservationDTO(UUID seatId) {
+        return ReservationDTO.toReservationDTO(new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat(seatId, "1A", false), PASSENGER_1));
+    }
+}
@@ -1,28 +1,45 @@
 package com.airline_ticket.api.service;
 
+import com.airline_ticket.api.cache.FlightCache;
 import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
+import com.airline_ticket.api.inventory.LocationIndex;
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.inventory.SeatInventory;
 import com.airline_ticket.api.model.Flight;
 import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.flight.FlightSearchDTO;
+import com.airline_ticket.api.model.dtos.flight.FlightUpdateDTO;
+import com.airline_ticket.api.model.dtos.page.KeysetCursor;
+import com.airline_ticket.api.model.dtos.page.KeysetPage;
 import com.airline_ticket.api.repository.FlightRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static com.airline_ticket.api.constants.FlightConstants.*;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
@@ -37,6 +54,16 @@ class FlightServiceTest {
     private FlightService flightService;
     @Mock
     private FlightRepository flightRepository;
+    @Mock
+    private RouteIndex routeIndex;
+    @Mock
+    private LocationIndex locationIndex;
+    @Mock
+    private SeatInventory seatInventory;
+    @Mock
+    private FlashSaleService flashSaleService;
+    @Spy
+    private FlightCache flightCache = new FlightCache(new SimpleMeterRegistry(), 100, 60, 100, 15);
 
     @BeforeEach
     void setUp() {
@@ -69,12 +96,46 @@ class FlightServiceTest {
     @DisplayName("Should return a flight by flight number when successful")
     void getFlightByFlightNumber_ReturnsFlight_WhenFlightNumberExists() {
         when(flightRepository.findByFlightNumber(FLIGHT_1.getFlightNumber())).thenReturn(Optional.of(FLIGHT_1));
+        when(flightRepository.findById(FLIGHT_1.getId())).thenReturn(Optional.of(FLIGHT_1));
 
         FlightDTO result = flightService.getFlightByFlightNumber(FLIGHT_1.getFlightNumber());
 
         Assertions.assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("Should read a flight from the repository once when it is looked up again by id or flight number")
+    void getFlightById_ReadsRepositoryOnce_WhenLookedUpAgain() {
+        Flight flight = flight("GA900");
+        when(flightRepository.findById(flight.getId())).thenReturn(Optional.of(flight));
+        when(flightRepository.findByFlightNumber("GA900")).thenReturn(Optional.of(flight));
+
+        flightService.getFlightById(flight.getId());
+        flightService.getFlightById(flight.getId());
+        flightService.getFlightByFlightNumber("GA900");
+        flightService.getFlightByFlightNumber("GA900");
+
+        verify(flightRepository, times(1)).findById(flight.getId());
+        verify(flightRepository, times(1)).findByFlightNumber("GA900");
+    }
+
+    @Test
+    @DisplayName("Should reload a cached flight once it is updated, and forget its old flight number")
+    void updateFlight_InvalidatesCachedFlight() {
+        Flight flight = flight("GA900");
+        when(flightRepository.findById(flight.getId())).thenReturn(Optional.of(flight));
+        when(flightRepository.findByFlightNumber("GA900")).thenReturn(Optional.of(flight));
+        when(flightRepository.save(any(Flight.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        flightService.getFlightByFlightNumber("GA900");
+
+        flightService.updateFlight(new FlightUpdateDTO(flight.getId(), flight.getAirline(), "GA901", flight.getOrigin(),
+                flight.getDestination(), flight.getDepartureTime(), flight.getArrivalTime(), flight.getPrice(), flight.getVersion()));
+        when(flightRepository.findByFlightNumber("GA900")).thenReturn(Optional.empty());
+
+        assertEquals("GA901", flightService.getFlightById(flight.getId()).flightNumber());
+        assertThrows(ResourceNotFoundException.class, () -> flightService.getFlightByFlightNumber("GA900"));
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when getting a flight by non-existing number")
     void getFlightByFlightNumber_ThrowsResourceNotFoundException_WhenFlightNumberNotFound() {
@@ -123,23 +184,123 @@ class FlightServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Flight> page = new PageImpl<>(List.of(FLIGHT_1));
 
-        when(flightRepository.findByOriginAndDestination(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), pageable)).thenReturn(page);
+        when(flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), 0, pageable)).thenReturn(page);
 
-        Page<FlightDTO> result = flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), pageable);
+        Page<FlightDTO> result = flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), null, pageable);
 
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    @DisplayName("Should query the route without surrounding spaces and ignoring case while the route index is cold")
+    void getFlightsByLocation_WhenRouteIndexCold_QueriesTrimmedRouteIgnoringCase() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual("new york", "LONDON", 0, pageable))
+                .thenReturn(new PageImpl<>(List.of(FLIGHT_1)));
+
+        Page<FlightDTO> result = flightService.getFlightsByLocation(" new york", "LONDON ", null, pageable);
+
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should only return flights with at least the requested number of available seats")
+    void getFlightsByLocation_WhenMinSeatsProvided_FiltersBySeatsAvailable() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Flight> page = new PageImpl<>(List.of(FLIGHT_1));
+
+        when(flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), 3, pageable)).thenReturn(page);
+
+        Page<FlightDTO> result = flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), 3, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(flightRepository).findByOriginIgnoreCaseAndDestinationIgnoreCaseAndSeatsAvailableGreaterThanEqual(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), 3, pageable);
+    }
+
+    @Test
+    @DisplayName("Should answer route searches from the route index without querying the database once it is loaded")
+    void getFlightsByLocation_WhenRouteIndexReady_ReturnsFlightsFromIndex() {
+        Pageable pageable = PageRequest.of(0, 10);
+        ZonedDateTime start = FLIGHT_1.getDepartureTime().minusDays(1);
+        ZonedDateTime end = FLIGHT_1.getDepartureTime().plusDays(1);
+        when(routeIndex.isReady()).thenReturn(true);
+        when(routeIndex.find(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), start, end, 2)).thenReturn(List.of(FLIGHT_DTO_1));
+
+        Page<FlightDTO> result = flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), start, end, 2, pageable);
+
+        assertEquals(List.of(FLIGHT_DTO_1), result.getContent());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when a departure range is given without both origin and destination")
+    void getFlightsByLocation_WhenRangeWithoutRoute_ShouldThrowException() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), null,
+                FLIGHT_1.getDepartureTime(), null, null, pageable));
+    }
+
+    @Test
+    @DisplayName("Should search with the supplied criteria ordered by departure time and id")
+    @SuppressWarnings("unchecked")
+    void searchFlights_OrdersByDepartureTimeAndId_WhenNoSortRequested() {
+        FlightSearchDTO criteria = new FlightSearchDTO(FLIGHT_1.getOrigin(), FLIGHT_1.getDestination(), null, null, null, null, null, 900.0, null, null);
+        when(flightRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(FLIGHT_1)));
+
+        Page<FlightDTO> result = flightService.searchFlights(criteria, PageRequest.of(2, 10));
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(flightRepository).findAll(any(Specification.class), pageable.capture());
+        assertEquals(PageRequest.of(2, 10, Sort.by("departureTime", "id")), pageable.getValue());
+        assertEquals(List.of(FLIGHT_DTO_1), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should return one page of flights and the cursor of its last flight when more follow")
+    @SuppressWarnings("unchecked")
+    void getFlightsAfter_ReturnsNextCursor_WhenMoreFlightsFollow() {
+        when(flightRepository.findBy(any(Specification.class), any())).thenReturn(List.of(FLIGHT_1, FLIGHT_2));
+
+        KeysetPage<FlightDTO> result = flightService.getFlightsAfter("", 1);
+
+        assertEquals(List.of(FlightDTO.flightToDTO(FLIGHT_1)), result.content());
+        assertEquals(KeysetCursor.of(FLIGHT_1.getDepartureTime(), FLIGHT_1.getId()), KeysetCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    @SuppressWarnings("unchecked")
+    void getFlightsAfter_ReturnsNoCursor_WhenLastPage() {
+        String after = KeysetCursor.of(FLIGHT_1.getDepartureTime(), FLIGHT_1.getId()).encode();
+        when(flightRepository.findBy(any(Specification.class), any())).thenReturn(List.of(FLIGHT_2));
+
+        KeysetPage<FlightDTO> result = flightService.getFlightsAfter(after, 1);
+
+        assertEquals(List.of(FlightDTO.flightToDTO(FLIGHT_2)), result.content());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the departure range is reversed")
+    void searchFlights_WhenRangeReversed_ShouldThrowException() {
+        FlightSearchDTO criteria = new FlightSearchDTO(null, null, FLIGHT_1.getDepartureTime(), FLIGHT_1.getDepartureTime().minusDays(1),
+                null, null, null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> flightService.searchFlights(criteria, PageRequest.of(0, 10)));
+        verifyNoInteractions(flightRepository);
+    }
+
     @Test
     @DisplayName("Should return flights when only origin is provided")
     void getFlightsByLocation_WhenOnlyOriginProvided_ShouldReturnFlights() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Flight> flightPage = new PageImpl<>(List.of(FLIGHT_1));
 
-        when(flightRepository.findByOriginContainingIgnoreCase(FLIGHT_1.getOrigin(), pageable))
+        when(flightRepository.findByOriginContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual(FLIGHT_1.getOrigin(), 0, pageable))
                 .thenReturn(flightPage);
 
-        Page<FlightDTO> result = flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), null, pageable);
+        Page<FlightDTO> result = flightService.getFlightsByLocation(FLIGHT_1.getOrigin(), null, null, pageable);
 
         assertEquals(1, result.getTotalElements());
     }
@@ -150,10 +311,10 @@ class FlightServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Flight> flightPage = new PageImpl<>(List.of(FLIGHT_1));
 
-        when(flightRepository.findByDestinationContainingIgnoreCase(FLIGHT_1.getDestination(), pageable))
+        when(flightRepository.findByDestinationContainingIgnoreCaseAndSeatsAvailableGreaterThanEqual(FLIGHT_1.getDestination(), 0, pageable))
                 .thenReturn(flightPage);
 
-        Page<FlightDTO> result = flightService.getFlightsByLocation(null, FLIGHT_1.getDestination(), pageable);
+        Page<FlightDTO> result = flightService.getFlightsByLocation(null, FLIGHT_1.getDestination(), null, pageable);
 
         assertEquals(1, result.getTotalElements());
     }
@@ -164,7 +325,7 @@ class FlightServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
 
         assertThrows(IllegalArgumentException.class, () -> {
-            flightService.getFlightsByLocation(null, null, pageable);
+            flightService.getFlightsByLocation(null, null, null, pageable);
         });
     }
 
@@ -174,10 +335,10 @@ class FlightServiceTest {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Flight> flightPage = new PageImpl<>(List.of(FLIGHT_1, FLIGHT_2));
 
-        when(flightRepository.findByDepartureTimeBetween(FLIGHT_1.getDepartureTime(), FLIGHT_2.getDepartureTime(), pageable))
+        when(flightRepository.findByDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(FLIGHT_1.getDepartureTime(), FLIGHT_2.getDepartureTime(), 0, pageable))
                 .thenReturn(flightPage);
 
-        Page<FlightDTO> result = flightService.getFlightsByDepartureTime(FLIGHT_1.getDepartureTime(), FLIGHT_2.getDepartureTime(), pageable);
+        Page<FlightDTO> result = flightService.getFlightsByDepartureTime(FLIGHT_1.getDepartureTime(), FLIGHT_2.getDepartureTime(), null, pageable);
 
         assertEquals(2, result.getTotalElements());
     }
@@ -236,6 +397,19 @@ class FlightServiceTest {
         verify(flightRepository).save(FLIGHT_1);
     }
 
+    @Test
+    @DisplayName("Should throw VersionConflictException without saving when the flight changed since the given version")
+    void updateFlight_ThrowsVersionConflictException_WhenVersionStale() {
+        Flight flight = flight("GA900");
+        ReflectionTestUtils.setField(flight, "version", 4L);
+        when(flightRepository.findById(flight.getId())).thenReturn(Optional.of(flight));
+
+        assertThrows(VersionConflictException.class, () -> flightService.updateFlight(new FlightUpdateDTO(flight.getId(),
+                flight.getAirline(), "GA901", flight.getOrigin(), flight.getDestination(), flight.getDepartureTime(),
+                flight.getArrivalTime(), flight.getPrice(), 3L)));
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when flight to update does not exist")
     void updateFlight_WhenFlightDoesNotExist_ShouldThrowException() {
@@ -254,6 +428,8 @@ class FlightServiceTest {
         flightService.deleteFlight(FLIGHT_1.getId());
 
         verify(flightRepository).deleteById(FLIGHT_1.getId());
+        verify(seatInventory).removeAfterCommit(FLIGHT_1.getId());
+        verify(flashSaleService).removeAfterCommit(FLIGHT_1.getId());
     }
 
     @Test
@@ -263,4 +439,9 @@ class FlightServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> flightService.deleteFlight(FLIGHT_1.getId()));
     }
+
+    private static Flight flight(String flightNumber) {
+        ZonedDateTime departure = ZonedDateTime.parse("2024-12-01T10:00:00Z");
+        return new Flight(UUID.randomUUID(), "Global Airways", flightNumber, "London", "Tokyo", departure, departure.plusHours(14), 900.0);
+    }
 }
\ No newline at end of file
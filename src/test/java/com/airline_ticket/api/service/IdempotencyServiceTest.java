@@ -0,0 +1,170 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.RequestInProgressException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import com.airline_ticket.api.repository.RequestDedupeRepository;
+import com.airline_ticket.api.repository.RequestDedupeRepository.RequestDedupe;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_1;
+import static com.airline_ticket.api.constants.ReservationConstants.RESERVATION_REQUEST_DTO;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_2;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String ENDPOINT = "POST /api/reservations";
+    private static final String KEY = "key-1";
+
+    private IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @Mock
+    private RequestDedupeRepository requestDedupeRepository;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(requestDedupeRepository, objectMapper, 60, 24);
+    }
+
+    @Test
+    @DisplayName("Should run the request without storing anything when no idempotency key is sent")
+    void execute_RunsAction_WhenNoKey() {
+        ReservationRequestDTO result = idempotencyService.execute(ENDPOINT, null, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class,
+                () -> RESERVATION_REQUEST_DTO);
+
+        assertEquals(RESERVATION_REQUEST_DTO, result);
+        verifyNoInteractions(requestDedupeRepository);
+    }
+
+    @Test
+    @DisplayName("Should run the request once and store its response when the key is new")
+    void execute_StoresResponse_WhenKeyNew() throws Exception {
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(true);
+
+        ReservationRequestDTO result = idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class,
+                () -> RESERVATION_REQUEST_DTO);
+
+        assertEquals(RESERVATION_REQUEST_DTO, result);
+        verify(requestDedupeRepository).complete(anyString(), eq(ENDPOINT), eq(KEY), eq(objectMapper.writeValueAsString(RESERVATION_REQUEST_DTO)));
+    }
+
+    @Test
+    @DisplayName("Should return the stored response without running the request when the key was already used")
+    void execute_ReplaysStoredResponse_WhenKeyStored() throws Exception {
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), requestHash.capture())).thenReturn(true);
+        idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class, () -> RESERVATION_REQUEST_DTO);
+        idempotencyService = new IdempotencyService(requestDedupeRepository, objectMapper, 60, 24);
+
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(false);
+        when(requestDedupeRepository.find(anyString(), eq(ENDPOINT), eq(KEY)))
+                .thenReturn(Optional.of(new RequestDedupe(requestHash.getValue(), objectMapper.writeValueAsString(RESERVATION_REQUEST_DTO))));
+
+        ReservationRequestDTO result = idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class,
+                () -> fail("The request should not run again"));
+
+        assertEquals(RESERVATION_REQUEST_DTO, result);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the key is reused for a different request")
+    void execute_ThrowsIllegalArgumentException_WhenRequestDiffers() {
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(true);
+        idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class, () -> RESERVATION_REQUEST_DTO);
+
+        ReservationRequestDTO otherRequest = new ReservationRequestDTO(SEAT_ID_2, PASSENGER_1.getId());
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute(ENDPOINT, KEY, otherRequest,
+                ReservationRequestDTO.class, () -> otherRequest));
+    }
+
+    @Test
+    @DisplayName("Should answer a concurrent duplicate with the response of the first request")
+    void executeAsync_AnswersDuplicateFromMemory_WhenFirstStillRunning() {
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(true);
+        CompletableFuture<ReservationRequestDTO> booking = new CompletableFuture<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<ReservationRequestDTO> first = idempotencyService.executeAsync(ENDPOINT, KEY, RESERVATION_REQUEST_DTO,
+                ReservationRequestDTO.class, () -> {
+                    runs.incrementAndGet();
+                    return booking;
+                });
+        CompletableFuture<ReservationRequestDTO> duplicate = idempotencyService.executeAsync(ENDPOINT, KEY, RESERVATION_REQUEST_DTO,
+                ReservationRequestDTO.class, () -> {
+                    runs.incrementAndGet();
+                    return booking;
+                });
+        assertFalse(duplicate.isDone());
+
+        booking.complete(RESERVATION_REQUEST_DTO);
+
+        assertEquals(RESERVATION_REQUEST_DTO, first.join());
+        assertEquals(RESERVATION_REQUEST_DTO, duplicate.join());
+        assertEquals(1, runs.get());
+        verify(requestDedupeRepository, times(1)).insertPending(anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should forget the key when the request fails so that it can be retried")
+    void execute_RemovesPendingRow_WhenRequestFails() {
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(true);
+
+        assertThrows(SeatNotAvailableException.class, () -> idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO,
+                ReservationRequestDTO.class, () -> {
+                    throw new SeatNotAvailableException("Seat is not available.");
+                }));
+        verify(requestDedupeRepository).delete(anyString(), eq(ENDPOINT), eq(KEY));
+
+        ReservationRequestDTO result = idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class,
+                () -> RESERVATION_REQUEST_DTO);
+        assertEquals(RESERVATION_REQUEST_DTO, result);
+    }
+
+    @Test
+    @DisplayName("Should keep the pending row and store the response on purge when storing it fails")
+    void execute_KeepsPendingRowAndRetries_WhenResponseNotStored() {
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(true);
+        doThrow(new RuntimeException("connection lost")).doNothing()
+                .when(requestDedupeRepository).complete(anyString(), eq(ENDPOINT), eq(KEY), anyString());
+
+        ReservationRequestDTO result = idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO, ReservationRequestDTO.class,
+                () -> RESERVATION_REQUEST_DTO);
+
+        assertEquals(RESERVATION_REQUEST_DTO, result);
+        verify(requestDedupeRepository, never()).delete(anyString(), eq(ENDPOINT), eq(KEY));
+        assertEquals(RESERVATION_REQUEST_DTO, idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO,
+                ReservationRequestDTO.class, () -> fail("The request should be answered from memory")));
+
+        idempotencyService.purge();
+        idempotencyService.purge();
+
+        verify(requestDedupeRepository, times(2)).complete(anyString(), eq(ENDPOINT), eq(KEY), anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw RequestInProgressException when another node is still running the request")
+    void execute_ThrowsRequestInProgressException_WhenStoredRowPending() {
+        when(requestDedupeRepository.insertPending(anyString(), eq(ENDPOINT), eq(KEY), anyString())).thenReturn(false);
+        when(requestDedupeRepository.find(anyString(), eq(ENDPOINT), eq(KEY))).thenReturn(Optional.of(new RequestDedupe("hash", null)));
+
+        assertThrows(RequestInProgressException.class, () -> idempotencyService.execute(ENDPOINT, KEY, RESERVATION_REQUEST_DTO,
+                ReservationRequestDTO.class, () -> RESERVATION_REQUEST_DTO));
+    }
+}
@@ -0,0 +1,167 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.model.Flight;
+import com.airline_ticket.api.model.dtos.flight.FlightDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItineraryDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySearchDTO;
+import com.airline_ticket.api.model.dtos.itinerary.ItinerarySort;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.airline_ticket.api.constants.FlightConstants.flight;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ItineraryServiceTest {
+
+    private static final ZonedDateTime DAY = ZonedDateTime.parse("2024-12-01T00:00:00Z");
+
+    private ItineraryService itineraryService;
+    private RouteIndex routeIndex;
+    @Mock
+    private FlightRepository flightRepository;
+
+    private final Flight direct = flight("GA100", "London", "Tokyo", DAY.plusHours(10), DAY.plusHours(24), 900.0, 10);
+    private final Flight toParis = flight("GA200", "London", "Paris", DAY.plusHours(8), DAY.plusHours(9), 100.0, 10);
+    private final Flight parisToTokyo = flight("GA210", "Paris", "Tokyo", DAY.plusHours(10), DAY.plusHours(22), 400.0, 10);
+    private final Flight tightConnection = flight("GA220", "Paris", "Tokyo", DAY.plusHours(9), DAY.plusHours(20), 300.0, 10);
+    private final Flight backToLondon = flight("GA230", "Paris", "London", DAY.plusHours(10), DAY.plusHours(11), 50.0, 10);
+    private final Flight toDubai = flight("GA300", "London", "Dubai", DAY.plusHours(9), DAY.plusHours(13), 200.0, 10);
+    private final Flight dubaiToSingapore = flight("GA310", "Dubai", "Singapore", DAY.plusHours(15), DAY.plusHours(20), 150.0, 10);
+    private final Flight singaporeToTokyo = flight("GA320", "Singapore", "Tokyo", DAY.plusHours(22), DAY.plusHours(28), 100.0, 10);
+
+    @BeforeEach
+    void setUp() {
+        routeIndex = new RouteIndex(flightRepository);
+        itineraryService = new ItineraryService(routeIndex, flightRepository, 24, 31);
+        when(flightRepository.findAll()).thenReturn(List.of(direct, toParis, parisToTokyo, tightConnection, backToLondon,
+                toDubai, dubaiToSingapore, singaporeToTokyo));
+    }
+
+    @Test
+    @DisplayName("Should find direct, one-stop and two-stop itineraries ranked by duration, then price")
+    void searchItineraries_RanksByDuration_WhenNoSortGiven() {
+        routeIndex.rebuild();
+
+        List<ItineraryDTO> itineraries = itineraryService.searchItineraries(criteria(null, null, null));
+
+        assertEquals(List.of(List.of("GA200", "GA210"), List.of("GA100"), List.of("GA300", "GA310", "GA320")), flightNumbers(itineraries));
+        assertEquals(1, itineraries.get(0).stops());
+        assertEquals(14 * 60, itineraries.get(0).durationMinutes());
+        assertEquals(500.0, itineraries.get(0).totalPrice());
+    }
+
+    @Test
+    @DisplayName("Should rank by total price and keep only the requested number of itineraries")
+    void searchItineraries_RanksByPrice_AndLimitsResults() {
+        routeIndex.rebuild();
+
+        List<ItineraryDTO> itineraries = itineraryService.searchItineraries(criteria(null, ItinerarySort.PRICE, 2));
+
+        assertEquals(List.of(List.of("GA300", "GA310", "GA320"), List.of("GA200", "GA210")), flightNumbers(itineraries));
+    }
+
+    @Test
+    @DisplayName("Should not connect beyond the maximum number of stops")
+    void searchItineraries_LimitsStops_WhenMaxStopsGiven() {
+        routeIndex.rebuild();
+
+        assertEquals(List.of(List.of("GA100")), flightNumbers(itineraryService.searchItineraries(criteria(0, null, null))));
+        assertEquals(List.of(List.of("GA200", "GA210"), List.of("GA100")), flightNumbers(itineraryService.searchItineraries(criteria(1, null, null))));
+    }
+
+    @Test
+    @DisplayName("Should return the same itineraries when a wide departure window is split across the fork-join pool")
+    void searchItineraries_ReturnsSameItineraries_WhenWindowSplit() {
+        routeIndex.rebuild();
+        ItinerarySearchDTO criteria = new ItinerarySearchDTO("London", "Tokyo", DAY, DAY.plusDays(3), null, null, null, null, null, null);
+
+        List<ItineraryDTO> whole = itineraryService.searchItineraries(criteria);
+        List<ItineraryDTO> split = new ItineraryService(routeIndex, flightRepository, 1, 31).searchItineraries(criteria);
+
+        assertEquals(3, split.size());
+        assertEquals(whole, split);
+    }
+
+    @Test
+    @DisplayName("Should read departures from the database while the route index is not loaded")
+    void searchItineraries_QueriesDatabase_WhenIndexNotReady() {
+        when(flightRepository.findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc(
+                eq("London"), any(), any(), eq(1))).thenReturn(List.of(direct));
+
+        List<ItineraryDTO> itineraries = itineraryService.searchItineraries(criteria(null, null, null));
+
+        assertEquals(List.of(List.of("GA100")), flightNumbers(itineraries));
+    }
+
+    @Test
+    @DisplayName("Should only read the flights to the destination for the last leg while the route index is not loaded")
+    void searchItineraries_QueriesRouteForLastLeg_WhenNoStopsLeft() {
+        when(flightRepository.findByOriginIgnoreCaseAndDestinationIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqual(
+                eq("London"), eq("tokyo"), any(), any(), eq(1), any())).thenReturn(new PageImpl<>(List.of(direct)));
+
+        List<ItineraryDTO> itineraries = itineraryService.searchItineraries(criteria(0, null, null));
+
+        assertEquals(List.of(List.of("GA100")), flightNumbers(itineraries));
+        verify(flightRepository, never()).findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc(
+                any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should search a wide window on the caller's thread while the route index is not loaded")
+    void searchItineraries_DoesNotFork_WhenIndexNotReady() {
+        Thread caller = Thread.currentThread();
+        List<Thread> queryThreads = new CopyOnWriteArrayList<>();
+        when(flightRepository.findByOriginIgnoreCaseAndDepartureTimeBetweenAndSeatsAvailableGreaterThanEqualOrderByDepartureTimeAscIdAsc(
+                any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            queryThreads.add(Thread.currentThread());
+            return List.of();
+        });
+        ItinerarySearchDTO criteria = new ItinerarySearchDTO("London", "Tokyo", DAY, DAY.plusDays(3), null, null, null, null, null, null);
+
+        new ItineraryService(routeIndex, flightRepository, 1, 31).searchItineraries(criteria);
+
+        assertEquals(List.of(caller), queryThreads);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when origin and destination are the same city")
+    void searchItineraries_ThrowsIllegalArgumentException_WhenSameCity() {
+        ItinerarySearchDTO criteria = new ItinerarySearchDTO("London", " london", DAY, DAY.plusDays(1), null, null, null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> itineraryService.searchItineraries(criteria));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the connection window is reversed")
+    void searchItineraries_ThrowsIllegalArgumentException_WhenConnectionWindowReversed() {
+        ItinerarySearchDTO criteria = new ItinerarySearchDTO("London", "Tokyo", DAY, DAY.plusDays(1), null, 120, 60, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> itineraryService.searchItineraries(criteria));
+    }
+
+    private static ItinerarySearchDTO criteria(Integer maxStops, ItinerarySort sortBy, Integer limit) {
+        return new ItinerarySearchDTO("London", "Tokyo", DAY, DAY.plusDays(1), maxStops, null, null, null, sortBy, limit);
+    }
+
+    private static List<List<String>> flightNumbers(List<ItineraryDTO> itineraries) {
+        return itineraries.stream()
+                .map(itinerary -> itinerary.flights().stream().map(FlightDTO::flightNumber).toList())
+                .toList();
+    }
+}
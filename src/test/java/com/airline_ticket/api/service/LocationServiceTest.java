@@ -0,0 +1,71 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.inventory.LocationIndex;
+import com.airline_ticket.api.model.dtos.location.LocationSuggestionDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class LocationServiceTest {
+
+    private LocationService locationService;
+    @Mock
+    private LocationIndex locationIndex;
+    @Mock
+    private FlightRepository flightRepository;
+
+    @BeforeEach
+    void setUp() {
+        locationService = new LocationService(locationIndex, flightRepository);
+    }
+
+    @Test
+    @DisplayName("Should suggest locations from the location index when it is loaded")
+    void suggestLocations_UsesIndex_WhenReady() {
+        when(locationIndex.isReady()).thenReturn(true);
+        when(locationIndex.suggest("lon")).thenReturn(List.of(new LocationSuggestionDTO("London", 3)));
+
+        assertEquals(List.of(new LocationSuggestionDTO("London", 3)), locationService.suggestLocations("lon"));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    @DisplayName("Should merge origin and destination counts from the database while the index is not loaded")
+    void suggestLocations_QueriesDatabase_WhenIndexNotReady() {
+        when(flightRepository.countByOriginLike("l\\_a%")).thenReturn(List.of(new LocationSuggestionDTO("L_A", 1), new LocationSuggestionDTO("L_ax", 4)));
+        when(flightRepository.countByDestinationLike("l\\_a%")).thenReturn(List.of(new LocationSuggestionDTO("L_A", 4)));
+
+        assertEquals(List.of(new LocationSuggestionDTO("L_A", 5), new LocationSuggestionDTO("L_ax", 4)),
+                locationService.suggestLocations(" L_A "));
+    }
+
+    @Test
+    @DisplayName("Should group database names that fold alike under their most common spelling")
+    void suggestLocations_GroupsByFoldedName_WhenIndexNotReady() {
+        when(flightRepository.countByOriginLike("s%")).thenReturn(List.of(new LocationSuggestionDTO("São Paulo", 1),
+                new LocationSuggestionDTO("Sao Paulo", 2), new LocationSuggestionDTO("Santiago", 2)));
+        when(flightRepository.countByDestinationLike("s%")).thenReturn(List.of(new LocationSuggestionDTO("SÃO  PAULO", 1),
+                new LocationSuggestionDTO("São Paulo", 2)));
+
+        assertEquals(List.of(new LocationSuggestionDTO("São Paulo", 6), new LocationSuggestionDTO("Santiago", 2)),
+                locationService.suggestLocations("s"));
+    }
+
+    @Test
+    @DisplayName("Should return no suggestions for a blank query")
+    void suggestLocations_ReturnsEmpty_WhenQueryBlank() {
+        assertEquals(List.of(), locationService.suggestLocations(" "));
+        verify(flightRepository, never()).countByOriginLike(anyString());
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -50,14 +52,15 @@ class PassengerServiceTest {
     void getAllPassengers_ReturnsPageOfPassengers_WhenSuccessful() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        Page<Passenger> page = new PageImpl<>(Arrays.asList(PASSENGER_1, PASSENGER_2), pageable, 2);
+        Slice<Passenger> slice = new SliceImpl<>(Arrays.asList(PASSENGER_1, PASSENGER_2), pageable, false);
 
-        when(passengerRepository.findAll(pageable)).thenReturn(page);
+        when(passengerRepository.findAllBy(pageable)).thenReturn(slice);
 
-        Page<PassengerDTO> result = passengerService.getAllPassengers(pageable);
+        Slice<PassengerDTO> result = passengerService.getAllPassengers(pageable);
 
         assertNotNull(result);
-        assertEquals(2, result.getTotalElements());
+        assertEquals(2, result.getNumberOfElements());
+        assertFalse(result.hasNext());
         assertTrue(result.getContent().contains(PASSENGER_DTO_1));
         assertTrue(result.getContent().contains(PASSENGER_DTO_2));
     }
@@ -65,12 +68,12 @@ class PassengerServiceTest {
     @Test
     @DisplayName("Should return an empty list of passengers inside page object when there are no passengers")
     void getAllPassengers_ReturnsPassengers_WhenThereAreNoPassengers() {
-        Page<Passenger> emptyPage = new PageImpl<>(Collections.emptyList());
+        Slice<Passenger> emptySlice = new SliceImpl<>(Collections.emptyList());
         Pageable pageable = mock(Pageable.class);
 
-        when(passengerRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(passengerRepository.findAllBy(pageable)).thenReturn(emptySlice);
 
-        Page<PassengerDTO> result = passengerService.getAllPassengers(pageable);
+        Slice<PassengerDTO> result = passengerService.getAllPassengers(pageable);
 
         Assertions.assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -0,0 +1,304 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.cache.FlightCache;
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.inventory.FlightLockManager;
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.inventory.SeatInventory;
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.reservation.ReservationBatchRequestDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationRequestDTO;
+import com.airline_ticket.api.model.dtos.reservation.ReservationUpdateDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.model.dtos.ticket.TicketStatus;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.PassengerRepository;
+import com.airline_ticket.api.repository.ReservationRepository;
+import com.airline_ticket.api.repository.SeatRepository;
+import com.airline_ticket.api.repository.TicketIssuanceQueueRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_1;
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_2;
+import static com.airline_ticket.api.constants.ReservationConstants.RESERVATION_REQUEST_DTO;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_2;
+import static com.airline_ticket.api.constants.SeatConstants.seat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class ReservationServiceTest {
+
+    @InjectMocks
+    private ReservationService reservationService;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private PassengerRepository passengerRepository;
+    @Mock
+    private TicketIssuanceQueueRepository ticketIssuanceQueueRepository;
+    @Mock
+    private SeatInventory seatInventory;
+    @Mock
+    private FlightLockManager flightLockManager;
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private RouteIndex routeIndex;
+    @Mock
+    private FlightCache flightCache;
+
+    @Test
+    @DisplayName("Should create a reservation and a ticket when the seat claim wins")
+    void createReservation_ReturnsReservation_WhenSeatClaimed() {
+        Seat seat = seat(SEAT_ID_1, "1A", false);
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.of(PASSENGER_1));
+        when(seatInventory.getFlightId(SEAT_ID_1)).thenReturn(seat.getFlight().getId());
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of());
+        when(seatRepository.findSnapshotById(SEAT_ID_1)).thenReturn(Optional.of(seat));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationDTO result = reservationService.createReservation(RESERVATION_REQUEST_DTO);
+
+        assertEquals(SEAT_ID_1, result.seat().id());
+        assertFalse(result.seat().isAvailable());
+        InOrder inOrder = inOrder(flightLockManager, seatInventory);
+        inOrder.verify(flightLockManager).lock(seat.getFlight().getId());
+        inOrder.verify(seatInventory).take(List.of(SEAT_ID_1));
+        assertEquals(TicketStatus.PENDING, result.ticketStatus());
+        verify(ticketIssuanceQueueRepository).enqueueAll(List.of(result.id()));
+        verify(seatRepository, never()).save(any(Seat.class));
+    }
+
+    @Test
+    @DisplayName("Should throw SeatNotAvailableException without inserting when the seat is already taken")
+    void createReservation_ThrowsSeatNotAvailableException_WhenSeatAlreadyTaken() {
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.of(PASSENGER_1));
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of(SEAT_ID_1));
+
+        assertThrows(SeatNotAvailableException.class, () -> reservationService.createReservation(RESERVATION_REQUEST_DTO));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(ticketIssuanceQueueRepository, never()).enqueueAll(any());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the seat does not exist")
+    void createReservation_ThrowsResourceNotFoundException_WhenSeatNotFound() {
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.of(PASSENGER_1));
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenThrow(new ResourceNotFoundException("Seat not found with id " + SEAT_ID_1));
+
+        ResourceNotFoundException thrown = assertThrows(ResourceNotFoundException.class,
+                () -> reservationService.createReservation(RESERVATION_REQUEST_DTO));
+
+        assertEquals("Seat not found with id " + SEAT_ID_1, thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException before claiming when the passenger does not exist")
+    void createReservation_ThrowsResourceNotFoundException_WhenPassengerNotFound() {
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.createReservation(RESERVATION_REQUEST_DTO));
+        verify(seatInventory, never()).take(any());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many parallel bookings for the same seat succeed")
+    void createReservation_OnlyOneBookingWins_WhenSeatBookedConcurrently() throws Exception {
+        int bookings = 300;
+        Seat seat = seat(SEAT_ID_1, "1A", true);
+
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.of(PASSENGER_1));
+        when(seatRepository.findFlightIdById(SEAT_ID_1)).thenReturn(Optional.of(seat.getFlight().getId()));
+        when(seatRepository.findAvailabilityByFlightId(seat.getFlight().getId()))
+                .thenReturn(List.of(new SeatAvailabilityDTO(SEAT_ID_1, seat.getSeatNumber(), true)));
+        when(seatRepository.claimSeats(List.of(SEAT_ID_1))).thenReturn(List.of(SEAT_ID_1));
+        when(seatRepository.findSnapshotById(SEAT_ID_1)).thenReturn(Optional.of(seat));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationService service = new ReservationService(reservationRepository, seatRepository, passengerRepository,
+                ticketIssuanceQueueRepository, new SeatInventory(seatRepository, flightRepository, new TransactionTemplate(transactionManager), routeIndex, flightCache), flightLockManager, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < bookings; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    service.createReservation(RESERVATION_REQUEST_DTO);
+                    succeeded.incrementAndGet();
+                } catch (SeatNotAvailableException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, succeeded.get());
+        assertEquals(bookings - 1, rejected.get());
+        verify(reservationRepository, times(1)).save(any(Reservation.class));
+        verify(ticketIssuanceQueueRepository, times(1)).enqueueAll(any());
+    }
+
+    @Test
+    @DisplayName("Should reserve every seat of a group with batched inserts when all seats are available")
+    void createReservations_ReturnsReservations_WhenAllSeatsAvailable() {
+        ReservationBatchRequestDTO requestDTO = new ReservationBatchRequestDTO(List.of(
+                new ReservationRequestDTO(SEAT_ID_1, PASSENGER_1.getId()),
+                new ReservationRequestDTO(SEAT_ID_2, PASSENGER_2.getId())));
+        when(passengerRepository.findAllById(any())).thenReturn(List.of(PASSENGER_1, PASSENGER_2));
+        when(seatInventory.take(any())).thenReturn(List.of());
+        when(seatRepository.findSnapshotsByIdIn(any())).thenReturn(List.of(seat(SEAT_ID_1, "1A", true), seat(SEAT_ID_2, "1B", true)));
+
+        List<ReservationDTO> result = reservationService.createReservations(requestDTO);
+
+        assertEquals(2, result.size());
+        assertEquals(SEAT_ID_1, result.get(0).seat().id());
+        assertEquals(PASSENGER_2.getId(), result.get(1).passenger().id());
+        verify(reservationRepository, times(1)).saveAll(any());
+        verify(ticketIssuanceQueueRepository, times(1)).enqueueAll(List.of(result.get(0).id(), result.get(1).id()));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Should reserve nothing when one seat of the group is not available")
+    void createReservations_ThrowsSeatNotAvailableException_WhenAnySeatTaken() {
+        ReservationBatchRequestDTO requestDTO = new ReservationBatchRequestDTO(List.of(
+                new ReservationRequestDTO(SEAT_ID_1, PASSENGER_1.getId()),
+                new ReservationRequestDTO(SEAT_ID_2, PASSENGER_1.getId())));
+        when(passengerRepository.findAllById(any())).thenReturn(List.of(PASSENGER_1));
+        when(seatInventory.take(any())).thenReturn(List.of(SEAT_ID_2));
+
+        assertThrows(SeatNotAvailableException.class, () -> reservationService.createReservations(requestDTO));
+        verify(seatRepository, never()).findSnapshotsByIdIn(any());
+        verify(reservationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the same seat is requested twice")
+    void createReservations_ThrowsIllegalArgumentException_WhenSeatRepeated() {
+        ReservationBatchRequestDTO requestDTO = new ReservationBatchRequestDTO(List.of(
+                new ReservationRequestDTO(SEAT_ID_1, PASSENGER_1.getId()),
+                new ReservationRequestDTO(SEAT_ID_1, PASSENGER_2.getId())));
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.createReservations(requestDTO));
+        verify(seatInventory, never()).take(any());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException before claiming when a passenger does not exist")
+    void createReservations_ThrowsResourceNotFoundException_WhenPassengerNotFound() {
+        ReservationBatchRequestDTO requestDTO = new ReservationBatchRequestDTO(List.of(
+                new ReservationRequestDTO(SEAT_ID_1, PASSENGER_1.getId()),
+                new ReservationRequestDTO(SEAT_ID_2, PASSENGER_2.getId())));
+        when(passengerRepository.findAllById(any())).thenReturn(List.of(PASSENGER_1));
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.createReservations(requestDTO));
+        verify(seatInventory, never()).take(any());
+    }
+
+    @Test
+    @DisplayName("Should claim the new seat and give the old one back when a reservation changes seat")
+    void updateReservation_MovesSeat_WhenNewSeatAvailable() {
+        Reservation reservation = new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat(SEAT_ID_1, "1A", false), PASSENGER_1);
+        when(reservationRepository.findById(reservation.getId())).thenReturn(Optional.of(reservation));
+        when(seatRepository.findById(SEAT_ID_2)).thenReturn(Optional.of(seat(SEAT_ID_2, "1B", true)));
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.of(PASSENGER_1));
+        when(seatInventory.take(List.of(SEAT_ID_2))).thenReturn(List.of());
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationDTO result = reservationService.updateReservation(new ReservationUpdateDTO(reservation.getId(), SEAT_ID_2, PASSENGER_1.getId(), reservation.getVersion()));
+
+        assertEquals(SEAT_ID_2, result.seat().id());
+        verify(flightLockManager).lock(Set.of(reservation.getSeat().getFlight().getId()));
+        verify(seatInventory).take(List.of(SEAT_ID_2));
+        verify(seatInventory).releaseAfterCommit(SEAT_ID_1);
+    }
+
+    @Test
+    @DisplayName("Should throw SeatNotAvailableException when a reservation is moved to a taken seat")
+    void updateReservation_ThrowsSeatNotAvailableException_WhenNewSeatTaken() {
+        Reservation reservation = new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat(SEAT_ID_1, "1A", false), PASSENGER_1);
+        when(reservationRepository.findById(reservation.getId())).thenReturn(Optional.of(reservation));
+        when(seatRepository.findById(SEAT_ID_2)).thenReturn(Optional.of(seat(SEAT_ID_2, "1B", false)));
+        when(passengerRepository.findById(PASSENGER_1.getId())).thenReturn(Optional.of(PASSENGER_1));
+        when(seatInventory.take(List.of(SEAT_ID_2))).thenReturn(List.of(SEAT_ID_2));
+
+        assertThrows(SeatNotAvailableException.class,
+                () -> reservationService.updateReservation(new ReservationUpdateDTO(reservation.getId(), SEAT_ID_2, PASSENGER_1.getId(), reservation.getVersion())));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(seatInventory, never()).releaseAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("Should throw VersionConflictException before claiming when the reservation changed since the given version")
+    void updateReservation_ThrowsVersionConflictException_WhenVersionStale() {
+        Reservation reservation = new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat(SEAT_ID_1, "1A", false), PASSENGER_1);
+        ReflectionTestUtils.setField(reservation, "version", 1L);
+        when(reservationRepository.findById(reservation.getId())).thenReturn(Optional.of(reservation));
+
+        assertThrows(VersionConflictException.class,
+                () -> reservationService.updateReservation(new ReservationUpdateDTO(reservation.getId(), SEAT_ID_2, PASSENGER_1.getId(), 0L)));
+        verify(seatInventory, never()).take(any());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Should give the seat back when a reservation is deleted")
+    void deleteReservation_ReleasesSeat_WhenSuccessful() {
+        Reservation reservation = new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat(SEAT_ID_1, "1A", false), PASSENGER_1);
+        when(reservationRepository.findById(reservation.getId())).thenReturn(Optional.of(reservation));
+
+        reservationService.deleteReservation(reservation.getId());
+
+        verify(flightLockManager).lock(reservation.getSeat().getFlight().getId());
+        verify(reservationRepository).deleteById(reservation.getId());
+        verify(seatInventory).releaseAfterCommit(SEAT_ID_1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.SeatNotAvailableException;
+import com.airline_ticket.api.inventory.SeatInventory;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldConfirmDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatHoldDTO;
+import com.airline_ticket.api.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_2;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class SeatHoldServiceTest {
+
+    private SeatHoldService seatHoldService;
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private SeatInventory seatInventory;
+    @Mock
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        seatHoldService = new SeatHoldService(seatRepository, seatInventory, reservationService, 1000);
+        ReflectionTestUtils.setField(seatHoldService, "defaultTtlMinutes", 10);
+        ReflectionTestUtils.setField(seatHoldService, "maxTtlMinutes", 30);
+    }
+
+    @Test
+    @DisplayName("Should claim the seat and store the hold when the seat is available")
+    void holdSeat_ReturnsHold_WhenSeatAvailable() {
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of());
+
+        SeatHoldDTO hold = seatHoldService.holdSeat(SEAT_ID_1, 5);
+
+        assertEquals(SEAT_ID_1, hold.seatId());
+        verify(seatRepository).holdSeat(SEAT_ID_1, hold.holdId(), hold.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should throw SeatNotAvailableException when the seat is already taken")
+    void holdSeat_ThrowsSeatNotAvailableException_WhenSeatTaken() {
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of(SEAT_ID_1));
+
+        assertThrows(SeatNotAvailableException.class, () -> seatHoldService.holdSeat(SEAT_ID_1, null));
+        verify(seatRepository, never()).holdSeat(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the hold duration is out of range")
+    void holdSeat_ThrowsIllegalArgumentException_WhenDurationOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.holdSeat(SEAT_ID_1, 0));
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.holdSeat(SEAT_ID_1, 31));
+        verify(seatInventory, never()).take(any());
+    }
+
+    @Test
+    @DisplayName("Should create a reservation when confirming an active hold")
+    void confirmHold_CreatesReservation_WhenHoldActive() {
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of());
+        SeatHoldDTO hold = seatHoldService.holdSeat(SEAT_ID_1, 5);
+
+        seatHoldService.confirmHold(SEAT_ID_1, new SeatHoldConfirmDTO(hold.holdId(), PASSENGER_1.getId()));
+
+        verify(reservationService).confirmHeldSeat(SEAT_ID_1, PASSENGER_1.getId());
+        assertThrows(ResourceNotFoundException.class,
+                () -> seatHoldService.confirmHold(SEAT_ID_1, new SeatHoldConfirmDTO(hold.holdId(), PASSENGER_1.getId())));
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when confirming with another hold id")
+    void confirmHold_ThrowsResourceNotFoundException_WhenHoldIdDoesNotMatch() {
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of());
+        seatHoldService.holdSeat(SEAT_ID_1, 5);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> seatHoldService.confirmHold(SEAT_ID_1, new SeatHoldConfirmDTO(UUID.randomUUID(), PASSENGER_1.getId())));
+        verify(reservationService, never()).confirmHeldSeat(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the seat when a hold is released")
+    void releaseHold_ReleasesSeat_WhenHoldActive() {
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of());
+        SeatHoldDTO hold = seatHoldService.holdSeat(SEAT_ID_1, 5);
+
+        seatHoldService.releaseHold(SEAT_ID_1, hold.holdId());
+
+        verify(seatInventory).releaseHolds(List.of(SEAT_ID_1));
+    }
+
+    @Test
+    @DisplayName("Should release all expired holds with a single update per tick")
+    void expireHolds_ReleasesExpiredHoldsInOneUpdate() {
+        when(seatInventory.take(any())).thenReturn(List.of());
+        SeatHoldDTO first = seatHoldService.holdSeat(SEAT_ID_1, 1);
+        seatHoldService.holdSeat(SEAT_ID_2, 1);
+        long afterExpiry = first.expiresAt().plus(Duration.ofSeconds(2)).toInstant().toEpochMilli();
+
+        seatHoldService.expireHolds(afterExpiry);
+
+        verify(seatInventory, times(1)).releaseHolds(anyCollection());
+        verify(seatInventory).releaseHolds(List.of(SEAT_ID_1, SEAT_ID_2));
+        assertThrows(ResourceNotFoundException.class,
+                () -> seatHoldService.confirmHold(SEAT_ID_1, new SeatHoldConfirmDTO(first.holdId(), PASSENGER_1.getId())));
+    }
+
+    @Test
+    @DisplayName("Should keep expired holds for the next tick when the release fails")
+    void expireHolds_RetriesOnNextTick_WhenUpdateFails() {
+        when(seatInventory.take(List.of(SEAT_ID_1))).thenReturn(List.of());
+        SeatHoldDTO hold = seatHoldService.holdSeat(SEAT_ID_1, 1);
+        long afterExpiry = hold.expiresAt().plus(Duration.ofSeconds(2)).toInstant().toEpochMilli();
+        doThrow(new RuntimeException("connection lost"))
+                .doNothing()
+                .when(seatInventory).releaseHolds(anyCollection());
+
+        seatHoldService.expireHolds(afterExpiry);
+        seatHoldService.expireHolds(afterExpiry + 1000);
+
+        verify(seatInventory, times(2)).releaseHolds(eq(List.of(SEAT_ID_1)));
+        seatHoldService.expireHolds(afterExpiry + 2000);
+        verify(seatInventory, times(2)).releaseHolds(anyCollection());
+    }
+}
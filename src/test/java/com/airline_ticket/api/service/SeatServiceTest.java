@@ -0,0 +1,196 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.cache.FlightCache;
+import com.airline_ticket.api.exceptions.ResourceAlreadyExistsException;
+import com.airline_ticket.api.exceptions.ResourceNotFoundException;
+import com.airline_ticket.api.exceptions.VersionConflictException;
+import com.airline_ticket.api.inventory.RouteIndex;
+import com.airline_ticket.api.inventory.SeatInventory;
+import com.airline_ticket.api.model.Seat;
+import com.airline_ticket.api.model.dtos.seat.SeatAvailabilityDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatMapRequestDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatRequestDTO;
+import com.airline_ticket.api.model.dtos.seat.SeatUpdateDTO;
+import com.airline_ticket.api.repository.FlightRepository;
+import com.airline_ticket.api.repository.SeatRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_1;
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_2;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_MAP_REQUEST_DTO;
+import static com.airline_ticket.api.constants.SeatConstants.seat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class SeatServiceTest {
+
+    @InjectMocks
+    private SeatService seatService;
+    @Mock
+    private SeatRepository seatRepository;
+    @Mock
+    private FlightRepository flightRepository;
+    @Mock
+    private SeatInventory seatInventory;
+    @Mock
+    private RouteIndex routeIndex;
+    @Mock
+    private FlightCache flightCache;
+
+    @Test
+    @DisplayName("Should insert every seat of the layout in a single statement")
+    @SuppressWarnings("unchecked")
+    void createSeatMap_InsertsAllSeats_WhenLayoutIsValid() {
+        when(flightRepository.findById(FLIGHT_1.getId())).thenReturn(Optional.of(FLIGHT_1));
+        when(seatRepository.findSeatNumbersByFlightId(FLIGHT_1.getId())).thenReturn(Set.of());
+
+        List<SeatAvailabilityDTO> result = seatService.createSeatMap(FLIGHT_1.getId(), SEAT_MAP_REQUEST_DTO);
+
+        ArgumentCaptor<Collection<Seat>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(seatRepository, times(1)).insertAll(captor.capture());
+        verify(seatRepository, never()).save(any(Seat.class));
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), 11);
+        verify(seatInventory).refresh(FLIGHT_1.getId());
+
+        assertEquals(12, captor.getValue().size());
+        assertEquals(12, result.size());
+        assertEquals("1A", result.get(0).seatNumber());
+        assertFalse(result.get(0).isAvailable());
+        assertEquals("3D", result.get(11).seatNumber());
+        assertTrue(result.get(11).isAvailable());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceAlreadyExistsException when a seat of the layout already exists")
+    void createSeatMap_ThrowsResourceAlreadyExistsException_WhenSeatAlreadyExists() {
+        when(flightRepository.findById(FLIGHT_1.getId())).thenReturn(Optional.of(FLIGHT_1));
+        when(seatRepository.findSeatNumbersByFlightId(FLIGHT_1.getId())).thenReturn(Set.of("2B"));
+
+        assertThrows(ResourceAlreadyExistsException.class, () -> seatService.createSeatMap(FLIGHT_1.getId(), SEAT_MAP_REQUEST_DTO));
+        verify(seatRepository, never()).insertAll(any());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when a blocked seat is not part of the layout")
+    void createSeatMap_ThrowsIllegalArgumentException_WhenBlockedSeatOutsideLayout() {
+        SeatMapRequestDTO requestDTO = new SeatMapRequestDTO(3, List.of("A", "B"), List.of("4A"));
+        when(flightRepository.findById(FLIGHT_1.getId())).thenReturn(Optional.of(FLIGHT_1));
+
+        assertThrows(IllegalArgumentException.class, () -> seatService.createSeatMap(FLIGHT_1.getId(), requestDTO));
+        verify(seatRepository, never()).insertAll(any());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when creating a seat map for a non-existing flight")
+    void createSeatMap_ThrowsResourceNotFoundException_WhenFlightNotFound() {
+        when(flightRepository.findById(FLIGHT_1.getId())).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> seatService.createSeatMap(FLIGHT_1.getId(), SEAT_MAP_REQUEST_DTO));
+    }
+
+    @Test
+    @DisplayName("Should increment the flight counter when an available seat is created")
+    void createSeat_IncrementsSeatsAvailable_WhenSeatAvailable() {
+        when(flightRepository.findById(FLIGHT_1.getId())).thenReturn(Optional.of(FLIGHT_1));
+        when(seatRepository.save(any(Seat.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        seatService.createSeat(new SeatRequestDTO("1A", null, FLIGHT_1.getId()));
+
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), 1);
+    }
+
+    @Test
+    @DisplayName("Should move the seat between flight counters when an available seat changes flight")
+    void updateSeat_AdjustsSeatsAvailable_WhenSeatChangesFlight() {
+        Seat seat = seat(SEAT_ID_1, "1A", true);
+        when(seatInventory.getFlightId(SEAT_ID_1)).thenReturn(FLIGHT_1.getId());
+        when(seatRepository.findById(SEAT_ID_1)).thenReturn(Optional.of(seat));
+        when(flightRepository.findById(FLIGHT_2.getId())).thenReturn(Optional.of(FLIGHT_2));
+        when(seatRepository.save(any(Seat.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        seatService.updateSeat(new SeatUpdateDTO(SEAT_ID_1, "1A", true, FLIGHT_2.getId(), seat.getVersion()));
+
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), -1);
+        verify(flightRepository).addSeatsAvailable(FLIGHT_2.getId(), 1);
+    }
+
+    @Test
+    @DisplayName("Should throw VersionConflictException without saving when the seat was booked since the given version")
+    void updateSeat_ThrowsVersionConflictException_WhenVersionStale() {
+        Seat seat = seat(SEAT_ID_1, "1A", false);
+        ReflectionTestUtils.setField(seat, "version", 2L);
+        when(seatInventory.getFlightId(SEAT_ID_1)).thenReturn(FLIGHT_1.getId());
+        when(seatRepository.findById(SEAT_ID_1)).thenReturn(Optional.of(seat));
+
+        assertThrows(VersionConflictException.class,
+                () -> seatService.updateSeat(new SeatUpdateDTO(SEAT_ID_1, "1A", true, FLIGHT_1.getId(), 1L)));
+        verify(seatInventory).refresh(FLIGHT_1.getId());
+        verify(seatRepository, never()).save(any(Seat.class));
+        verify(flightRepository, never()).addSeatsAvailable(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should decrement the flight counter when an available seat is deleted")
+    void deleteSeat_DecrementsSeatsAvailable_WhenSeatAvailable() {
+        when(seatInventory.getFlightId(SEAT_ID_1)).thenReturn(FLIGHT_1.getId());
+        when(seatRepository.findById(SEAT_ID_1)).thenReturn(Optional.of(seat(SEAT_ID_1, "1A", true)));
+
+        seatService.deleteSeat(SEAT_ID_1);
+
+        verify(seatRepository).deleteById(SEAT_ID_1);
+        verify(flightRepository).addSeatsAvailable(FLIGHT_1.getId(), -1);
+    }
+
+    @Test
+    @DisplayName("Should build a compact seat map from the in-memory inventory")
+    void getSeatMap_ReturnsGridAndBitmaps_WhenFlightHasSeats() {
+        when(seatInventory.getSeats(FLIGHT_1.getId())).thenReturn(List.of(
+                new SeatAvailabilityDTO(UUID.randomUUID(), "1A", false),
+                new SeatAvailabilityDTO(UUID.randomUUID(), "1C", true),
+                new SeatAvailabilityDTO(UUID.randomUUID(), "2A", true),
+                new SeatAvailabilityDTO(UUID.randomUUID(), "2B", true),
+                new SeatAvailabilityDTO(UUID.randomUUID(), "GALLEY", true)));
+
+        SeatMapDTO result = seatService.getSeatMap(FLIGHT_1.getId());
+
+        assertEquals(List.of(1, 2), result.rows());
+        assertEquals(List.of("A", "B", "C"), result.columns());
+        assertEquals(BitSet.valueOf(new long[]{0b011101}), BitSet.valueOf(Base64.getDecoder().decode(result.seats())));
+        assertEquals(BitSet.valueOf(new long[]{0b011100}), BitSet.valueOf(Base64.getDecoder().decode(result.available())));
+        assertEquals("GALLEY", result.unmappedSeats().get(0).seatNumber());
+    }
+
+    @Test
+    @DisplayName("Should change the seat map ETag when a seat changes availability")
+    void getSeatMap_ChangesETag_WhenAvailabilityChanges() {
+        UUID seatId = UUID.randomUUID();
+        when(seatInventory.getSeats(FLIGHT_1.getId()))
+                .thenReturn(List.of(new SeatAvailabilityDTO(seatId, "1A", true)))
+                .thenReturn(List.of(new SeatAvailabilityDTO(seatId, "1A", true)))
+                .thenReturn(List.of(new SeatAvailabilityDTO(seatId, "1A", false)));
+
+        String first = seatService.getSeatMap(FLIGHT_1.getId()).eTag();
+
+        assertEquals(first, seatService.getSeatMap(FLIGHT_1.getId()).eTag());
+        assertNotEquals(first, seatService.getSeatMap(FLIGHT_1.getId()).eTag());
+    }
+}
@@ -0,0 +1,104 @@
+package com.airline_ticket.api.service;
+
+import com.airline_ticket.api.model.Reservation;
+import com.airline_ticket.api.model.Ticket;
+import com.airline_ticket.api.repository.ReservationRepository;
+import com.airline_ticket.api.repository.TicketIssuanceQueueRepository;
+import com.airline_ticket.api.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.airline_ticket.api.constants.FlightConstants.FLIGHT_1;
+import static com.airline_ticket.api.constants.PassengerConstants.PASSENGER_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_1;
+import static com.airline_ticket.api.constants.SeatConstants.SEAT_ID_2;
+import static com.airline_ticket.api.constants.SeatConstants.seat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class TicketIssuanceServiceTest {
+
+    private TicketIssuanceService ticketIssuanceService;
+    @Mock
+    private TicketIssuanceQueueRepository ticketIssuanceQueueRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private TicketNumberAllocator ticketNumberAllocator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ticketIssuanceService = new TicketIssuanceService(ticketIssuanceQueueRepository, reservationRepository, ticketRepository,
+                ticketNumberAllocator, new TransactionTemplate(transactionManager), 2);
+    }
+
+    @Test
+    @DisplayName("Should insert the tickets of queued reservations and dequeue them together")
+    @SuppressWarnings("unchecked")
+    void issueBatch_InsertsTicketsAndDequeues_WhenReservationsQueued() {
+        Reservation first = reservation(SEAT_ID_1);
+        Reservation second = reservation(SEAT_ID_2);
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        when(ticketIssuanceQueueRepository.lockBatch(2)).thenReturn(ids);
+        when(reservationRepository.findForTicketIssuanceByIdIn(ids)).thenReturn(List.of(first, second));
+        when(ticketNumberAllocator.next()).thenReturn("9570000010006", "9570000010010");
+
+        assertEquals(2, ticketIssuanceService.issueBatch());
+
+        ArgumentCaptor<List<Ticket>> tickets = ArgumentCaptor.forClass(List.class);
+        verify(ticketRepository).saveAll(tickets.capture());
+        assertEquals(List.of(first, second), tickets.getValue().stream().map(Ticket::getReservation).toList());
+        assertEquals(FLIGHT_1, tickets.getValue().get(0).getFlight());
+        assertEquals(List.of("9570000010006", "9570000010010"), tickets.getValue().stream().map(Ticket::getTicketNumber).toList());
+        verify(ticketIssuanceQueueRepository).deleteAll(ids);
+    }
+
+    @Test
+    @DisplayName("Should only dequeue a reservation that already has a ticket")
+    void issueBatch_SkipsReservation_WhenTicketAlreadyIssued() {
+        Reservation reservation = reservation(SEAT_ID_1);
+        reservation.setTicket(new Ticket(UUID.randomUUID(), "TICK123456", reservation, FLIGHT_1));
+        when(ticketIssuanceQueueRepository.lockBatch(2)).thenReturn(List.of(reservation.getId()));
+        when(reservationRepository.findForTicketIssuanceByIdIn(any())).thenReturn(List.of(reservation));
+
+        ticketIssuanceService.issueBatch();
+
+        verify(ticketRepository).saveAll(List.of());
+        verify(ticketIssuanceQueueRepository).deleteAll(List.of(reservation.getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep draining while batches come back full")
+    void issuePendingTickets_DrainsQueue_UntilBatchNotFull() {
+        when(ticketIssuanceQueueRepository.lockBatch(2))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()))
+                .thenReturn(List.of(UUID.randomUUID()));
+        when(reservationRepository.findForTicketIssuanceByIdIn(any())).thenReturn(List.of());
+
+        ticketIssuanceService.issuePendingTickets();
+
+        verify(ticketIssuanceQueueRepository, times(2)).lockBatch(2);
+        verify(ticketIssuanceQueueRepository, times(2)).deleteAll(any());
+    }
+
+    private static Reservation reservation(UUID seatId) {
+        return new Reservation(UUID.randomUUID(), ZonedDateTime.now(), seat(seatId, "1A", false), PASSENGER_1);
+    }
+}
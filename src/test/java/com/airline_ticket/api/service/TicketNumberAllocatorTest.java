@@ -0,0 +1,100 @@
+package com.airline_ticket.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+class TicketNumberAllocatorTest {
+
+    private TicketNumberAllocator ticketNumberAllocator;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> sequence.addAndGet(TicketNumberAllocator.BLOCK_SIZE));
+        ticketNumberAllocator = new TicketNumberAllocator(jdbcTemplate, "957");
+    }
+
+    @Test
+    @DisplayName("Should format a 13-digit number of prefix, serial and mod-7 check digit")
+    void next_ReturnsThirteenDigitNumber_WithCheckDigit() {
+        assertEquals("9570000010006", ticketNumberAllocator.next());
+        assertEquals("9570000010010", ticketNumberAllocator.next());
+    }
+
+    @Test
+    @DisplayName("Should reserve a new block from the sequence only when the current one is used up")
+    void next_ReservesNextBlock_WhenBlockExhausted() {
+        for (int i = 0; i < TicketNumberAllocator.BLOCK_SIZE; i++) {
+            ticketNumberAllocator.next();
+        }
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+
+        assertEquals("957000002000" + 2000 % 7, ticketNumberAllocator.next());
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Should hand out unique numbers to concurrent callers")
+    void next_ReturnsUniqueNumbers_WhenCalledConcurrently() throws Exception {
+        int threads = 8;
+        int perThread = 2500;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    numbers.add(ticketNumberAllocator.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * perThread, numbers.size());
+        assertTrue(numbers.stream().allMatch(number -> number.matches("957\\d{10}")));
+    }
+
+    @Test
+    @DisplayName("Should recognise numbers of the allocator's own shape so clients cannot take them")
+    void isAllocatable_ReturnsTrue_OnlyForPrefixedThirteenDigitNumbers() {
+        assertTrue(ticketNumberAllocator.isAllocatable("9570000010006"));
+        assertTrue(ticketNumberAllocator.isAllocatable("9579999999999"));
+        assertFalse(ticketNumberAllocator.isAllocatable("1250000010006"));
+        assertFalse(ticketNumberAllocator.isAllocatable("957000001000"));
+        assertFalse(ticketNumberAllocator.isAllocatable("TK-9570000010006"));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the airline prefix is not 3 digits")
+    void constructor_ThrowsIllegalArgumentException_WhenPrefixInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketNumberAllocator(jdbcTemplate, "95"));
+    }
+}